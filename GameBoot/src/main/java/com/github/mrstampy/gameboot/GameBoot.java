@@ -72,7 +72,6 @@ import com.github.mrstampy.gameboot.otp.OtpConfiguration;
 import com.github.mrstampy.gameboot.processor.AbstractGameBootProcessor;
 import com.github.mrstampy.gameboot.processor.AbstractTransactionalGameBootProcessor;
 import com.github.mrstampy.gameboot.processor.GameBootProcessor;
-import com.github.mrstampy.gameboot.processor.GameBootProcessorAspect;
 import com.github.mrstampy.gameboot.processor.connection.ConnectionProcessor;
 import com.github.mrstampy.gameboot.security.SecurityConfiguration;
 import com.github.mrstampy.gameboot.systemid.SystemId;
@@ -180,7 +179,7 @@ import co.paralleluniverse.springframework.boot.security.autoconfigure.web.Fiber
  * gathering</a> ({@link MetricsHelper})<br>
  * 5. <a href=
  * "http://docs.spring.io/spring/docs/current/spring-framework-reference/html/aop.html">
- * Spring AOP</a> ({@link GameBootProcessorAspect})<br>
+ * Spring AOP</a><br>
  * 6. <a href=
  * "http://docs.spring.io/spring/docs/current/spring-framework-reference/html/mvc.html">
  * Spring Web</a><br>
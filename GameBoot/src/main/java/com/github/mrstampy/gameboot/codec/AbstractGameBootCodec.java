@@ -0,0 +1,142 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.codec;
+
+import java.lang.invoke.MethodHandles;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+
+/**
+ * Superclass for {@link GameBootCodec}s which caches an {@link ObjectReader}
+ * and {@link ObjectWriter} per class. When the 'game.boot.codec.afterburner'
+ * property is true the {@link AfterburnerModule} is registered, replacing
+ * reflective property access with generated bytecode.
+ */
+public abstract class AbstractGameBootCodec implements GameBootCodec {
+  private static final Logger log = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+  @Value("${game.boot.codec.afterburner}")
+  private boolean afterburner;
+
+  private ObjectMapper mapper;
+
+  private Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+
+  private Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+  /**
+   * Post construct.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @PostConstruct
+  public void postConstruct() throws Exception {
+    mapper = createMapper();
+
+    if (!afterburner) return;
+
+    log.info("Using generated serializers for {}", getFormat());
+    mapper.registerModule(new AfterburnerModule());
+  }
+
+  /**
+   * Implement to return the {@link ObjectMapper} for the format. If
+   * {@link #isAfterburner()} the mapper returned must not be shared.
+   *
+   * @return the object mapper
+   */
+  protected abstract ObjectMapper createMapper();
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see com.github.mrstampy.gameboot.codec.GameBootCodec#getMapper()
+   */
+  @Override
+  public ObjectMapper getMapper() {
+    return mapper;
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see
+   * com.github.mrstampy.gameboot.codec.GameBootCodec#getReader(java.lang.Class)
+   */
+  @Override
+  public ObjectReader getReader(Class<?> clz) {
+    return readers.computeIfAbsent(clz, c -> mapper.readerFor(c));
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see
+   * com.github.mrstampy.gameboot.codec.GameBootCodec#getWriter(java.lang.Class)
+   */
+  @Override
+  public ObjectWriter getWriter(Class<?> clz) {
+    return writers.computeIfAbsent(clz, c -> mapper.writerFor(c));
+  }
+
+  /**
+   * Checks if generated serializers are in use.
+   *
+   * @return true, if is afterburner
+   */
+  public boolean isAfterburner() {
+    return afterburner;
+  }
+
+}
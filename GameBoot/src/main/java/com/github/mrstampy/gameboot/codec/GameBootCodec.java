@@ -0,0 +1,99 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.mrstampy.gameboot.codec.messages.WireFormatMessage;
+import com.github.mrstampy.gameboot.messages.GameBootMessageConverter;
+import com.github.mrstampy.gameboot.messages.SystemIdResponse;
+
+/**
+ * A GameBootCodec provides the {@link ObjectMapper} used by the
+ * {@link GameBootMessageConverter} to read and write messages in a particular
+ * wire format. The available formats are advertised to clients in the
+ * {@link SystemIdResponse} sent on connection and a client selects one by
+ * sending a {@link WireFormatMessage}. Implementations are discovered as Spring
+ * beans.
+ */
+public interface GameBootCodec {
+
+  /**
+   * Gets the format name as specified in {@link WireFormatMessage#getFormat()}.
+   *
+   * @return the format
+   */
+  String getFormat();
+
+  /**
+   * Gets the mapper.
+   *
+   * @return the mapper
+   */
+  ObjectMapper getMapper();
+
+  /**
+   * Gets the reader for the specified class.
+   *
+   * @param clz
+   *          the clz
+   * @return the reader
+   */
+  ObjectReader getReader(Class<?> clz);
+
+  /**
+   * Gets the writer for the specified class.
+   *
+   * @param clz
+   *          the clz
+   * @return the writer
+   */
+  ObjectWriter getWriter(Class<?> clz);
+
+  /**
+   * Checks if the format is binary, and hence not usable for text messages.
+   *
+   * @return true, if is binary
+   */
+  boolean isBinary();
+}
@@ -0,0 +1,90 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.codec.messages;
+
+import com.github.mrstampy.gameboot.codec.GameBootCodec;
+import com.github.mrstampy.gameboot.messages.AbstractGameBootMessage;
+import com.github.mrstampy.gameboot.messages.SystemIdResponse;
+import com.github.mrstampy.gameboot.messages.finder.MessageType;
+
+/**
+ * The Class WireFormatMessage is used by a client to select the
+ * {@link GameBootCodec} for its connection from the formats advertised in the
+ * {@link SystemIdResponse}. The message is sent in the connection's current
+ * format and the successful response is returned in the newly selected format.
+ */
+@MessageType(WireFormatMessage.TYPE)
+public class WireFormatMessage extends AbstractGameBootMessage {
+
+  /** The Constant TYPE. */
+  public static final String TYPE = "WireFormatMessage";
+
+  private String format;
+
+  /**
+   * Instantiates a new wire format message.
+   */
+  public WireFormatMessage() {
+    super(TYPE);
+  }
+
+  /**
+   * Gets the format ie. 'json', 'smile', 'cbor'
+   *
+   * @return the format
+   * @see GameBootCodec#getFormat()
+   */
+  public String getFormat() {
+    return format;
+  }
+
+  /**
+   * Sets the format.
+   *
+   * @param format
+   *          the new format
+   */
+  public void setFormat(String format) {
+    this.format = format;
+  }
+
+}
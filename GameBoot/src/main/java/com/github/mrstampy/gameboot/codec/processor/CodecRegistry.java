@@ -0,0 +1,135 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.codec.processor;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.github.mrstampy.gameboot.codec.GameBootCodec;
+import com.github.mrstampy.gameboot.codec.JsonCodec;
+import com.github.mrstampy.gameboot.util.registry.AbstractRegistryKey;
+import com.github.mrstampy.gameboot.util.registry.GameBootRegistry;
+
+/**
+ * The Class CodecRegistry holds the {@link GameBootCodec} selected for each
+ * connection, defaulting to {@link JsonCodec}.
+ */
+@Component
+public class CodecRegistry extends GameBootRegistry<GameBootCodec> {
+
+  @Autowired
+  private JsonCodec jsonCodec;
+
+  @Autowired
+  private List<GameBootCodec> codecs;
+
+  private Map<String, GameBootCodec> formats = new ConcurrentHashMap<>();
+
+  /**
+   * Post construct.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @PostConstruct
+  public void postConstruct() throws Exception {
+    codecs.forEach(c -> formats.put(c.getFormat(), c));
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see com.github.mrstampy.gameboot.util.GameBootRegistry#get(java.lang.
+   * Comparable)
+   */
+  public GameBootCodec get(AbstractRegistryKey<?> key) {
+    GameBootCodec c = key == null ? null : super.get(key);
+
+    return c == null ? jsonCodec : c;
+  }
+
+  /**
+   * Gets the codec for the specified format, null if none.
+   *
+   * @param format
+   *          the format
+   * @return the codec
+   */
+  public GameBootCodec getCodec(String format) {
+    return format == null ? null : formats.get(format);
+  }
+
+  /**
+   * Gets the available formats.
+   *
+   * @return the formats
+   */
+  public String[] getFormats() {
+    return formats.keySet().toArray(new String[formats.size()]);
+  }
+
+  /**
+   * Gets all codecs.
+   *
+   * @return the codecs
+   */
+  public Collection<GameBootCodec> getCodecs() {
+    return formats.values();
+  }
+
+  /**
+   * Gets the default codec.
+   *
+   * @return the default codec
+   */
+  public GameBootCodec getDefaultCodec() {
+    return jsonCodec;
+  }
+
+}
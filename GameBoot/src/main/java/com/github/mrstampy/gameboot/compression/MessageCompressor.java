@@ -0,0 +1,337 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.compression;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.codahale.metrics.Timer;
+import com.github.mrstampy.gameboot.compression.processor.CompressionRegistry;
+import com.github.mrstampy.gameboot.metrics.MetricsHelper;
+import com.github.mrstampy.gameboot.otp.OneTimePad;
+import com.github.mrstampy.gameboot.systemid.SystemIdKey;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * Compresses outbound messages of connections which have enabled compression
+ * (see {@link CompressionRegistry}) should they be at least
+ * 'game.boot.compression.threshold' bytes in length. Compressed messages are
+ * zlib streams; the first byte (0x78) distinguishes them from uncompressed
+ * JSON, Smile and CBOR messages. Messages which do not shrink are sent
+ * uncompressed.<br>
+ * <br>
+ * 
+ * Compression is applied before any {@link OneTimePad} encryption. Up to
+ * 'game.boot.compression.deflater.pool.size' {@link Deflater}s are pooled for
+ * reuse; those in excess of the pool and those pooled at shutdown are ended,
+ * releasing their native memory. The CPU time of the compressing thread is
+ * recorded where supported by the JVM.
+ */
+@Component
+public class MessageCompressor {
+
+  /** The Constant DEFLATE. */
+  public static final String DEFLATE = "deflate";
+
+  /** The Constant NONE. */
+  public static final String NONE = "none";
+
+  /** The Constant COMPRESSION_CPU_TIMER. */
+  public static final String COMPRESSION_CPU_TIMER = "Message Compression CPU Time";
+
+  /** The Constant COMPRESSED_COUNTER. */
+  public static final String COMPRESSED_COUNTER = "Compressed Messages";
+
+  /** The Constant COMPRESSION_RATIO. */
+  public static final String COMPRESSION_RATIO = "Compression Ratio";
+
+  private static final int ZLIB_HEADER = 0x78;
+
+  @Value("${game.boot.compression.threshold}")
+  private int threshold;
+
+  @Value("${game.boot.compression.level}")
+  private int level;
+
+  @Value("${game.boot.compression.deflater.pool.size}")
+  private int poolSize;
+
+  @Autowired
+  private CompressionRegistry registry;
+
+  @Autowired
+  private MetricsHelper helper;
+
+  private BlockingQueue<Deflater> deflaters;
+
+  private ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+  private boolean cpuTime;
+
+  private volatile boolean destroyed;
+
+  private Optional<Timer> compressionCpu;
+
+  private AtomicLong uncompressedBytes = new AtomicLong();
+
+  private AtomicLong compressedBytes = new AtomicLong();
+
+  /**
+   * Post construct.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @PostConstruct
+  public void postConstruct() throws Exception {
+    if (threshold <= 0) throw new IllegalStateException("game.boot.compression.threshold must be > 0");
+    if (poolSize <= 0) throw new IllegalStateException("game.boot.compression.deflater.pool.size must be > 0");
+
+    deflaters = new ArrayBlockingQueue<>(poolSize);
+
+    cpuTime = threads.isCurrentThreadCpuTimeSupported() && threads.isThreadCpuTimeEnabled();
+
+    compressionCpu = helper.lazyTimer(COMPRESSION_CPU_TIMER, getClass(), "compression", "cpu", "timer");
+    helper.counter(COMPRESSED_COUNTER, getClass(), "compressed", "messages");
+    helper.gauge(() -> getRatio(), COMPRESSION_RATIO, getClass(), "compression", "ratio");
+  }
+
+  /**
+   * Ends the pooled {@link Deflater}s.
+   */
+  @PreDestroy
+  public void preDestroy() {
+    destroyed = true;
+
+    Deflater deflater;
+    while ((deflater = deflaters.poll()) != null) {
+      deflater.end();
+    }
+  }
+
+  /**
+   * Checks if the connection has enabled compression.
+   *
+   * @param systemId
+   *          the system id
+   * @return true, if is compressing
+   */
+  public boolean isCompressing(SystemIdKey systemId) {
+    return systemId != null && registry.contains(systemId);
+  }
+
+  /**
+   * Compresses the message if the connection has enabled compression and the
+   * message is at least the threshold in length.
+   *
+   * @param systemId
+   *          the system id
+   * @param msg
+   *          the msg
+   * @return the possibly compressed message
+   */
+  public byte[] compressIfRequired(SystemIdKey systemId, byte[] msg) {
+    if (msg == null || msg.length < threshold || !isCompressing(systemId)) return msg;
+
+    byte[] out = compress(msg, 0, msg.length);
+
+    return out == null ? msg : out;
+  }
+
+  /**
+   * Compresses the readable bytes of the message if the connection has enabled
+   * compression and the message is at least the threshold in length. Should
+   * the message be compressed it is released and a new buffer returned.
+   *
+   * @param systemId
+   *          the system id
+   * @param msg
+   *          the msg
+   * @return the possibly compressed message
+   */
+  public ByteBuf compressIfRequired(SystemIdKey systemId, ByteBuf msg) {
+    int length = msg.readableBytes();
+    if (length < threshold || !isCompressing(systemId)) return msg;
+
+    byte[] out;
+    if (msg.hasArray()) {
+      out = compress(msg.array(), msg.arrayOffset() + msg.readerIndex(), length);
+    } else {
+      byte[] b = new byte[length];
+      msg.getBytes(msg.readerIndex(), b);
+      out = compress(b, 0, length);
+    }
+
+    if (out == null) return msg;
+
+    msg.release();
+
+    return Unpooled.wrappedBuffer(out);
+  }
+
+  /**
+   * Checks if the message has been compressed.
+   *
+   * @param msg
+   *          the msg
+   * @return true, if is compressed
+   */
+  public boolean isCompressed(byte[] msg) {
+    return msg != null && msg.length > 1 && (msg[0] & 0xff) == ZLIB_HEADER;
+  }
+
+  /**
+   * Decompresses the message if compressed.
+   *
+   * @param msg
+   *          the msg
+   * @return the decompressed message
+   * @throws DataFormatException
+   *           the data format exception
+   */
+  public byte[] decompress(byte[] msg) throws DataFormatException {
+    if (!isCompressed(msg)) return msg;
+
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(msg);
+
+      ByteArrayOutputStream bos = new ByteArrayOutputStream(msg.length * 4);
+      byte[] buf = new byte[4096];
+      while (!inflater.finished()) {
+        int n = inflater.inflate(buf);
+        if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+        bos.write(buf, 0, n);
+      }
+
+      return bos.toByteArray();
+    } finally {
+      inflater.end();
+    }
+  }
+
+  /**
+   * Gets the ratio of compressed to uncompressed bytes for all messages
+   * compressed.
+   *
+   * @return the ratio
+   */
+  public double getRatio() {
+    long in = uncompressedBytes.get();
+    return in == 0 ? 1 : (double) compressedBytes.get() / in;
+  }
+
+  /**
+   * Gets the threshold.
+   *
+   * @return the threshold
+   */
+  public int getThreshold() {
+    return threshold;
+  }
+
+  /**
+   * Returns the compressed bytes, null should compression not shrink the
+   * message.
+   */
+  private byte[] compress(byte[] msg, int offset, int length) {
+    long start = cpuTime ? threads.getCurrentThreadCpuTime() : 0;
+
+    Deflater deflater = borrow();
+    try {
+      deflater.setInput(msg, offset, length);
+      deflater.finish();
+
+      ByteArrayOutputStream bos = new ByteArrayOutputStream(length / 2);
+      byte[] buf = new byte[4096];
+      while (!deflater.finished()) {
+        int n = deflater.deflate(buf);
+        bos.write(buf, 0, n);
+      }
+
+      byte[] out = bos.toByteArray();
+      if (out.length >= length) return null;
+
+      helper.incr(COMPRESSED_COUNTER);
+      uncompressedBytes.addAndGet(length);
+      compressedBytes.addAndGet(out.length);
+
+      return out;
+    } finally {
+      release(deflater);
+
+      if (cpuTime && compressionCpu.isPresent()) {
+        compressionCpu.get().update(threads.getCurrentThreadCpuTime() - start, TimeUnit.NANOSECONDS);
+      }
+    }
+  }
+
+  private Deflater borrow() {
+    Deflater deflater = deflaters.poll();
+
+    return deflater == null ? new Deflater(level) : deflater;
+  }
+
+  private void release(Deflater deflater) {
+    deflater.reset();
+
+    if (destroyed || !deflaters.offer(deflater)) deflater.end();
+  }
+}
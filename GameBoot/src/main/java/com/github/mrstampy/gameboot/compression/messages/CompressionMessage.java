@@ -0,0 +1,91 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.compression.messages;
+
+import com.github.mrstampy.gameboot.compression.MessageCompressor;
+import com.github.mrstampy.gameboot.messages.AbstractGameBootMessage;
+import com.github.mrstampy.gameboot.messages.finder.MessageType;
+
+/**
+ * The Class CompressionMessage is used by a client to enable or disable
+ * compression of outbound messages for its connection. The successful response
+ * is sent after the change takes effect.
+ * 
+ * @see MessageCompressor
+ */
+@MessageType(CompressionMessage.TYPE)
+public class CompressionMessage extends AbstractGameBootMessage {
+
+  /** The Constant TYPE. */
+  public static final String TYPE = "CompressionMessage";
+
+  private String algorithm;
+
+  /**
+   * Instantiates a new compression message.
+   */
+  public CompressionMessage() {
+    super(TYPE);
+  }
+
+  /**
+   * Gets the algorithm ie. 'deflate', 'none'.
+   *
+   * @return the algorithm
+   * @see MessageCompressor#DEFLATE
+   * @see MessageCompressor#NONE
+   */
+  public String getAlgorithm() {
+    return algorithm;
+  }
+
+  /**
+   * Sets the algorithm.
+   *
+   * @param algorithm
+   *          the new algorithm
+   */
+  public void setAlgorithm(String algorithm) {
+    this.algorithm = algorithm;
+  }
+
+}
@@ -0,0 +1,179 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.concurrent;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ThreadFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.mrstampy.gameboot.util.concurrent.GameBootThreadFactory;
+import com.github.mrstampy.gameboot.util.concurrent.MDCCallable;
+import com.github.mrstampy.gameboot.util.concurrent.MDCRunnable;
+
+/**
+ * The implementation strategies available for the
+ * {@link GameBootConcurrentConfiguration#GAME_BOOT_EXECUTOR} and the
+ * {@link GameBootConcurrentConfiguration#GAME_BOOT_TASK_EXECUTOR}, set in
+ * gameboot.properties. {@link MDCRunnable}s and {@link MDCCallable}s carry the
+ * mapped diagnostic context with the task and so are unaffected by the choice.
+ */
+public enum ExecutorStrategy {
+
+  /** A fixed size thread pool, the default. */
+  FIXED {
+    @Override
+    public ExecutorService create(String name, int poolSize) {
+      return Executors.newFixedThreadPool(poolSize, new GameBootThreadFactory(name));
+    }
+  },
+
+  /**
+   * A work stealing {@link ForkJoinPool} in async (FIFO) mode, of parallelism
+   * equal to the pool size.
+   */
+  FORK_JOIN {
+    @Override
+    public ExecutorService create(String name, int poolSize) {
+      return new ForkJoinPool(poolSize, new NamedWorkerThreadFactory(name), null, true);
+    }
+  },
+
+  /**
+   * A new virtual thread per task. Requires a JDK supporting virtual threads
+   * (21+), detected at runtime; a {@link #FIXED} pool is created otherwise. The
+   * pool size is ignored.
+   */
+  VIRTUAL {
+    @Override
+    public ExecutorService create(String name, int poolSize) {
+      if (!isVirtualThreadsAvailable()) {
+        log.warn("Virtual threads are not available on Java {}, using a fixed pool for {}",
+            System.getProperty("java.version"),
+            name);
+        return FIXED.create(name, poolSize);
+      }
+
+      try {
+        return newVirtualThreadPerTaskExecutor(name);
+      } catch (Exception e) {
+        log.error("Could not create virtual thread executor, using a fixed pool for {}", name, e);
+        return FIXED.create(name, poolSize);
+      }
+    }
+  };
+
+  private static final Logger log = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+  /**
+   * Creates the executor service.
+   *
+   * @param name
+   *          the name prefix of the executor's threads
+   * @param poolSize
+   *          the pool size
+   * @return the executor service
+   */
+  public abstract ExecutorService create(String name, int poolSize);
+
+  /**
+   * Checks if virtual threads are supported by the running JDK.
+   *
+   * @return true, if is virtual threads available
+   */
+  public static boolean isVirtualThreadsAvailable() {
+    try {
+      Thread.class.getMethod("ofVirtual");
+      return true;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Reflectively invokes
+   * {@code Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-", 1).factory())}
+   * so that the Java 8 build is unaffected.
+   */
+  private static ExecutorService newVirtualThreadPerTaskExecutor(String name) throws Exception {
+    Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+
+    Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+    builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, name + "-", 1L);
+
+    ThreadFactory factory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+
+    Method m = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+
+    return (ExecutorService) m.invoke(null, factory);
+  }
+
+  /**
+   * Names the {@link ForkJoinWorkerThread}s consistently with the
+   * {@link GameBootThreadFactory}.
+   */
+  private static class NamedWorkerThreadFactory implements ForkJoinWorkerThreadFactory {
+    private final String name;
+
+    NamedWorkerThreadFactory(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+      ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+
+      int nbr = thread.getPoolIndex() + 1;
+      thread.setName(nbr == 1 ? name : name + "-" + nbr);
+      thread.setDaemon(true);
+
+      return thread;
+    }
+  }
+}
@@ -61,7 +61,9 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
 import org.springframework.scheduling.concurrent.ConcurrentTaskScheduler;
 
+import com.github.mrstampy.gameboot.processor.AbstractTransactionalGameBootProcessor;
 import com.github.mrstampy.gameboot.util.concurrent.GameBootThreadFactory;
+import com.github.mrstampy.gameboot.websocket.WebSocketOutbound;
 
 import co.paralleluniverse.fibers.FiberExecutorScheduler;
 import co.paralleluniverse.fibers.FiberForkJoinScheduler;
@@ -76,6 +78,15 @@ public class GameBootConcurrentConfiguration {
   /** The Constant GAME_BOOT_EXECUTOR. */
   public static final String GAME_BOOT_EXECUTOR = "GameBoot Executor";
 
+  /** The Constant GAME_BOOT_CONTROL_EXECUTOR. */
+  public static final String GAME_BOOT_CONTROL_EXECUTOR = "GameBoot Control Executor";
+
+  /** The Constant GAME_BOOT_TRANSACTION_EXECUTOR. */
+  public static final String GAME_BOOT_TRANSACTION_EXECUTOR = "GameBoot Transaction Executor";
+
+  /** The Constant GAME_BOOT_WEB_SOCKET_SEND_EXECUTOR. */
+  public static final String GAME_BOOT_WEB_SOCKET_SEND_EXECUTOR = "GameBoot Web Socket Send Executor";
+
   /** The Constant GAME_BOOT_SCHEDULED_EXECUTOR. */
   public static final String GAME_BOOT_SCHEDULED_EXECUTOR = "GameBoot Scheduled Executor";
 
@@ -97,6 +108,9 @@ public class GameBootConcurrentConfiguration {
   @Value("${task.executor.pool.size}")
   private int taskExecutorPoolSize;
 
+  @Value("${task.executor.strategy}")
+  private ExecutorStrategy taskExecutorStrategy;
+
   @Value("${pu.fiber.scheduler.name}")
   private String fiberExecutorName;
 
@@ -115,6 +129,27 @@ public class GameBootConcurrentConfiguration {
   @Value("${executor.pool.size}")
   private int executorPoolSize;
 
+  @Value("${executor.strategy}")
+  private ExecutorStrategy executorStrategy;
+
+  @Value("${control.executor.name}")
+  private String controlExecutorName;
+
+  @Value("${control.executor.pool.size}")
+  private int controlExecutorPoolSize;
+
+  @Value("${transaction.executor.name}")
+  private String transactionExecutorName;
+
+  @Value("${transaction.executor.pool.size}")
+  private int transactionExecutorPoolSize;
+
+  @Value("${websocket.send.executor.name}")
+  private String webSocketSendExecutorName;
+
+  @Value("${websocket.send.executor.pool.size}")
+  private int webSocketSendExecutorPoolSize;
+
   @Value("${scheduler.name}")
   private String schedulerName;
 
@@ -134,6 +169,9 @@ public class GameBootConcurrentConfiguration {
     checkSize(fiberPoolSize, "pu.fiber.scheduler.pool.size");
     checkSize(fiberForkJoinPoolSize, "pu.fiber.fj.scheduler.pool.size");
     checkSize(executorPoolSize, "executor.pool.size");
+    checkSize(controlExecutorPoolSize, "control.executor.pool.size");
+    checkSize(transactionExecutorPoolSize, "transaction.executor.pool.size");
+    checkSize(webSocketSendExecutorPoolSize, "websocket.send.executor.pool.size");
     checkSize(schedulerPoolSize, "scheduler.pool.size");
   }
 
@@ -158,33 +196,80 @@ public class GameBootConcurrentConfiguration {
   }
 
   /**
-   * Task executor.
+   * Task executor, implemented as specified by the 'task.executor.strategy'
+   * property.
    *
    * @return the task executor
+   * @see ExecutorStrategy
    */
   @Bean(name = GAME_BOOT_TASK_EXECUTOR)
   public TaskExecutor taskExecutor() {
     String name = isEmpty(taskExecutorName) ? "GameBoot Task Executor" : taskExecutorName;
 
-    GameBootThreadFactory factory = new GameBootThreadFactory(name);
-
-    Executor exe = Executors.newFixedThreadPool(taskExecutorPoolSize, factory);
+    Executor exe = taskExecutorStrategy.create(name, taskExecutorPoolSize);
 
     return new ConcurrentTaskExecutor(exe);
   }
 
   /**
-   * Executor service.
+   * Executor service, implemented as specified by the 'executor.strategy'
+   * property.
    *
    * @return the executor service
+   * @see ExecutorStrategy
    */
   @Bean(name = GAME_BOOT_EXECUTOR)
   public ExecutorService executorService() {
     String name = isEmpty(executorName) ? "GameBoot Executor" : executorName;
 
+    return executorStrategy.create(name, executorPoolSize);
+  }
+
+  /**
+   * Executor service reserved for the {@link Lane#CONTROL} lane of the
+   * {@link SystemIdExecutor}.
+   *
+   * @return the executor service
+   * @see DispatchLane
+   */
+  @Bean(name = GAME_BOOT_CONTROL_EXECUTOR)
+  public ExecutorService controlExecutorService() {
+    String name = isEmpty(controlExecutorName) ? "GameBoot Control Executor" : controlExecutorName;
+
+    GameBootThreadFactory factory = new GameBootThreadFactory(name);
+
+    return Executors.newFixedThreadPool(controlExecutorPoolSize, factory);
+  }
+
+  /**
+   * Executor service for asynchronous transactional processing, sized to the
+   * number of concurrent transactions (database connections) desired.
+   *
+   * @return the executor service
+   * @see AbstractTransactionalGameBootProcessor
+   */
+  @Bean(name = GAME_BOOT_TRANSACTION_EXECUTOR)
+  public ExecutorService transactionExecutorService() {
+    String name = isEmpty(transactionExecutorName) ? "GameBoot Transaction Executor" : transactionExecutorName;
+
+    GameBootThreadFactory factory = new GameBootThreadFactory(name);
+
+    return Executors.newFixedThreadPool(transactionExecutorPoolSize, factory);
+  }
+
+  /**
+   * Executor service draining the outbound queues of web socket sessions.
+   *
+   * @return the executor service
+   * @see WebSocketOutbound
+   */
+  @Bean(name = GAME_BOOT_WEB_SOCKET_SEND_EXECUTOR)
+  public ExecutorService webSocketSendExecutorService() {
+    String name = isEmpty(webSocketSendExecutorName) ? "GameBoot Web Socket Send Executor" : webSocketSendExecutorName;
+
     GameBootThreadFactory factory = new GameBootThreadFactory(name);
 
-    return Executors.newFixedThreadPool(executorPoolSize, factory);
+    return Executors.newFixedThreadPool(webSocketSendExecutorPoolSize, factory);
   }
 
   /**
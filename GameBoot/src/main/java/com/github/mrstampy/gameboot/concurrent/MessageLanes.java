@@ -0,0 +1,140 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.concurrent;
+
+import java.io.InputStream;
+import java.lang.invoke.MethodHandles;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.github.mrstampy.gameboot.codec.GameBootCodec;
+import com.github.mrstampy.gameboot.messages.GameBootMessageConverter;
+import com.github.mrstampy.gameboot.messages.finder.MessageClassFinder;
+
+/**
+ * Resolves the {@link Lane} of messages from the {@link DispatchLane}
+ * annotation of their class. Raw messages are classified by peeking their type
+ * prior to decoding, those which cannot be classified being dispatched in the
+ * {@link Lane#DEFAULT} lane for decoding and failure reporting as usual.
+ */
+@Component
+public class MessageLanes {
+  private static final Logger log = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+  @Autowired
+  private MessageClassFinder finder;
+
+  @Autowired
+  private GameBootMessageConverter converter;
+
+  private Map<String, Lane> lanes = new ConcurrentHashMap<>();
+
+  /**
+   * Gets the lane of the message type.
+   *
+   * @param type
+   *          the type
+   * @return the lane
+   */
+  public Lane getLane(String type) {
+    if (type == null) return Lane.DEFAULT;
+
+    Lane lane = lanes.get(type);
+    if (lane != null) return lane;
+
+    Class<?> clz = finder.findClass(type);
+    if (clz == null) return Lane.DEFAULT;
+
+    DispatchLane dl = clz.getAnnotation(DispatchLane.class);
+    lane = dl == null ? Lane.DEFAULT : dl.value();
+
+    lanes.put(type, lane);
+
+    return lane;
+  }
+
+  /**
+   * Gets the lane of the message in the wire format of the codec.
+   *
+   * @param message
+   *          the message
+   * @param codec
+   *          the codec
+   * @return the lane
+   */
+  public Lane getLane(byte[] message, GameBootCodec codec) {
+    if (message == null || message.length == 0 || codec == null) return Lane.DEFAULT;
+
+    try {
+      return getLane(converter.peekType(message, codec));
+    } catch (Exception e) {
+      log.trace("Cannot peek message type, dispatching in default lane", e);
+      return Lane.DEFAULT;
+    }
+  }
+
+  /**
+   * Gets the lane of the message read from the stream in the wire format of
+   * the codec. The stream is not closed.
+   *
+   * @param message
+   *          the message
+   * @param codec
+   *          the codec
+   * @return the lane
+   */
+  public Lane getLane(InputStream message, GameBootCodec codec) {
+    if (message == null || codec == null) return Lane.DEFAULT;
+
+    try {
+      return getLane(converter.peekType(message, codec));
+    } catch (Exception e) {
+      log.trace("Cannot peek message type, dispatching in default lane", e);
+      return Lane.DEFAULT;
+    }
+  }
+}
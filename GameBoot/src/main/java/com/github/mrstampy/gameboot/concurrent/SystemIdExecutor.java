@@ -0,0 +1,626 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.concurrent;
+
+import java.lang.invoke.MethodHandles;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.codahale.metrics.Timer;
+import com.github.mrstampy.gameboot.messages.AbstractGameBootMessage.Transport;
+import com.github.mrstampy.gameboot.metrics.MetricsHelper;
+import com.github.mrstampy.gameboot.processor.AsyncGameBootProcessor;
+import com.github.mrstampy.gameboot.systemid.SystemIdKey;
+import com.github.mrstampy.gameboot.util.registry.AbstractRegistryKey;
+import com.github.mrstampy.gameboot.util.registry.RegistryCleanerListener;
+
+/**
+ * Executes tasks in submission order per {@link SystemIdKey}, tasks of
+ * different keys executing in parallel on the
+ * {@link GameBootConcurrentConfiguration#GAME_BOOT_EXECUTOR}. Each key has a
+ * mailbox drained by at most one thread at a time; a mailbox yields its thread
+ * after 'system.id.executor.throughput' tasks so that a burst from one
+ * connection does not starve the others.<br>
+ * <br>
+ * 
+ * Tasks returning an incomplete {@link CompletionStage} hold the mailbox until
+ * the stage completes, preserving order for asynchronous processing without
+ * occupying a thread. The {@link MDC} of the submitting thread is applied for
+ * the execution of each task.<br>
+ * <br>
+ * 
+ * Mailboxes are bounded: tasks submitted to a mailbox holding
+ * 'system.id.executor.max.depth' tasks, or when 'system.id.executor.max.queued'
+ * tasks await execution in total, are shed. A mailbox reaching
+ * 'system.id.executor.high.water.mark' tasks pauses its {@link FlowControl},
+ * resuming it once drained to 'system.id.executor.low.water.mark'.<br>
+ * <br>
+ * 
+ * The time tasks wait in their mailbox is recorded separately from processing
+ * time, in total, per {@link Lane} and per {@link Transport} when specified.<br>
+ * <br>
+ * 
+ * Tasks of the {@link Lane#CONTROL} lane are held in a separate mailbox per
+ * key, drained by the
+ * {@link GameBootConcurrentConfiguration#GAME_BOOT_CONTROL_EXECUTOR}. They are shed only
+ * should the key's control mailbox be full, do not pause the key's
+ * {@link FlowControl} and do not count towards 'system.id.executor.max.queued'.
+ * <br>
+ * <br>
+ * 
+ * On {@link #cleanup(AbstractRegistryKey)} the key's mailboxes are closed:
+ * tasks already submitted execute but further tasks for the key are rejected.
+ * Closed mailboxes are forgotten after
+ * 'system.id.executor.closed.retention.millis'.
+ * 
+ * @see AsyncGameBootProcessor
+ * @see DispatchLane
+ */
+@Component
+public class SystemIdExecutor implements RegistryCleanerListener {
+  private static final Logger log = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+  private static final String QUEUED_TASKS = "SystemIdExecutor Queued Tasks";
+
+  private static final String QUEUED_CONTROL_TASKS = "SystemIdExecutor Queued Control Tasks";
+
+  private static final String MAX_MAILBOX_DEPTH = "SystemIdExecutor Max Mailbox Depth";
+
+  private static final String MAILBOXES = "SystemIdExecutor Mailboxes";
+
+  private static final String PAUSED = "SystemIdExecutor Paused Mailboxes";
+
+  private static final String SHED_COUNTER = "SystemIdExecutor Shed Counter";
+
+  private static final String QUEUE_WAIT = "SystemIdExecutor Queue Wait";
+
+  @Autowired
+  @Qualifier(GameBootConcurrentConfiguration.GAME_BOOT_EXECUTOR)
+  private ExecutorService svc;
+
+  @Autowired
+  @Qualifier(GameBootConcurrentConfiguration.GAME_BOOT_CONTROL_EXECUTOR)
+  private ExecutorService controlSvc;
+
+  @Autowired
+  @Qualifier(GameBootConcurrentConfiguration.GAME_BOOT_SCHEDULED_EXECUTOR)
+  private ScheduledExecutorService scheduler;
+
+  @Autowired
+  private MetricsHelper helper;
+
+  @Value("${system.id.executor.throughput}")
+  private int throughput;
+
+  @Value("${system.id.executor.max.depth}")
+  private int maxDepth;
+
+  @Value("${system.id.executor.max.queued}")
+  private int maxQueued;
+
+  @Value("${system.id.executor.high.water.mark}")
+  private int highWaterMark;
+
+  @Value("${system.id.executor.low.water.mark}")
+  private int lowWaterMark;
+
+  @Value("${system.id.executor.closed.retention.millis}")
+  private long closedRetentionMillis;
+
+  private Map<SystemIdKey, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+  private Map<SystemIdKey, Mailbox> controlMailboxes = new ConcurrentHashMap<>();
+
+  private AtomicInteger queued = new AtomicInteger();
+
+  private AtomicInteger controlQueued = new AtomicInteger();
+
+  private AtomicInteger paused = new AtomicInteger();
+
+  private Optional<Timer> queueWait;
+
+  private Map<Transport, Optional<Timer>> transportWaits = new ConcurrentHashMap<>();
+
+  private Map<Lane, Optional<Timer>> laneWaits = new EnumMap<>(Lane.class);
+
+  /**
+   * Implementations pause and resume reading from a connection.
+   */
+  @FunctionalInterface
+  public interface FlowControl {
+
+    /**
+     * Pause or resume reading.
+     *
+     * @param paused
+     *          true to pause, false to resume
+     */
+    void setPaused(boolean paused);
+  }
+
+  /**
+   * Post construct.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @PostConstruct
+  public void postConstruct() throws Exception {
+    if (throughput <= 0) throw new IllegalStateException("system.id.executor.throughput must be > 0");
+    if (maxDepth <= 0) throw new IllegalStateException("system.id.executor.max.depth must be > 0");
+    if (maxQueued <= 0) throw new IllegalStateException("system.id.executor.max.queued must be > 0");
+    if (lowWaterMark < 0 || lowWaterMark >= highWaterMark) {
+      throw new IllegalStateException("system.id.executor.low.water.mark must be >= 0 and < high.water.mark");
+    }
+
+    helper.gauge(() -> getQueued(), QUEUED_TASKS, getClass(), "queued", "tasks");
+    helper.gauge(() -> controlQueued.get(), QUEUED_CONTROL_TASKS, getClass(), "queued", "control", "tasks");
+    helper.gauge(() -> getMaxDepth(), MAX_MAILBOX_DEPTH, getClass(), "max", "mailbox", "depth");
+    helper.gauge(() -> mailboxes.size(), MAILBOXES, getClass(), "mailboxes");
+    helper.gauge(() -> paused.get(), PAUSED, getClass(), "paused", "mailboxes");
+
+    if (!helper.containsCounter(SHED_COUNTER)) {
+      helper.counter(SHED_COUNTER, getClass(), "shed", "counter");
+    }
+
+    queueWait = helper.lazyTimer(QUEUE_WAIT, getClass(), "queue", "wait");
+
+    for (Lane lane : Lane.values()) {
+      laneWaits.put(lane,
+          helper.lazyTimer(QUEUE_WAIT + " Lane " + lane, getClass(), "queue", "wait", "lane", lane.name().toLowerCase()));
+    }
+  }
+
+  /**
+   * Execute the task after all previously submitted tasks for the key have
+   * completed.
+   *
+   * @param key
+   *          the key
+   * @param task
+   *          the task
+   * @return false if the task was shed
+   */
+  public boolean execute(SystemIdKey key, Runnable task) {
+    return executeAsync(key, () -> {
+      task.run();
+      return null;
+    });
+  }
+
+  /**
+   * Execute the task after all previously submitted tasks for the key have
+   * completed. Should the returned stage be incomplete subsequent tasks for the
+   * key execute once it completes.
+   *
+   * @param key
+   *          the key
+   * @param task
+   *          the task
+   * @return false if the task was shed
+   */
+  public boolean executeAsync(SystemIdKey key, Supplier<CompletionStage<?>> task) {
+    return executeAsync(key, null, task);
+  }
+
+  /**
+   * Execute the task after all previously submitted tasks for the key have
+   * completed, recording the time waited for the specified {@link Transport}.
+   * Should the returned stage be incomplete subsequent tasks for the key
+   * execute once it completes.
+   *
+   * @param key
+   *          the key
+   * @param transport
+   *          the transport, may be null
+   * @param task
+   *          the task
+   * @return false if the task was shed
+   */
+  public boolean executeAsync(SystemIdKey key, Transport transport, Supplier<CompletionStage<?>> task) {
+    return executeAsync(key, transport, Lane.DEFAULT, task);
+  }
+
+  /**
+   * Execute the task after all previously submitted tasks of the lane for the
+   * key have completed, recording the time waited for the specified
+   * {@link Transport}. Should the returned stage be incomplete subsequent tasks
+   * of the lane for the key execute once it completes.
+   *
+   * @param key
+   *          the key
+   * @param transport
+   *          the transport, may be null
+   * @param lane
+   *          the lane
+   * @param task
+   *          the task
+   * @return false if the task was shed or the key has been cleaned up
+   */
+  public boolean executeAsync(SystemIdKey key, Transport transport, Lane lane, Supplier<CompletionStage<?>> task) {
+    if (key == null) throw new IllegalArgumentException("No system id");
+    if (lane == null) throw new IllegalArgumentException("No lane");
+    if (task == null) throw new IllegalArgumentException("No task");
+
+    Mailbox mailbox = lane == Lane.CONTROL ? getControlMailbox(key) : getMailbox(key);
+
+    if (mailbox.closed) {
+      log.debug("Rejecting task for cleaned up {}", key);
+      return false;
+    }
+
+    if (isFull(mailbox)) {
+      log.debug("Shedding task for {}, depth {}, queued {}", key, mailbox.depth.get(), queued.get());
+      helper.incr(SHED_COUNTER);
+      return false;
+    }
+
+    mailbox.add(new Task(task, MDC.getCopyOfContextMap(), getTransportWait(transport)));
+
+    return true;
+  }
+
+  /**
+   * Sets the {@link FlowControl} for the key, paused when the key's mailbox
+   * reaches the high water mark and resumed when drained to the low water
+   * mark. The flow control is discarded on {@link #cleanup(AbstractRegistryKey)}.
+   *
+   * @param key
+   *          the key
+   * @param flowControl
+   *          the flow control
+   */
+  public void setFlowControl(SystemIdKey key, FlowControl flowControl) {
+    if (key == null) throw new IllegalArgumentException("No system id");
+
+    getMailbox(key).flowControl = flowControl;
+  }
+
+  /**
+   * Checks if the key's mailbox has reached the high water mark and has not yet
+   * drained to the low water mark.
+   *
+   * @param key
+   *          the key
+   * @return true, if is paused
+   */
+  public boolean isPaused(SystemIdKey key) {
+    Mailbox mailbox = key == null ? null : mailboxes.get(key);
+
+    return mailbox != null && mailbox.paused.get();
+  }
+
+  /**
+   * Shed a message without submitting it, incrementing the shed count.
+   */
+  public void shed() {
+    helper.incr(SHED_COUNTER);
+  }
+
+  private Optional<Timer> getTransportWait(Transport transport) {
+    if (transport == null) return Optional.empty();
+
+    Optional<Timer> wait = transportWaits.get(transport);
+    if (wait != null) return wait;
+
+    return transportWaits.computeIfAbsent(transport,
+        t -> helper.lazyTimer(QUEUE_WAIT + " " + t, getClass(), "queue", "wait", t.name().toLowerCase()));
+  }
+
+  private boolean isFull(Mailbox mailbox) {
+    if (mailbox.depth.get() >= maxDepth) return true;
+
+    return mailbox.lane == Lane.DEFAULT && queued.get() >= maxQueued;
+  }
+
+  private Mailbox getMailbox(SystemIdKey key) {
+    return mailboxes.computeIfAbsent(key, k -> new Mailbox(Lane.DEFAULT));
+  }
+
+  private Mailbox getControlMailbox(SystemIdKey key) {
+    return controlMailboxes.computeIfAbsent(key, k -> new Mailbox(Lane.CONTROL));
+  }
+
+  /**
+   * Gets the number of tasks awaiting execution for the key.
+   *
+   * @param key
+   *          the key
+   * @return the depth
+   */
+  public int getDepth(SystemIdKey key) {
+    Mailbox mailbox = key == null ? null : mailboxes.get(key);
+
+    return mailbox == null ? 0 : mailbox.depth.get();
+  }
+
+  /**
+   * Gets the number of {@link Lane#DEFAULT} tasks awaiting execution for all
+   * keys.
+   *
+   * @return the queued
+   */
+  public int getQueued() {
+    return queued.get();
+  }
+
+  /**
+   * Gets the depth of the deepest mailbox.
+   *
+   * @return the max depth
+   */
+  public int getMaxDepth() {
+    return mailboxes.values().stream().mapToInt(m -> m.depth.get()).max().orElse(0);
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see
+   * com.github.mrstampy.gameboot.util.registry.RegistryCleanerListener#cleanup(
+   * com.github.mrstampy.gameboot.util.registry.AbstractRegistryKey)
+   */
+  @Override
+  public void cleanup(AbstractRegistryKey<?> key) {
+    // tasks already submitted continue to execute
+    if (!(key instanceof SystemIdKey)) return;
+
+    SystemIdKey systemId = (SystemIdKey) key;
+
+    close(controlMailboxes, getControlMailbox(systemId), systemId);
+
+    Mailbox mailbox = getMailbox(systemId);
+    synchronized (mailbox) {
+      mailbox.flowControl = null;
+      if (mailbox.paused.compareAndSet(true, false)) paused.decrementAndGet();
+    }
+
+    close(mailboxes, mailbox, systemId);
+  }
+
+  /**
+   * Closes the mailbox, retaining it to reject late submissions for the key
+   * until the retention period has passed.
+   */
+  private void close(Map<SystemIdKey, Mailbox> map, Mailbox mailbox, SystemIdKey key) {
+    if (mailbox.closed) return;
+
+    mailbox.closed = true;
+
+    try {
+      scheduler.schedule(() -> map.remove(key, mailbox), closedRetentionMillis, TimeUnit.MILLISECONDS);
+    } catch (RejectedExecutionException e) {
+      map.remove(key, mailbox);
+    }
+  }
+
+  private class Mailbox implements Runnable {
+
+    private final Lane lane;
+
+    private Queue<Task> queue = new ConcurrentLinkedQueue<>();
+
+    private AtomicInteger depth = new AtomicInteger();
+
+    private AtomicBoolean scheduled = new AtomicBoolean();
+
+    private AtomicBoolean paused = new AtomicBoolean();
+
+    private final AtomicInteger laneQueued;
+
+    private volatile FlowControl flowControl;
+
+    private volatile boolean closed;
+
+    Mailbox(Lane lane) {
+      this.lane = lane;
+      this.laneQueued = lane == Lane.CONTROL ? controlQueued : queued;
+    }
+
+    void add(Task task) {
+      task.laneWait = laneWaits.get(lane);
+
+      queue.add(task);
+      int d = depth.incrementAndGet();
+      laneQueued.incrementAndGet();
+
+      if (lane == Lane.DEFAULT && d >= highWaterMark && !paused.get()) evaluateFlow();
+
+      schedule();
+    }
+
+    Task poll() {
+      Task task = queue.poll();
+      if (task == null) return null;
+
+      int d = depth.decrementAndGet();
+      laneQueued.decrementAndGet();
+
+      if (d <= lowWaterMark && paused.get()) evaluateFlow();
+
+      return task;
+    }
+
+    /**
+     * Pauses or resumes against the current depth. Transitions are made under
+     * the mailbox lock so that the flow control observes them in order; having
+     * paused the depth is read again as the mailbox may have been drained
+     * before the drainer could observe the pause.
+     */
+    private synchronized void evaluateFlow() {
+      if (paused.get()) {
+        if (depth.get() > lowWaterMark) return;
+
+        paused.set(false);
+        flow(false);
+        return;
+      }
+
+      if (depth.get() < highWaterMark) return;
+
+      paused.set(true);
+      if (depth.get() <= lowWaterMark) {
+        paused.set(false);
+        return;
+      }
+
+      flow(true);
+    }
+
+    private void flow(boolean pause) {
+      if (pause) {
+        SystemIdExecutor.this.paused.incrementAndGet();
+      } else {
+        SystemIdExecutor.this.paused.decrementAndGet();
+      }
+
+      FlowControl fc = flowControl;
+      if (fc == null) return;
+
+      try {
+        fc.setPaused(pause);
+      } catch (Exception e) {
+        log.error("Unexpected exception {} flow control", pause ? "pausing" : "resuming", e);
+      }
+    }
+
+    @Override
+    public void run() {
+      for (int i = 0; i < throughput; i++) {
+        Task task = poll();
+        if (task == null) break;
+
+        CompletionStage<?> stage = task.execute();
+        if (stage != null && !stage.toCompletableFuture().isDone()) {
+          stage.whenComplete((r, t) -> release());
+          return;
+        }
+      }
+
+      release();
+    }
+
+    private void release() {
+      scheduled.set(false);
+
+      if (!queue.isEmpty()) schedule();
+    }
+
+    private void schedule() {
+      if (!scheduled.compareAndSet(false, true)) return;
+
+      try {
+        if (lane == Lane.CONTROL) {
+          controlSvc.execute(this);
+        } else {
+          svc.execute(this);
+        }
+      } catch (RejectedExecutionException e) {
+        scheduled.set(false);
+        throw e;
+      }
+    }
+  }
+
+  private class Task {
+
+    private Supplier<CompletionStage<?>> task;
+
+    private Map<String, String> mdc;
+
+    private Optional<Timer> transportWait;
+
+    private Optional<Timer> laneWait = Optional.empty();
+
+    private long queuedAt = System.nanoTime();
+
+    Task(Supplier<CompletionStage<?>> task, Map<String, String> mdc, Optional<Timer> transportWait) {
+      this.task = task;
+      this.mdc = mdc;
+      this.transportWait = transportWait;
+    }
+
+    CompletionStage<?> execute() {
+      long waited = System.nanoTime() - queuedAt;
+      if (queueWait.isPresent()) queueWait.get().update(waited, TimeUnit.NANOSECONDS);
+      if (transportWait.isPresent()) transportWait.get().update(waited, TimeUnit.NANOSECONDS);
+      if (laneWait.isPresent()) laneWait.get().update(waited, TimeUnit.NANOSECONDS);
+
+      if (mdc == null) {
+        MDC.clear();
+      } else {
+        MDC.setContextMap(mdc);
+      }
+
+      try {
+        return task.get();
+      } catch (Throwable t) {
+        log.error("Unexpected exception executing task", t);
+        return null;
+      } finally {
+        MDC.clear();
+      }
+    }
+  }
+}
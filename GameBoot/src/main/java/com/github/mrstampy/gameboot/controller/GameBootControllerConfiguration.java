@@ -45,7 +45,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import com.github.mrstampy.gameboot.messages.finder.GameBootMessageClassFinder;
+import com.github.mrstampy.gameboot.messages.finder.AnnotatedMessageClassFinder;
 import com.github.mrstampy.gameboot.messages.finder.MessageClassFinder;
 
 /**
@@ -62,6 +62,6 @@ public class GameBootControllerConfiguration {
   @Bean
   @ConditionalOnMissingBean(MessageClassFinder.class)
   public MessageClassFinder finder() {
-    return new GameBootMessageClassFinder();
+    return new AnnotatedMessageClassFinder();
   }
 }
@@ -44,9 +44,13 @@ package com.github.mrstampy.gameboot.controller;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
 
 import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.PostConstruct;
@@ -54,6 +58,7 @@ import javax.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.stereotype.Component;
 
 import com.github.mrstampy.gameboot.exception.GameBootRuntimeException;
@@ -67,7 +72,12 @@ import com.github.mrstampy.gameboot.messages.context.ResponseContextLookup;
 import com.github.mrstampy.gameboot.messages.finder.MessageClassFinder;
 import com.github.mrstampy.gameboot.metrics.MetricsHelper;
 import com.github.mrstampy.gameboot.netty.AbstractNettyMessageHandler;
+import com.github.mrstampy.gameboot.processor.AsyncGameBootProcessor;
 import com.github.mrstampy.gameboot.processor.GameBootProcessor;
+import com.github.mrstampy.gameboot.processor.NullMessage;
+import com.github.mrstampy.gameboot.processor.interceptor.GameBootInterceptor;
+import com.github.mrstampy.gameboot.processor.interceptor.GameBootInterceptor.AsyncChain;
+import com.github.mrstampy.gameboot.processor.interceptor.GameBootInterceptor.Chain;
 import com.github.mrstampy.gameboot.systemid.SystemIdKey;
 import com.github.mrstampy.gameboot.websocket.AbstractGameBootWebSocketHandler;
 
@@ -84,7 +94,12 @@ import com.github.mrstampy.gameboot.websocket.AbstractGameBootWebSocketHandler;
  * 
  * GameBoot enforces one {@link GameBootProcessor} per
  * {@link AbstractGameBootMessage}. Implement a different
- * {@link MessageClassFinder} to process alternative messages.
+ * {@link MessageClassFinder} to process alternative messages.<br>
+ * <br>
+ * 
+ * On startup the {@link GameBootInterceptor}s supporting each message type are
+ * compiled, in order, into a chain of direct calls ending in the type's
+ * {@link GameBootProcessor}.
  * 
  * @see AbstractNettyMessageHandler
  * @see AbstractGameBootWebSocketHandler
@@ -98,6 +113,9 @@ public class GameBootMessageController implements ResponseContextCodes {
   @Autowired
   private List<GameBootProcessor<? extends AbstractGameBootMessage>> processors;
 
+  @Autowired(required = false)
+  private List<GameBootInterceptor> interceptors = new ArrayList<>();
+
   @Autowired
   private MetricsHelper helper;
 
@@ -107,11 +125,16 @@ public class GameBootMessageController implements ResponseContextCodes {
   @Autowired
   private LocaleRegistry localeRegistry;
 
+  @Autowired
+  private MessageClassFinder finder;
+
   private ResponseContextLookup lookup;
 
   /** The map. */
   protected Map<String, GameBootProcessor<?>> map = new ConcurrentHashMap<>();
 
+  private Map<String, Pipeline> pipelines = new ConcurrentHashMap<>();
+
   /**
    * Sets the error lookup.
    *
@@ -133,9 +156,67 @@ public class GameBootMessageController implements ResponseContextCodes {
   public void postConstruct() throws Exception {
     processors.forEach(p -> map.put(p.getType(), p));
 
+    map.values().forEach(p -> verify(p));
+
+    AnnotationAwareOrderComparator.sort(interceptors);
+
+    map.values().forEach(p -> compile(p));
+
     helper.counter(MESSAGE_COUNTER, GameBootMessageController.class, "message", "counter");
   }
 
+  private void verify(GameBootProcessor<?> p) {
+    String type = p.getType();
+    if (NullMessage.TYPE.equals(type) || finder.findClass(type) != null) return;
+
+    log.warn("No message class registered for type {} of processor {}", type, p.getClass());
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  private void compile(GameBootProcessor p) {
+    String type = p.getType();
+
+    GameBootInterceptor[] gbis = interceptors.stream().filter(i -> i.supports(type))
+        .toArray(GameBootInterceptor[]::new);
+
+    Chain chain = m -> p.process(m);
+
+    AsyncChain async;
+    if (p instanceof AsyncGameBootProcessor) {
+      async = m -> ((AsyncGameBootProcessor) p).processAsync(m);
+    } else {
+      async = m -> CompletableFuture.completedFuture(p.process(m));
+    }
+
+    for (int i = gbis.length - 1; i >= 0; i--) {
+      GameBootInterceptor gbi = gbis[i];
+
+      Chain next = chain;
+      chain = m -> gbi.intercept(m, next);
+
+      AsyncChain asyncNext = async;
+      async = m -> gbi.interceptAsync(m, asyncNext);
+    }
+
+    log.debug("Interceptors for type {}: {}", type, Arrays.toString(gbis));
+
+    pipelines.put(type, new Pipeline(gbis, chain, async));
+  }
+
+  /**
+   * Returns the {@link GameBootInterceptor}s, in order, applied to messages of
+   * the specified type.
+   *
+   * @param type
+   *          the type
+   * @return the interceptors, empty if no processor exists for the type
+   */
+  public GameBootInterceptor[] getInterceptors(String type) {
+    Pipeline pipeline = pipelines.get(type);
+
+    return pipeline == null ? new GameBootInterceptor[0] : pipeline.interceptors.clone();
+  }
+
   /**
    * Process the given JSON message using the {@link GameBootProcessor}
    * specified for its {@link AbstractGameBootMessage#getType()}.
@@ -172,17 +253,37 @@ public class GameBootMessageController implements ResponseContextCodes {
    * @throws Exception
    *           the exception
    */
-  @SuppressWarnings("unchecked")
   public <AGBM extends AbstractGameBootMessage> Response process(AGBM msg) throws Exception {
-    GameBootProcessor<AGBM> processor = (GameBootProcessor<AGBM>) map.get(msg.getType());
+    return getPipeline(msg).chain.proceed(msg);
+  }
 
-    if (processor == null) {
-      log.error("No processor for {}", msg.getType());
+  /**
+   * Processes the message with its {@link AsyncGameBootProcessor} if so
+   * implemented, else the response of the synchronous {@link GameBootProcessor}
+   * is returned as a completed stage.
+   *
+   * @param <AGBM>
+   *          the generic type
+   * @param msg
+   *          the msg
+   * @return the completion stage of the response
+   * @throws Exception
+   *           the exception
+   */
+  public <AGBM extends AbstractGameBootMessage> CompletionStage<Response> processAsync(AGBM msg) throws Exception {
+    return getPipeline(msg).async.proceed(msg);
+  }
+
+  private <AGBM extends AbstractGameBootMessage> Pipeline getPipeline(AGBM msg) {
+    Pipeline pipeline = pipelines.get(msg.getType());
+
+    if (pipeline == null) {
+      log.debug("No processor for {}", msg.getType());
 
       fail(getResponseContext(UNKNOWN_MESSAGE, msg.getSystemId()), "Unrecognized message");
     }
 
-    return processor.process(msg);
+    return pipeline;
   }
 
   /**
@@ -230,4 +331,16 @@ public class GameBootMessageController implements ResponseContextCodes {
   protected void fail(ResponseContext rc, String message, Object... payload) throws GameBootRuntimeException {
     throw new GameBootRuntimeException(message, rc, payload);
   }
+
+  private static class Pipeline {
+    final GameBootInterceptor[] interceptors;
+    final Chain chain;
+    final AsyncChain async;
+
+    Pipeline(GameBootInterceptor[] interceptors, Chain chain, AsyncChain async) {
+      this.interceptors = interceptors;
+      this.chain = chain;
+      this.async = async;
+    }
+  }
 }
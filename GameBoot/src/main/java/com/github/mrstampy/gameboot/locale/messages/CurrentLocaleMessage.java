@@ -42,10 +42,12 @@
 package com.github.mrstampy.gameboot.locale.messages;
 
 import com.github.mrstampy.gameboot.messages.AbstractGameBootMessage;
+import com.github.mrstampy.gameboot.messages.finder.MessageType;
 
 /**
  * Message used to retrieve the current locale for a connection.
  */
+@MessageType(CurrentLocaleMessage.TYPE)
 public class CurrentLocaleMessage extends AbstractGameBootMessage {
 
   /** The Constant TYPE. */
@@ -44,14 +44,19 @@ package com.github.mrstampy.gameboot.locale.messages;
 import java.util.Locale;
 import java.util.ResourceBundle;
 
+import com.github.mrstampy.gameboot.concurrent.DispatchLane;
+import com.github.mrstampy.gameboot.concurrent.Lane;
 import com.github.mrstampy.gameboot.messages.AbstractGameBootMessage;
 import com.github.mrstampy.gameboot.messages.context.ResponseContextLookup;
+import com.github.mrstampy.gameboot.messages.finder.MessageType;
 
 /**
  * The Class LocaleMessage is used to set the {@link Locale} for a client for
  * purpose of {@link ResponseContextLookup}s and other {@link Locale}-specific
  * functions.
  */
+@MessageType(LocaleMessage.TYPE)
+@DispatchLane(Lane.CONTROL)
 public class LocaleMessage extends AbstractGameBootMessage {
 
   /** The Constant TYPE. */
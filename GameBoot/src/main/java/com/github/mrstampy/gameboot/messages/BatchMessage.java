@@ -0,0 +1,94 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.messages;
+
+import java.util.List;
+
+import com.github.mrstampy.gameboot.controller.GameBootMessageController;
+import com.github.mrstampy.gameboot.messages.finder.MessageType;
+import com.github.mrstampy.gameboot.processor.connection.AbstractConnectionProcessor;
+
+/**
+ * The Class BatchMessage is an envelope for several
+ * {@link AbstractGameBootMessage}s sent in one frame. Each message is
+ * dispatched in order thru the {@link GameBootMessageController} and the
+ * responses are returned in a single {@link Response} of this type, the
+ * individual responses being its payload. A batch may contain at most
+ * 'batch.max.messages' messages.
+ * 
+ * @see AbstractConnectionProcessor
+ */
+@MessageType(BatchMessage.TYPE)
+public class BatchMessage extends AbstractGameBootMessage {
+
+  /** The Constant TYPE. */
+  public static final String TYPE = "BatchMessage";
+
+  private List<AbstractGameBootMessage> messages;
+
+  /**
+   * Instantiates a new batch message.
+   */
+  public BatchMessage() {
+    super(TYPE);
+  }
+
+  /**
+   * Gets the messages.
+   *
+   * @return the messages
+   */
+  public List<AbstractGameBootMessage> getMessages() {
+    return messages;
+  }
+
+  /**
+   * Sets the messages.
+   *
+   * @param messages
+   *          the new messages
+   */
+  public void setMessages(List<AbstractGameBootMessage> messages) {
+    this.messages = messages;
+  }
+
+}
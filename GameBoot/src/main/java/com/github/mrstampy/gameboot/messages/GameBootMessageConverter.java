@@ -44,7 +44,12 @@ package com.github.mrstampy.gameboot.messages;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.invoke.MethodHandles;
+import java.util.Collection;
+
+import javax.annotation.PostConstruct;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -52,11 +57,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonMappingException;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.github.mrstampy.gameboot.codec.GameBootCodec;
+import com.github.mrstampy.gameboot.codec.processor.CodecRegistry;
 import com.github.mrstampy.gameboot.exception.GameBootException;
+import com.github.mrstampy.gameboot.exception.GameBootRuntimeException;
 import com.github.mrstampy.gameboot.messages.context.ResponseContext;
 import com.github.mrstampy.gameboot.messages.context.ResponseContextCodes;
 import com.github.mrstampy.gameboot.messages.context.ResponseContextLookup;
@@ -69,10 +80,8 @@ import com.github.mrstampy.gameboot.messages.finder.MessageClassFinder;
 public class GameBootMessageConverter implements ResponseContextCodes {
   private static final Logger log = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
-  private static final String TYPE_NODE_NAME = "type";
-
   @Autowired
-  private ObjectMapper mapper;
+  private CodecRegistry registry;
 
   @Autowired
   private MessageClassFinder finder;
@@ -80,6 +89,36 @@ public class GameBootMessageConverter implements ResponseContextCodes {
   @Autowired
   private ResponseContextLookup lookup;
 
+  /**
+   * Registers the {@link GameBootMessageDeserializer} and prepares the
+   * {@link ObjectReader}s and {@link ObjectWriter}s of each
+   * {@link GameBootCodec} for the classes known to the
+   * {@link MessageClassFinder} and for {@link Response}s.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @PostConstruct
+  public void postConstruct() throws Exception {
+    Collection<Class<?>> classes = finder.getMessageClasses();
+
+    SimpleModule module = new SimpleModule("GameBootMessages");
+    module.addDeserializer(AbstractGameBootMessage.class, new GameBootMessageDeserializer(finder));
+
+    registry.getCodecs().forEach(c -> c.getMapper().registerModule(module));
+
+    registry.getCodecs().forEach(c -> prepare(c, classes));
+  }
+
+  private void prepare(GameBootCodec codec, Collection<Class<?>> classes) {
+    classes.forEach(clz -> {
+      codec.getReader(clz);
+      codec.getWriter(clz);
+    });
+
+    codec.getWriter(Response.class);
+  }
+
   /**
    * From json.
    *
@@ -96,9 +135,11 @@ public class GameBootMessageConverter implements ResponseContextCodes {
   public <AGBM extends AbstractGameBootMessage> AGBM fromJson(String message) throws IOException, GameBootException {
     if (isEmpty(message)) fail(getResponseContext(NO_MESSAGE), "No message");
 
-    JsonNode node = mapper.readTree(message);
+    GameBootCodec codec = registry.getDefaultCodec();
 
-    return fromJson(message.getBytes(), node);
+    try (JsonParser parser = codec.getMapper().getFactory().createParser(message)) {
+      return fromJson(parser, codec);
+    }
   }
 
   /**
@@ -115,32 +156,133 @@ public class GameBootMessageConverter implements ResponseContextCodes {
    *           the game boot exception
    */
   public <AGBM extends AbstractGameBootMessage> AGBM fromJson(byte[] message) throws IOException, GameBootException {
+    return fromJson(message, registry.getDefaultCodec());
+  }
+
+  /**
+   * From the wire format of the specified {@link GameBootCodec}.
+   *
+   * @param <AGBM>
+   *          the generic type
+   * @param message
+   *          the message
+   * @param codec
+   *          the codec
+   * @return the agbm
+   * @throws IOException
+   *           Signals that an I/O exception has occurred.
+   * @throws GameBootException
+   *           the game boot exception
+   */
+  public <AGBM extends AbstractGameBootMessage> AGBM fromJson(byte[] message, GameBootCodec codec)
+      throws IOException, GameBootException {
     if (message == null || message.length == 0) fail(getResponseContext(NO_MESSAGE), "No message");
 
-    JsonNode node = mapper.readTree(message);
+    try (JsonParser parser = codec.getMapper().getFactory().createParser(message)) {
+      return fromJson(parser, codec);
+    }
+  }
 
-    return fromJson(message, node);
+  /**
+   * From the wire format of the specified {@link GameBootCodec}, reading the
+   * message from the stream. The stream is not closed.
+   *
+   * @param <AGBM>
+   *          the generic type
+   * @param message
+   *          the message
+   * @param codec
+   *          the codec
+   * @return the agbm
+   * @throws IOException
+   *           Signals that an I/O exception has occurred.
+   * @throws GameBootException
+   *           the game boot exception
+   */
+  public <AGBM extends AbstractGameBootMessage> AGBM fromJson(InputStream message, GameBootCodec codec)
+      throws IOException, GameBootException {
+    if (message == null) fail(getResponseContext(NO_MESSAGE), "No message");
+
+    try (JsonParser parser = codec.getMapper().getFactory().createParser(message)) {
+      parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+      return fromJson(parser, codec);
+    }
   }
 
-  @SuppressWarnings("unchecked")
-  private <AGBM extends AbstractGameBootMessage> AGBM fromJson(byte[] message, JsonNode node)
-      throws GameBootException, IOException, JsonParseException, JsonMappingException {
-    JsonNode typeNode = node.get(TYPE_NODE_NAME);
+  /**
+   * Peeks the type of the message in the wire format of the specified
+   * {@link GameBootCodec}, reading no further than its type field.
+   *
+   * @param message
+   *          the message
+   * @param codec
+   *          the codec
+   * @return the type, null if none
+   * @throws IOException
+   *           Signals that an I/O exception has occurred.
+   */
+  public String peekType(byte[] message, GameBootCodec codec) throws IOException {
+    try (JsonParser parser = codec.getMapper().getFactory().createParser(message)) {
+      return peekType(parser);
+    }
+  }
 
-    if (typeNode == null) fail(getResponseContext(NO_TYPE), "No type specified");
+  /**
+   * Peeks the type of the message read from the stream in the wire format of
+   * the specified {@link GameBootCodec}, reading no further than its type
+   * field. The stream is not closed.
+   *
+   * @param message
+   *          the message
+   * @param codec
+   *          the codec
+   * @return the type, null if none
+   * @throws IOException
+   *           Signals that an I/O exception has occurred.
+   */
+  public String peekType(InputStream message, GameBootCodec codec) throws IOException {
+    try (JsonParser parser = codec.getMapper().getFactory().createParser(message)) {
+      parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+      return peekType(parser);
+    }
+  }
 
-    String type = typeNode.asText();
+  private String peekType(JsonParser parser) throws IOException {
+    if (parser.nextToken() != JsonToken.START_OBJECT) return null;
 
-    if (isEmpty(type)) fail(getResponseContext(NO_TYPE), "No type specified");
+    return TypedParser.peek(parser).getType();
+  }
+
+  /**
+   * Resolves the message class from the type and binds the message in a single
+   * pass. Failures of nested messages (ie. those of a {@link BatchMessage}) are
+   * rethrown as the original {@link GameBootRuntimeException}.
+   * 
+   * @see TypedParser
+   * @see GameBootMessageDeserializer
+   */
+  private <AGBM extends AbstractGameBootMessage> AGBM fromJson(JsonParser parser, GameBootCodec codec)
+      throws GameBootException, IOException, JsonParseException, JsonMappingException {
+    if (parser.nextToken() != JsonToken.START_OBJECT) fail(getResponseContext(NO_TYPE), "No type specified");
+
+    TypedParser typed = TypedParser.peek(parser);
+
+    String type = typed.getType();
+    if (type == null) fail(getResponseContext(NO_TYPE), "No type specified");
 
     Class<?> clz = finder.findClass(type);
 
     if (clz == null) {
-      log.error("Unknown message type {} for message {}", type, message);
+      log.debug("Unknown message type {}", type);
       fail(getResponseContext(UNKNOWN_MESSAGE), "Unrecognized message");
     }
 
-    return (AGBM) mapper.readValue(message, clz);
+    try {
+      return codec.getReader(clz).readValue(typed.getParser());
+    } catch (JsonMappingException e) {
+      if (e.getCause() instanceof GameBootRuntimeException) throw (GameBootRuntimeException) e.getCause();
+      throw e;
+    }
   }
 
   /**
@@ -160,7 +302,7 @@ public class GameBootMessageConverter implements ResponseContextCodes {
       throws JsonProcessingException, GameBootException {
     if (msg == null) fail(getResponseContext(NO_MESSAGE), "No message");
 
-    return mapper.writeValueAsString(msg);
+    return registry.getDefaultCodec().getWriter(msg.getClass()).writeValueAsString(msg);
   }
 
   /**
@@ -178,9 +320,53 @@ public class GameBootMessageConverter implements ResponseContextCodes {
    */
   public <AGBM extends AbstractGameBootMessage> byte[] toJsonArray(AGBM msg)
       throws JsonProcessingException, GameBootException {
+    return toJsonArray(msg, registry.getDefaultCodec());
+  }
+
+  /**
+   * To the wire format of the specified {@link GameBootCodec}.
+   *
+   * @param <AGBM>
+   *          the generic type
+   * @param msg
+   *          the msg
+   * @param codec
+   *          the codec
+   * @return the byte[]
+   * @throws JsonProcessingException
+   *           the json processing exception
+   * @throws GameBootException
+   *           the game boot exception
+   */
+  public <AGBM extends AbstractGameBootMessage> byte[] toJsonArray(AGBM msg, GameBootCodec codec)
+      throws JsonProcessingException, GameBootException {
+    if (msg == null) fail(getResponseContext(NO_MESSAGE), "No message");
+
+    return codec.getWriter(msg.getClass()).writeValueAsBytes(msg);
+  }
+
+  /**
+   * Writes the message in the wire format of the specified
+   * {@link GameBootCodec} to the stream.
+   *
+   * @param <AGBM>
+   *          the generic type
+   * @param msg
+   *          the msg
+   * @param codec
+   *          the codec
+   * @param out
+   *          the out
+   * @throws IOException
+   *           Signals that an I/O exception has occurred.
+   * @throws GameBootException
+   *           the game boot exception
+   */
+  public <AGBM extends AbstractGameBootMessage> void toJsonStream(AGBM msg, GameBootCodec codec, OutputStream out)
+      throws IOException, GameBootException {
     if (msg == null) fail(getResponseContext(NO_MESSAGE), "No message");
 
-    return mapper.writeValueAsBytes(msg);
+    codec.getWriter(msg.getClass()).writeValue(out, msg);
   }
 
   private ResponseContext getResponseContext(Integer code, Object... parameters) {
@@ -0,0 +1,105 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.messages;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.github.mrstampy.gameboot.exception.GameBootRuntimeException;
+import com.github.mrstampy.gameboot.messages.context.ResponseContextCodes;
+import com.github.mrstampy.gameboot.messages.finder.MessageClassFinder;
+
+/**
+ * Deserializes nested {@link AbstractGameBootMessage}s such as the contents of
+ * a {@link BatchMessage}, resolving the class of each from its type using the
+ * {@link MessageClassFinder}. Registered by the
+ * {@link GameBootMessageConverter} with each codec's mapper.
+ */
+public class GameBootMessageDeserializer extends JsonDeserializer<AbstractGameBootMessage>
+    implements ResponseContextCodes {
+
+  private MessageClassFinder finder;
+
+  /**
+   * Instantiates a new game boot message deserializer.
+   *
+   * @param finder
+   *          the finder
+   */
+  public GameBootMessageDeserializer(MessageClassFinder finder) {
+    this.finder = finder;
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see
+   * com.fasterxml.jackson.databind.JsonDeserializer#deserialize(com.fasterxml.
+   * jackson.core.JsonParser,
+   * com.fasterxml.jackson.databind.DeserializationContext)
+   */
+  @Override
+  public AbstractGameBootMessage deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+    if (p.getCurrentToken() != JsonToken.START_OBJECT) {
+      throw new GameBootRuntimeException("No type specified", NO_TYPE);
+    }
+
+    TypedParser typed = TypedParser.peek(p);
+
+    if (typed.getType() == null) throw new GameBootRuntimeException("No type specified", NO_TYPE);
+
+    Class<?> clz = finder.findClass(typed.getType());
+
+    if (clz == null || !AbstractGameBootMessage.class.isAssignableFrom(clz)) {
+      throw new GameBootRuntimeException("Unrecognized message", UNKNOWN_MESSAGE);
+    }
+
+    JsonParser sequence = typed.getParser();
+    sequence.nextToken();
+
+    return (AbstractGameBootMessage) ctxt.readValue(sequence, clz);
+  }
+
+}
@@ -0,0 +1,146 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.messages;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+/**
+ * A pre-serialized {@link Response#getPayload()} element. The value is
+ * serialized to UTF-8 JSON once on creation and spliced into each
+ * {@link Response} verbatim for JSON, replayed from tokens (buffered on first
+ * use) for other formats. Use for payloads identical across many responses
+ * (configuration, leaderboards etc.), typically obtained from the
+ * {@link RawPayloadCache}.
+ * 
+ * @see RawPayloadSerializer
+ */
+@JsonSerialize(using = RawPayloadSerializer.class)
+public class RawPayload {
+
+  private final String key;
+
+  private final SerializedString json;
+
+  private final ObjectMapper mapper;
+
+  private volatile TokenBuffer tokens;
+
+  /**
+   * Instantiates a new raw payload.
+   *
+   * @param key
+   *          the key
+   * @param value
+   *          the value
+   * @param mapper
+   *          the JSON mapper used to serialize the value
+   * @throws IOException
+   *           Signals that an I/O exception has occurred.
+   */
+  public RawPayload(String key, Object value, ObjectMapper mapper) throws IOException {
+    this.key = key;
+    this.mapper = mapper;
+
+    json = new SerializedString(mapper.writer().without(SerializationFeature.INDENT_OUTPUT).writeValueAsString(value));
+    json.asUnquotedUTF8();
+  }
+
+  /**
+   * Gets the key.
+   *
+   * @return the key
+   */
+  public String getKey() {
+    return key;
+  }
+
+  /**
+   * Gets the serialized JSON.
+   *
+   * @return the json
+   */
+  public String getJson() {
+    return json.getValue();
+  }
+
+  /**
+   * Gets the serialized JSON, its UTF-8 bytes encoded on creation.
+   *
+   * @return the serialized json
+   */
+  public SerializableString getSerializedJson() {
+    return json;
+  }
+
+  /**
+   * Gets the buffered tokens of the value, parsed from the JSON on first
+   * invocation.
+   *
+   * @return the tokens
+   * @throws IOException
+   *           Signals that an I/O exception has occurred.
+   */
+  public TokenBuffer getTokens() throws IOException {
+    TokenBuffer tb = tokens;
+    if (tb != null) return tb;
+
+    try (JsonParser parser = mapper.getFactory().createParser(json.asUnquotedUTF8())) {
+      parser.nextToken();
+
+      tb = new TokenBuffer(mapper, false);
+      tb.copyCurrentStructure(parser);
+    }
+
+    tokens = tb;
+
+    return tb;
+  }
+
+}
@@ -0,0 +1,142 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.messages;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.github.mrstampy.gameboot.codec.processor.CodecRegistry;
+import com.github.mrstampy.gameboot.exception.GameBootRuntimeException;
+import com.github.mrstampy.gameboot.messages.context.ResponseContextCodes;
+import com.github.mrstampy.gameboot.processor.GameBootProcessor;
+
+/**
+ * Cache of {@link RawPayload}s keyed by name. {@link GameBootProcessor}s
+ * returning identical payloads to many clients obtain them from this cache so
+ * that the payload is serialized once, evicting the key when the underlying
+ * value changes.
+ */
+@Component
+public class RawPayloadCache implements ResponseContextCodes {
+  private static final Logger log = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+  @Autowired
+  private CodecRegistry registry;
+
+  private Map<String, RawPayload> payloads = new ConcurrentHashMap<>();
+
+  /**
+   * Returns the payload for the key, serializing the value obtained from the
+   * supplier if not cached.
+   *
+   * @param key
+   *          the key
+   * @param value
+   *          the value
+   * @return the raw payload
+   */
+  public RawPayload get(String key, Supplier<?> value) {
+    return payloads.computeIfAbsent(key, k -> create(k, value.get()));
+  }
+
+  /**
+   * Caches the value against the key, replacing any existing payload.
+   *
+   * @param key
+   *          the key
+   * @param value
+   *          the value
+   * @return the raw payload
+   */
+  public RawPayload put(String key, Object value) {
+    RawPayload payload = create(key, value);
+
+    payloads.put(key, payload);
+
+    return payload;
+  }
+
+  /**
+   * Contains.
+   *
+   * @param key
+   *          the key
+   * @return true, if successful
+   */
+  public boolean contains(String key) {
+    return payloads.containsKey(key);
+  }
+
+  /**
+   * Evicts the payload for the key.
+   *
+   * @param key
+   *          the key
+   */
+  public void evict(String key) {
+    payloads.remove(key);
+  }
+
+  /**
+   * Clears the cache.
+   */
+  public void clear() {
+    payloads.clear();
+  }
+
+  private RawPayload create(String key, Object value) {
+    try {
+      return new RawPayload(key, value, registry.getDefaultCodec().getMapper());
+    } catch (IOException e) {
+      log.error("Cannot serialize payload {}", key, e);
+      throw new GameBootRuntimeException("Cannot serialize payload " + key, UNEXPECTED_ERROR);
+    }
+  }
+}
@@ -41,6 +41,7 @@
  */
 package com.github.mrstampy.gameboot.messages;
 
+import com.github.mrstampy.gameboot.codec.messages.WireFormatMessage;
 import com.github.mrstampy.gameboot.otp.netty.OtpClearNettyHandler;
 import com.github.mrstampy.gameboot.otp.websocket.OtpClearWebSocketHandler;
 import com.github.mrstampy.gameboot.systemid.SystemId;
@@ -58,6 +59,8 @@ public class SystemIdResponse {
 
   private Long systemId;
 
+  private String[] formats;
+
   /**
    * Instantiates a new otp system id.
    */
@@ -74,6 +77,19 @@ public class SystemIdResponse {
     setSystemId(systemId);
   }
 
+  /**
+   * Instantiates a new otp system id.
+   *
+   * @param systemId
+   *          the system id
+   * @param formats
+   *          the available wire formats
+   */
+  public SystemIdResponse(Long systemId, String[] formats) {
+    this(systemId);
+    setFormats(formats);
+  }
+
   /**
    * Gets the system id.
    *
@@ -92,4 +108,24 @@ public class SystemIdResponse {
   public void setSystemId(Long systemId) {
     this.systemId = systemId;
   }
+
+  /**
+   * Gets the wire formats available for selection by a
+   * {@link WireFormatMessage}.
+   *
+   * @return the formats
+   */
+  public String[] getFormats() {
+    return formats;
+  }
+
+  /**
+   * Sets the formats.
+   *
+   * @param formats
+   *          the new formats
+   */
+  public void setFormats(String[] formats) {
+    this.formats = formats;
+  }
 }
@@ -0,0 +1,125 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.messages;
+
+import static org.apache.commons.lang3.StringUtils.isEmpty;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserSequence;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+/**
+ * Streams a JSON object until the {@value #TYPE_NODE_NAME} field is found,
+ * buffering only the tokens read before it. The resulting parser replays the
+ * buffered tokens followed by the remainder of the original parser, allowing
+ * the message class to be resolved and bound in a single pass.
+ */
+class TypedParser {
+
+  /** The Constant TYPE_NODE_NAME. */
+  static final String TYPE_NODE_NAME = "type";
+
+  private final String type;
+
+  private final JsonParser parser;
+
+  private TypedParser(String type, JsonParser parser) {
+    this.type = type;
+    this.parser = parser;
+  }
+
+  /**
+   * Peeks the type of the object at the parser's current
+   * {@link JsonToken#START_OBJECT}.
+   *
+   * @param parser
+   *          the parser
+   * @return the typed parser
+   * @throws IOException
+   *           Signals that an I/O exception has occurred.
+   */
+  static TypedParser peek(JsonParser parser) throws IOException {
+    TokenBuffer buffer = new TokenBuffer(parser);
+    buffer.writeStartObject();
+
+    String type = null;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String name = parser.getCurrentName();
+      JsonToken value = parser.nextToken();
+
+      if (TYPE_NODE_NAME.equals(name)) {
+        if (value.isScalarValue()) type = parser.getValueAsString();
+        break;
+      }
+
+      buffer.writeFieldName(name);
+      buffer.copyCurrentStructure(parser);
+    }
+
+    if (isEmpty(type)) return new TypedParser(null, null);
+
+    buffer.writeStringField(TYPE_NODE_NAME, type);
+
+    return new TypedParser(type, JsonParserSequence.createFlattened(buffer.asParser(parser), parser));
+  }
+
+  /**
+   * Gets the type, null if none.
+   *
+   * @return the type
+   */
+  String getType() {
+    return type;
+  }
+
+  /**
+   * Gets the parser positioned before the start of the object.
+   *
+   * @return the parser
+   */
+  JsonParser getParser() {
+    return parser;
+  }
+}
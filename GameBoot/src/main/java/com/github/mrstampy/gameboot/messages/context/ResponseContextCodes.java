@@ -120,4 +120,13 @@ public interface ResponseContextCodes {
 
   /** The Constant MUST_BE. */
   public static final Integer MUST_BE = -75;
+
+  /** The Constant OVERLOAD. */
+  public static final Integer OVERLOAD = -74;
+
+  /** The Constant CONSTRAINT_VIOLATION. */
+  public static final Integer CONSTRAINT_VIOLATION = -73;
+
+  /** The Constant BATCH_TOO_LARGE. */
+  public static final Integer BATCH_TOO_LARGE = -72;
 }
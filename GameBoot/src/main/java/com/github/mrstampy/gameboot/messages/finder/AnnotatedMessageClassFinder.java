@@ -0,0 +1,161 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.messages.finder;
+
+import static org.apache.commons.lang3.StringUtils.isEmpty;
+
+import java.lang.invoke.MethodHandles;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.util.ClassUtils;
+
+import com.github.mrstampy.gameboot.controller.GameBootControllerConfiguration;
+import com.github.mrstampy.gameboot.messages.AbstractGameBootMessage;
+
+/**
+ * The default {@link MessageClassFinder}, which scans the packages specified
+ * by the 'game.boot.message.packages' property on startup for
+ * {@link AbstractGameBootMessage}s annotated with {@link MessageType} and
+ * indexes them in a {@link MessageTypeIndex}.
+ * 
+ * @see GameBootControllerConfiguration
+ */
+public class AnnotatedMessageClassFinder implements MessageClassFinder {
+  private static final Logger log = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+  @Value("#{'${game.boot.message.packages}'.split(',')}")
+  private String[] packages;
+
+  private MessageTypeIndex index;
+
+  /**
+   * Post construct.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @PostConstruct
+  public void postConstruct() throws Exception {
+    ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+    scanner.addIncludeFilter(new AnnotationTypeFilter(MessageType.class));
+
+    Map<String, Class<?>> typeClasses = new LinkedHashMap<>();
+
+    for (String pkg : packages) {
+      if (isEmpty(pkg)) continue;
+
+      for (BeanDefinition bd : scanner.findCandidateComponents(pkg.trim())) {
+        add(typeClasses, ClassUtils.forName(bd.getBeanClassName(), getClass().getClassLoader()));
+      }
+    }
+
+    index = new MessageTypeIndex(typeClasses);
+
+    log.info("Indexed {} message types from {}, perfect hash {}", index.size(), Arrays.toString(packages),
+        index.isPerfect());
+  }
+
+  private void add(Map<String, Class<?>> typeClasses, Class<?> clz) {
+    if (!AbstractGameBootMessage.class.isAssignableFrom(clz)) {
+      throw new IllegalStateException(clz + " is annotated with @MessageType but is not an AbstractGameBootMessage");
+    }
+
+    String type = clz.getAnnotation(MessageType.class).value();
+
+    Class<?> existing = typeClasses.put(type, clz);
+
+    if (existing != null && existing != clz) {
+      throw new IllegalStateException("Message type " + type + " declared by both " + existing + " and " + clz);
+    }
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see
+   * com.github.mrstampy.gameboot.messages.finder.MessageClassFinder#findClass(
+   * java.lang.String)
+   */
+  @Override
+  public Class<?> findClass(String type) {
+    return index.getMessageClass(type);
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see com.github.mrstampy.gameboot.messages.finder.MessageClassFinder#
+   * getMessageClasses()
+   */
+  @Override
+  public Collection<Class<?>> getMessageClasses() {
+    Class<?>[] classes = new Class<?>[index.size()];
+
+    for (int i = 0; i < classes.length; i++) {
+      classes[i] = index.getMessageClass(i);
+    }
+
+    return Collections.unmodifiableList(Arrays.asList(classes));
+  }
+
+  /**
+   * Gets the index.
+   *
+   * @return the index
+   */
+  public MessageTypeIndex getIndex() {
+    return index;
+  }
+
+}
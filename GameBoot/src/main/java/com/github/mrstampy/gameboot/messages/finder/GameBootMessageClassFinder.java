@@ -41,53 +41,21 @@
  */
 package com.github.mrstampy.gameboot.messages.finder;
 
-import java.lang.invoke.MethodHandles;
-
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
 import com.github.mrstampy.gameboot.controller.GameBootControllerConfiguration;
-import com.github.mrstampy.gameboot.locale.messages.CurrentLocaleMessage;
-import com.github.mrstampy.gameboot.locale.messages.LocaleMessage;
-import com.github.mrstampy.gameboot.otp.messages.OtpKeyRequest;
-import com.github.mrstampy.gameboot.otp.messages.OtpNewKeyAck;
-import com.github.mrstampy.gameboot.systemid.messages.SystemIdMessage;
-import com.github.mrstampy.gameboot.usersession.messages.UserMessage;
 
 /**
- * The default implementation of the {@link MessageClassFinder} interface.
+ * The previous default implementation of the {@link MessageClassFinder}
+ * interface, retained for applications which extend it to add their message
+ * types. All lookups are delegated to the {@link AnnotatedMessageClassFinder}
+ * and its {@link MessageTypeIndex}; subclasses overriding
+ * {@link #findClass(String)} and {@link #getMessageClasses()} should continue
+ * to invoke the super implementations for the GameBoot message types.
  * 
+ * @deprecated annotate message classes with {@link MessageType} and add their
+ *             packages to the 'game.boot.message.packages' property instead.
  * @see GameBootControllerConfiguration
  */
-public class GameBootMessageClassFinder implements MessageClassFinder {
-  private static final Logger log = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
-
-  /*
-   * (non-Javadoc)
-   * 
-   * @see
-   * com.github.mrstampy.gameboot.controller.MessageClassFinder#findClass(java.
-   * lang.String)
-   */
-  @Override
-  public Class<?> findClass(String type) {
-    switch (type) {
-    case UserMessage.TYPE:
-      return UserMessage.class;
-    case OtpKeyRequest.TYPE:
-      return OtpKeyRequest.class;
-    case OtpNewKeyAck.TYPE:
-      return OtpNewKeyAck.class;
-    case LocaleMessage.TYPE:
-      return LocaleMessage.class;
-    case SystemIdMessage.TYPE:
-      return SystemIdMessage.class;
-    case CurrentLocaleMessage.TYPE:
-      return CurrentLocaleMessage.class;
-    default:
-      log.error("No class defined for type {}", type);
-      return null;
-    }
-  }
+@Deprecated
+public class GameBootMessageClassFinder extends AnnotatedMessageClassFinder {
 
 }
@@ -41,6 +41,9 @@
  */
 package com.github.mrstampy.gameboot.messages.finder;
 
+import java.util.Collection;
+import java.util.Collections;
+
 import com.github.mrstampy.gameboot.controller.GameBootControllerConfiguration;
 import com.github.mrstampy.gameboot.controller.GameBootMessageController;
 import com.github.mrstampy.gameboot.messages.AbstractGameBootMessage;
@@ -62,4 +65,14 @@ public interface MessageClassFinder {
    * @return the class
    */
   Class<?> findClass(String type);
+
+  /**
+   * Returns the message classes known to this finder, used to prepare readers
+   * and writers on startup. Empty by default.
+   *
+   * @return the message classes
+   */
+  default Collection<Class<?>> getMessageClasses() {
+    return Collections.emptyList();
+  }
 }
@@ -0,0 +1,213 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.messages.finder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable index of message types to classes. Each type is assigned a small
+ * integer id (its position in the index) and lookups are made thru a
+ * collision-free (perfect) hash table computed on construction, falling back
+ * to a {@link HashMap} should no perfect hash be found.
+ */
+public class MessageTypeIndex {
+
+  private static final int MAX_BITS = 16;
+
+  private static final int SEED_ATTEMPTS = 64;
+
+  private static final int GOLDEN = 0x9E3779B9;
+
+  private final String[] types;
+
+  private final Class<?>[] classes;
+
+  private int[] table;
+
+  private int seed;
+
+  private int shift;
+
+  private Map<String, Integer> fallback;
+
+  /**
+   * Instantiates a new message type index.
+   *
+   * @param typeClasses
+   *          the type to class map
+   */
+  public MessageTypeIndex(Map<String, Class<?>> typeClasses) {
+    int size = typeClasses.size();
+
+    types = new String[size];
+    classes = new Class<?>[size];
+
+    int i = 0;
+    for (Map.Entry<String, Class<?>> e : typeClasses.entrySet()) {
+      types[i] = e.getKey();
+      classes[i] = e.getValue();
+      i++;
+    }
+
+    if (!createPerfectHash()) createFallback();
+  }
+
+  /**
+   * Returns the id of the type, -1 if unknown.
+   *
+   * @param type
+   *          the type
+   * @return the type id
+   */
+  public int getTypeId(String type) {
+    if (type == null) return -1;
+
+    if (fallback != null) {
+      Integer id = fallback.get(type);
+      return id == null ? -1 : id;
+    }
+
+    int id = table[slot(type.hashCode(), seed, shift)] - 1;
+
+    return id >= 0 && types[id].equals(type) ? id : -1;
+  }
+
+  /**
+   * Returns the class of the type, null if unknown.
+   *
+   * @param type
+   *          the type
+   * @return the class
+   */
+  public Class<?> getMessageClass(String type) {
+    int id = getTypeId(type);
+
+    return id < 0 ? null : classes[id];
+  }
+
+  /**
+   * Returns the class for the type id.
+   *
+   * @param typeId
+   *          the type id
+   * @return the class
+   */
+  public Class<?> getMessageClass(int typeId) {
+    return classes[typeId];
+  }
+
+  /**
+   * Returns the type for the type id.
+   *
+   * @param typeId
+   *          the type id
+   * @return the type
+   */
+  public String getType(int typeId) {
+    return types[typeId];
+  }
+
+  /**
+   * The number of indexed types.
+   *
+   * @return the int
+   */
+  public int size() {
+    return types.length;
+  }
+
+  /**
+   * Checks if lookups are made thru a perfect hash.
+   *
+   * @return true, if is perfect
+   */
+  public boolean isPerfect() {
+    return fallback == null;
+  }
+
+  private boolean createPerfectHash() {
+    int minBits = Math.max(1, 32 - Integer.numberOfLeadingZeros(Math.max(1, types.length - 1)));
+
+    for (int bits = minBits; bits <= MAX_BITS; bits++) {
+      int s = 32 - bits;
+      for (int attempt = 0; attempt < SEED_ATTEMPTS; attempt++) {
+        int candidate = GOLDEN * (2 * attempt + 1);
+        int[] t = fill(bits, candidate, s);
+        if (t == null) continue;
+
+        table = t;
+        seed = candidate;
+        shift = s;
+
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  private int[] fill(int bits, int candidate, int s) {
+    int[] t = new int[1 << bits];
+
+    for (int i = 0; i < types.length; i++) {
+      int slot = slot(types[i].hashCode(), candidate, s);
+      if (t[slot] != 0) return null;
+
+      t[slot] = i + 1;
+    }
+
+    return t;
+  }
+
+  private void createFallback() {
+    fallback = new HashMap<>();
+
+    for (int i = 0; i < types.length; i++) {
+      fallback.put(types[i], i);
+    }
+  }
+
+  private static int slot(int hash, int seed, int shift) {
+    return (hash * seed) >>> shift;
+  }
+}
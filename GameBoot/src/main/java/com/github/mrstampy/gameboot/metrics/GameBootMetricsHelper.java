@@ -49,9 +49,11 @@ import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
 import com.codahale.metrics.Counter;
 import com.codahale.metrics.Gauge;
@@ -69,6 +71,9 @@ public class GameBootMetricsHelper implements MetricsHelper {
   @Autowired
   private MetricRegistry registry;
 
+  @Value("${game.boot.metrics.latency.window.seconds}")
+  private int latencyWindow;
+
   private Map<String, Timer> timers = new ConcurrentHashMap<>();
 
   private Map<String, Counter> counters = new ConcurrentHashMap<>();
@@ -116,6 +121,32 @@ public class GameBootMetricsHelper implements MetricsHelper {
     gauges.put(key, registry.register(name(clz, qualifiers), gauge));
   }
 
+  /*
+   * (non-Javadoc)
+   * 
+   * @see
+   * com.github.mrstampy.gameboot.metrics.MetricsHelper#lazyTimer(java.lang.
+   * String, java.lang.Class, java.lang.String[])
+   */
+  @Override
+  public Optional<Timer> lazyTimer(String key, Class<?> clz, String... qualifiers) {
+    check(key);
+
+    Timer t = timers.get(key);
+    if (t != null) return Optional.of(t);
+
+    return Optional.of(timers.computeIfAbsent(key, k -> register(name(clz, qualifiers))));
+  }
+
+  private Timer register(String name) {
+    try {
+      return registry.register(name, HdrReservoir.timer(latencyWindow, TimeUnit.SECONDS));
+    } catch (IllegalArgumentException e) {
+      // registered outside of this helper
+      return registry.timer(name);
+    }
+  }
+
   /*
    * (non-Javadoc)
    * 
@@ -0,0 +1,217 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.metrics;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+import org.HdrHistogram.Recorder;
+
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+
+/**
+ * A {@link Reservoir} backed by an <a href=
+ * "http://hdrhistogram.github.io/HdrHistogram/">HdrHistogram</a>, recording
+ * every value to 3 significant digits. Unlike the default sampling reservoir
+ * high percentiles (p99, p999) are accurate. Values recorded are accumulated
+ * for the window specified, a {@link #getSnapshot()} after its expiry
+ * beginning a new window.
+ * 
+ * @see MetricsHelper#lazyTimer(String, Class, String...)
+ */
+public class HdrReservoir implements Reservoir {
+
+  private static final int SIGNIFICANT_DIGITS = 3;
+
+  private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+
+  private final Histogram accumulated = new Histogram(SIGNIFICANT_DIGITS);
+
+  private final long windowNanos;
+
+  private Histogram interval;
+
+  private long windowStart = System.nanoTime();
+
+  /**
+   * The Constructor.
+   *
+   * @param window
+   *          the window
+   * @param unit
+   *          the unit
+   */
+  public HdrReservoir(long window, TimeUnit unit) {
+    if (window <= 0) throw new IllegalArgumentException("window must be > 0");
+
+    this.windowNanos = unit.toNanos(window);
+  }
+
+  /**
+   * Creates a {@link Timer} backed by an {@link HdrReservoir}.
+   *
+   * @param window
+   *          the window
+   * @param unit
+   *          the unit
+   * @return the timer
+   */
+  public static Timer timer(long window, TimeUnit unit) {
+    return new Timer(new HdrReservoir(window, unit));
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see com.codahale.metrics.Reservoir#size()
+   */
+  @Override
+  public int size() {
+    return getSnapshot().size();
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see com.codahale.metrics.Reservoir#update(long)
+   */
+  @Override
+  public void update(long value) {
+    recorder.recordValue(value < 0 ? 0 : value);
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see com.codahale.metrics.Reservoir#getSnapshot()
+   */
+  @Override
+  public synchronized Snapshot getSnapshot() {
+    long now = System.nanoTime();
+    if (now - windowStart > windowNanos) {
+      accumulated.reset();
+      windowStart = now;
+    }
+
+    interval = recorder.getIntervalHistogram(interval);
+    accumulated.add(interval);
+
+    return new HdrSnapshot(accumulated.copy());
+  }
+
+  private static class HdrSnapshot extends Snapshot {
+
+    private final Histogram histogram;
+
+    HdrSnapshot(Histogram histogram) {
+      this.histogram = histogram;
+    }
+
+    @Override
+    public double getValue(double quantile) {
+      if (quantile < 0.0 || quantile > 1.0 || Double.isNaN(quantile)) {
+        throw new IllegalArgumentException(quantile + " is not in [0..1]");
+      }
+
+      return histogram.getValueAtPercentile(quantile * 100);
+    }
+
+    /**
+     * Returns the distinct values recorded, each to the histogram's
+     * precision.
+     */
+    @Override
+    public long[] getValues() {
+      long[] values = new long[16];
+
+      int i = 0;
+      for (HistogramIterationValue hiv : histogram.recordedValues()) {
+        if (i == values.length) values = Arrays.copyOf(values, i * 2);
+        values[i++] = hiv.getValueIteratedTo();
+      }
+
+      return Arrays.copyOf(values, i);
+    }
+
+    @Override
+    public int size() {
+      return (int) Math.min(Integer.MAX_VALUE, histogram.getTotalCount());
+    }
+
+    @Override
+    public long getMax() {
+      return histogram.getTotalCount() == 0 ? 0 : histogram.getMaxValue();
+    }
+
+    @Override
+    public double getMean() {
+      return histogram.getTotalCount() == 0 ? 0 : histogram.getMean();
+    }
+
+    @Override
+    public long getMin() {
+      return histogram.getTotalCount() == 0 ? 0 : histogram.getMinValue();
+    }
+
+    @Override
+    public double getStdDev() {
+      return histogram.getTotalCount() == 0 ? 0 : histogram.getStdDeviation();
+    }
+
+    @Override
+    public void dump(OutputStream output) {
+      try (PrintWriter out = new PrintWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+        for (long value : getValues()) {
+          out.printf("%d%n", value);
+        }
+      }
+    }
+  }
+}
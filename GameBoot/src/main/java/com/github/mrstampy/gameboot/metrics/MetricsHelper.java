@@ -106,6 +106,22 @@ public interface MetricsHelper {
    */
   void gauge(Gauge<?> gauge, String key, Class<?> clz, String... qualifiers);
 
+  /**
+   * Returns the high resolution ({@link HdrReservoir}) timer for the key,
+   * registering it on first use. Intended for metrics registered as they are
+   * encountered (message types etc.). Callers on hot paths should keep the
+   * reference returned.
+   *
+   * @param key
+   *          the key
+   * @param clz
+   *          the clz
+   * @param qualifiers
+   *          the qualifiers
+   * @return the timer, empty if metrics are not acquired
+   */
+  Optional<Timer> lazyTimer(String key, Class<?> clz, String... qualifiers);
+
   /**
    * Gets the timers.
    *
@@ -161,6 +161,18 @@ public class NullMetricsHelper implements MetricsHelper {
     return false;
   }
 
+  /*
+   * (non-Javadoc)
+   * 
+   * @see
+   * com.github.mrstampy.gameboot.metrics.MetricsHelper#lazyTimer(java.lang.
+   * String, java.lang.Class, java.lang.String[])
+   */
+  @Override
+  public Optional<Timer> lazyTimer(String key, Class<?> clz, String... qualifiers) {
+    return Optional.empty();
+  }
+
   /*
    * (non-Javadoc)
    * 
@@ -0,0 +1,135 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.netty;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelPipeline;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.handler.codec.LengthFieldPrepender;
+import io.netty.handler.codec.bytes.ByteArrayEncoder;
+
+/**
+ * The Class AbstractFramedChannelInitializer adds length field framing (a 4
+ * byte length prefix) to the pipeline. Inbound frames are passed on as
+ * {@link io.netty.buffer.ByteBuf}s, outbound byte arrays and ByteBufs are
+ * framed. Subclasses add the GameBoot handler in
+ * {@link #initHandlers(Channel, ChannelPipeline)}.
+ */
+public abstract class AbstractFramedChannelInitializer extends ChannelInitializer<Channel> {
+
+  /** The Constant LENGTH_FIELD_LENGTH. */
+  public static final int LENGTH_FIELD_LENGTH = 4;
+
+  private final int maxFrameLength;
+
+  /**
+   * The Constructor.
+   *
+   * @param maxFrameLength
+   *          the max frame length
+   */
+  protected AbstractFramedChannelInitializer(int maxFrameLength) {
+    this.maxFrameLength = maxFrameLength;
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see
+   * io.netty.channel.ChannelInitializer#initChannel(io.netty.channel.Channel)
+   */
+  @Override
+  protected void initChannel(Channel ch) throws Exception {
+    ChannelPipeline pipeline = ch.pipeline();
+
+    initTransport(ch, pipeline);
+
+    //@formatter:off
+    pipeline.addLast(new LengthFieldBasedFrameDecoder(maxFrameLength, 
+                                                      0, 
+                                                      LENGTH_FIELD_LENGTH, 
+                                                      0, 
+                                                      LENGTH_FIELD_LENGTH));
+    //@formatter:on
+    pipeline.addLast(new LengthFieldPrepender(LENGTH_FIELD_LENGTH));
+    pipeline.addLast(new ByteArrayEncoder());
+
+    initHandlers(ch, pipeline);
+  }
+
+  /**
+   * Override to add handlers (ie. SSL) in front of the framing. Empty
+   * implementation.
+   *
+   * @param ch
+   *          the ch
+   * @param pipeline
+   *          the pipeline
+   * @throws Exception
+   *           the exception
+   */
+  protected void initTransport(Channel ch, ChannelPipeline pipeline) throws Exception {
+  }
+
+  /**
+   * Adds the handlers following the framing.
+   *
+   * @param ch
+   *          the ch
+   * @param pipeline
+   *          the pipeline
+   * @throws Exception
+   *           the exception
+   */
+  protected abstract void initHandlers(Channel ch, ChannelPipeline pipeline) throws Exception;
+
+  /**
+   * Gets the max frame length.
+   *
+   * @return the max frame length
+   */
+  public int getMaxFrameLength() {
+    return maxFrameLength;
+  }
+
+}
@@ -47,7 +47,9 @@ import javax.annotation.PostConstruct;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 
+import com.github.mrstampy.gameboot.compression.MessageCompressor;
 import com.github.mrstampy.gameboot.controller.GameBootMessageController;
 import com.github.mrstampy.gameboot.messages.AbstractGameBootMessage;
 import com.github.mrstampy.gameboot.messaging.MessagingGroups;
@@ -55,8 +57,10 @@ import com.github.mrstampy.gameboot.processor.connection.ConnectionProcessor;
 import com.github.mrstampy.gameboot.systemid.SystemId;
 import com.github.mrstampy.gameboot.systemid.SystemIdKey;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelDuplexHandler;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
 
 /**
  * This class is the superclass for last-in-pipeline GameBoot Netty handlers.
@@ -84,6 +88,9 @@ public abstract class AbstractNettyMessageHandler<C, CP extends ConnectionProces
     extends ChannelDuplexHandler {
   private static final Logger log = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+  @Autowired
+  private MessageCompressor compressor;
+
   private CP connectionProcessor;
 
   /**
@@ -157,6 +164,40 @@ public abstract class AbstractNettyMessageHandler<C, CP extends ConnectionProces
     connectionProcessor.onMessage(ctx, msg);
   }
 
+  /**
+   * Compresses byte array and {@link ByteBuf} messages prior to writing should
+   * the connection have enabled compression.
+   *
+   * @param ctx
+   *          the ctx
+   * @param msg
+   *          the msg
+   * @param promise
+   *          the promise
+   * @throws Exception
+   *           the exception
+   * @see MessageCompressor
+   */
+  @Override
+  public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+    ctx.write(compressIfRequired(msg), promise);
+  }
+
+  /**
+   * Compresses byte array and {@link ByteBuf} messages should the connection
+   * have enabled compression, other messages are returned as is.
+   *
+   * @param msg
+   *          the msg
+   * @return the object
+   */
+  protected Object compressIfRequired(Object msg) {
+    if (msg instanceof byte[]) return compressor.compressIfRequired(getSystemId(), (byte[]) msg);
+    if (msg instanceof ByteBuf) return compressor.compressIfRequired(getSystemId(), (ByteBuf) msg);
+
+    return msg;
+  }
+
   /**
    * Gets the key set in {@link #channelActive(ChannelHandlerContext)} from
    * {@link SystemId#next()}.
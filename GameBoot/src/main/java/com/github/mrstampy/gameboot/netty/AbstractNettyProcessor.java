@@ -43,19 +43,25 @@ package com.github.mrstampy.gameboot.netty;
 
 import java.lang.invoke.MethodHandles;
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.PostConstruct;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
 import com.github.mrstampy.gameboot.concurrent.GameBootConcurrentConfiguration;
 import com.github.mrstampy.gameboot.controller.GameBootMessageController;
 import com.github.mrstampy.gameboot.exception.GameBootThrowable;
 import com.github.mrstampy.gameboot.messages.AbstractGameBootMessage;
 import com.github.mrstampy.gameboot.messages.AbstractGameBootMessage.Transport;
-import com.github.mrstampy.gameboot.messages.GameBootMessageConverter;
+import com.github.mrstampy.gameboot.messages.BatchMessage;
 import com.github.mrstampy.gameboot.messages.Response;
 import com.github.mrstampy.gameboot.messages.Response.ResponseCode;
 import com.github.mrstampy.gameboot.messages.context.ResponseContext;
@@ -67,9 +73,13 @@ import com.github.mrstampy.gameboot.systemid.SystemIdKey;
 import com.github.mrstampy.gameboot.util.registry.AbstractRegistryKey;
 import com.github.mrstampy.gameboot.util.registry.RegistryCleaner;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.util.ReferenceCountUtil;
 import io.netty.util.concurrent.Future;
 
 /**
@@ -97,7 +107,15 @@ public abstract class AbstractNettyProcessor extends AbstractConnectionProcessor
   private RegistryCleaner cleaner;
 
   @Autowired
-  private GameBootMessageConverter converter;
+  private ChannelFlusher flusher;
+
+  @Value("${netty.bytebuf.send}")
+  private boolean byteBufSend;
+
+  @Value("${netty.batch.window.millis}")
+  private long batchWindow;
+
+  private List<Response> batch = new ArrayList<>();
 
   private SystemIdKey systemId;
 
@@ -165,12 +183,42 @@ public abstract class AbstractNettyProcessor extends AbstractConnectionProcessor
       onMessageImpl(ctx, (String) msg);
     } else if (msg instanceof byte[]) {
       onMessageImpl(ctx, (byte[]) msg);
+    } else if (msg instanceof ByteBuf) {
+      onMessageImpl(ctx, (ByteBuf) msg);
     } else {
-      log.error("Only strings or byte arrays: {} from {}. Disconnecting", msg.getClass(), ctx.channel());
+      log.error("Only strings, byte arrays or byte bufs: {} from {}. Disconnecting", msg.getClass(), ctx.channel());
+      ReferenceCountUtil.release(msg);
       ctx.close();
     }
   }
 
+  /**
+   * On message impl, ownership of the buffer is passed to this method which
+   * must ensure it is released once processed. The default implementation
+   * copies the readable bytes, releases the buffer and invokes
+   * {@link #onMessageImpl(ChannelHandlerContext, byte[])}; override to process
+   * the buffer without copying using
+   * {@link #process(ChannelHandlerContext, ByteBuf)}.
+   *
+   * @param ctx
+   *          the ctx
+   * @param msg
+   *          the msg
+   * @throws Exception
+   *           the exception
+   */
+  protected void onMessageImpl(ChannelHandlerContext ctx, ByteBuf msg) throws Exception {
+    byte[] b;
+    try {
+      b = new byte[msg.readableBytes()];
+      msg.readBytes(b);
+    } finally {
+      msg.release();
+    }
+
+    onMessageImpl(ctx, b);
+  }
+
   /**
    * On message impl, implement processing the message using one of the
    * executors in {@link GameBootConcurrentConfiguration} invoking
@@ -210,7 +258,7 @@ public abstract class AbstractNettyProcessor extends AbstractConnectionProcessor
     Response r = fail(ctx, null, e);
 
     try {
-      sendMessage(ctx, converter.toJsonArray(r), r);
+      sendResponse(ctx, r);
     } catch (Exception e1) {
       log.error("Unexpected exception", e1);
     }
@@ -226,7 +274,7 @@ public abstract class AbstractNettyProcessor extends AbstractConnectionProcessor
     Response r = fail(rc, null, message);
 
     try {
-      sendMessage(ctx, converter.toJsonArray(r), r);
+      sendResponse(ctx, r);
     } catch (Exception e) {
       log.error("Unexpected exception", e);
     }
@@ -235,41 +283,79 @@ public abstract class AbstractNettyProcessor extends AbstractConnectionProcessor
   /*
    * (non-Javadoc)
    * 
-   * @see
-   * com.github.mrstampy.gameboot.netty.ConnectionProcessor#process(io.netty.
-   * channel.ChannelHandlerContext, java.lang.String)
+   * @see com.github.mrstampy.gameboot.processor.connection.
+   * AbstractConnectionProcessor#processAsync(java.lang.Object, java.lang.String)
    */
   @Override
-  public <AGBM extends AbstractGameBootMessage> Response process(ChannelHandlerContext ctx, String msg)
-      throws Exception {
+  public <AGBM extends AbstractGameBootMessage> CompletionStage<Response> processAsync(ChannelHandlerContext ctx,
+      String msg) throws Exception {
     setMDC(ctx);
     helper.incr(MESSAGE_COUNTER);
 
-    Response response = super.process(ctx, msg);
-
-    if (response != null && ResponseCode.FAILURE == response.getResponseCode()) helper.incr(FAILED_MESSAGE_COUNTER);
-
-    return response;
+    return super.processAsync(ctx, msg);
   }
 
   /*
    * (non-Javadoc)
    * 
-   * @see
-   * com.github.mrstampy.gameboot.netty.ConnectionProcessor#process(io.netty.
-   * channel.ChannelHandlerContext, byte[])
+   * @see com.github.mrstampy.gameboot.processor.connection.
+   * AbstractConnectionProcessor#processAsync(java.lang.Object, byte[])
    */
   @Override
-  public <AGBM extends AbstractGameBootMessage> Response process(ChannelHandlerContext ctx, byte[] msg)
-      throws Exception {
+  public <AGBM extends AbstractGameBootMessage> CompletionStage<Response> processAsync(ChannelHandlerContext ctx,
+      byte[] msg) throws Exception {
     setMDC(ctx);
     helper.incr(MESSAGE_COUNTER);
 
-    Response response = super.process(ctx, msg);
+    return super.processAsync(ctx, msg);
+  }
+
+  /**
+   * Processes the readable bytes of the buffer, parsing directly from it. The
+   * buffer is not released; the caller retains ownership. Blocks as described
+   * by {@link #await(java.util.concurrent.CompletionStage)}, use
+   * {@link #processAsync(ChannelHandlerContext, ByteBuf)} on event loop
+   * threads.
+   *
+   * @param <AGBM>
+   *          the generic type
+   * @param ctx
+   *          the ctx
+   * @param msg
+   *          the msg
+   * @return the response
+   * @throws Exception
+   *           the exception
+   */
+  public <AGBM extends AbstractGameBootMessage> Response process(ChannelHandlerContext ctx, ByteBuf msg)
+      throws Exception {
+    return await(processAsync(ctx, msg));
+  }
+
+  /**
+   * Processes the readable bytes of the buffer, parsing directly from it. The
+   * buffer is read before returning and is not released; the caller retains
+   * ownership. The returned stage completes once the response, if any, has
+   * been sent.
+   *
+   * @param <AGBM>
+   *          the generic type
+   * @param ctx
+   *          the ctx
+   * @param msg
+   *          the msg
+   * @return the completion stage of the response
+   * @throws Exception
+   *           the exception
+   */
+  public <AGBM extends AbstractGameBootMessage> CompletionStage<Response> processAsync(ChannelHandlerContext ctx,
+      ByteBuf msg) throws Exception {
+    if (msg == null || !msg.isReadable()) return CompletableFuture.completedFuture(null);
 
-    if (response != null && ResponseCode.FAILURE == response.getResponseCode()) helper.incr(FAILED_MESSAGE_COUNTER);
+    setMDC(ctx);
+    helper.incr(MESSAGE_COUNTER);
 
-    return response;
+    return super.processAsync(ctx, new ByteBufInputStream(msg));
   }
 
   /*
@@ -283,18 +369,139 @@ public abstract class AbstractNettyProcessor extends AbstractConnectionProcessor
   @Override
   public <AGBM extends AbstractGameBootMessage> Response process(ChannelHandlerContext ctx,
       GameBootMessageController controller, AGBM agbm) throws Exception {
+    prepare(ctx, agbm);
+
+    return complete(ctx, agbm, controller.process(agbm));
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see
+   * com.github.mrstampy.gameboot.netty.ConnectionProcessor#processAsync(io.
+   * netty.channel.ChannelHandlerContext,
+   * com.github.mrstampy.gameboot.controller.GameBootMessageController, AGBM)
+   */
+  @Override
+  public <AGBM extends AbstractGameBootMessage> CompletionStage<Response> processAsync(ChannelHandlerContext ctx,
+      GameBootMessageController controller, AGBM agbm) throws Exception {
+    prepare(ctx, agbm);
+
+    return controller.processAsync(agbm).thenApply(r -> complete(ctx, agbm, r));
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see com.github.mrstampy.gameboot.processor.connection.
+   * AbstractConnectionProcessor#onResponse(java.lang.Object,
+   * com.github.mrstampy.gameboot.messages.Response)
+   */
+  @Override
+  protected void onResponse(ChannelHandlerContext ctx, Response r) {
+    if (ResponseCode.FAILURE == r.getResponseCode()) helper.incr(FAILED_MESSAGE_COUNTER);
+  }
+
+  private <AGBM extends AbstractGameBootMessage> void prepare(ChannelHandlerContext ctx, AGBM agbm) {
     agbm.setSystemId(getSystemId());
     agbm.setTransport(Transport.NETTY);
     agbm.setLocal((InetSocketAddress) ctx.channel().localAddress());
     agbm.setRemote((InetSocketAddress) ctx.channel().remoteAddress());
+  }
+
+  private <AGBM extends AbstractGameBootMessage> Response complete(ChannelHandlerContext ctx, AGBM agbm, Response r) {
+    if (r == null) return null;
 
-    Response r = controller.process(agbm);
     processMappingKeys(r, ctx.channel());
     r.setSystemId(agbm.getSystemId());
 
     return r;
   }
 
+  /**
+   * If the property 'netty.batch.window.millis' is greater than zero responses
+   * are queued and those queued within the window sent in one frame, as the
+   * payload of a {@link Response} of type {@link BatchMessage#TYPE}. A lone
+   * queued response is sent as is.
+   *
+   * @param ctx
+   *          the ctx
+   * @param r
+   *          the r
+   * @throws Exception
+   *           the exception
+   */
+  @Override
+  protected void sendResponse(ChannelHandlerContext ctx, Response r) throws Exception {
+    if (batchWindow <= 0) {
+      writeResponse(ctx, r);
+      return;
+    }
+
+    boolean first;
+    synchronized (batch) {
+      first = batch.isEmpty();
+      batch.add(r);
+    }
+
+    if (first) ctx.executor().schedule(() -> flushBatch(ctx), batchWindow, TimeUnit.MILLISECONDS);
+  }
+
+  private void flushBatch(ChannelHandlerContext ctx) {
+    Response[] responses;
+    synchronized (batch) {
+      responses = batch.toArray(new Response[batch.size()]);
+      batch.clear();
+    }
+
+    Response r = responses.length == 1 ? responses[0] : new Response(ResponseCode.SUCCESS, (Object[]) responses);
+    if (responses.length > 1) r.setType(BatchMessage.TYPE);
+
+    try {
+      writeResponse(ctx, r);
+    } catch (Exception e) {
+      log.error("Could not send {} batched responses to {}", responses.length, ctx.channel(), e);
+    }
+  }
+
+  /**
+   * If the property 'netty.bytebuf.send' is true the response is serialized
+   * directly into a pooled {@link ByteBuf} obtained from the channel's
+   * allocator, else as a byte array.
+   *
+   * @param ctx
+   *          the ctx
+   * @param r
+   *          the r
+   * @throws Exception
+   *           the exception
+   */
+  protected void writeResponse(ChannelHandlerContext ctx, Response r) throws Exception {
+    if (!byteBufSend) {
+      super.sendResponse(ctx, r);
+      return;
+    }
+
+    ByteBuf buf = ctx.alloc().ioBuffer();
+    try (ByteBufOutputStream out = new ByteBufOutputStream(buf)) {
+      toJsonStream(ctx, r, out);
+    } catch (Exception e) {
+      buf.release();
+      throw e;
+    }
+
+    sendMessage(ctx, buf, r);
+  }
+
+  /**
+   * Checks if responses are serialized directly into {@link ByteBuf}s.
+   *
+   * @return true, if is byte buf send
+   */
+  public boolean isByteBufSend() {
+    return byteBufSend;
+  }
+
   /*
    * (non-Javadoc)
    * 
@@ -311,7 +518,7 @@ public abstract class AbstractNettyProcessor extends AbstractConnectionProcessor
   }
 
   /**
-   * Send message.
+   * Send message, flushed by the {@link ChannelFlusher}.
    *
    * @param ctx
    *          the ctx
@@ -320,7 +527,7 @@ public abstract class AbstractNettyProcessor extends AbstractConnectionProcessor
    * @return the channel future
    */
   public ChannelFuture sendMessage(ChannelHandlerContext ctx, Object msg) {
-    return ctx.channel().writeAndFlush(msg);
+    return flusher.write(ctx.channel(), msg);
   }
 
   private void processMappingKeys(Response r, Channel channel) {
@@ -0,0 +1,255 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.netty;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.mrstampy.gameboot.metrics.MetricsHelper;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.EventLoop;
+import io.netty.channel.group.ChannelGroup;
+import io.netty.channel.group.ChannelGroupFuture;
+import io.netty.channel.group.ChannelMatcher;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
+
+/**
+ * The Class ChannelFlusher writes messages to {@link Channel}s deferring the
+ * flush when the property 'netty.flush.consolidation' is true. Writes made to a
+ * channel within one turn of its event loop (or within
+ * 'netty.flush.delay.micros', if greater than zero) are flushed together, the
+ * flush being forced once 'netty.flush.max.writes' writes are pending. Group
+ * writes write to every matching channel, each channel being flushed once for
+ * all writes in the turn of its event loop.<br>
+ * <br>
+ * 
+ * When false every write is flushed immediately. The writes, flushes and
+ * writes per flush gauges are maintained for consolidated flushes only.
+ */
+@Component
+public class ChannelFlusher {
+
+  private static final AttributeKey<Pending> PENDING = AttributeKey.valueOf("GameBoot Pending Flush");
+
+  private static final String WRITES = "Netty Flusher Writes";
+
+  private static final String FLUSHES = "Netty Flusher Flushes";
+
+  private static final String WRITES_PER_FLUSH = "Netty Flusher Writes Per Flush";
+
+  @Autowired
+  private MetricsHelper helper;
+
+  @Value("${netty.flush.consolidation}")
+  private boolean consolidation;
+
+  @Value("${netty.flush.max.writes}")
+  private int maxWrites;
+
+  @Value("${netty.flush.delay.micros}")
+  private long delayMicros;
+
+  private LongAdder writes = new LongAdder();
+
+  private LongAdder flushes = new LongAdder();
+
+  /**
+   * Post construct.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @PostConstruct
+  public void postConstruct() throws Exception {
+    if (consolidation && maxWrites < 1) throw new IllegalStateException("netty.flush.max.writes must be > 0");
+
+    helper.gauge(() -> writes.sum(), WRITES, getClass(), "writes");
+    helper.gauge(() -> flushes.sum(), FLUSHES, getClass(), "flushes");
+    helper.gauge(() -> writesPerFlush(), WRITES_PER_FLUSH, getClass(), "writes", "per", "flush");
+  }
+
+  /**
+   * Writes the message to the channel, flushing according to configuration.
+   *
+   * @param channel
+   *          the channel
+   * @param msg
+   *          the msg
+   * @return the channel future
+   */
+  public ChannelFuture write(Channel channel, Object msg) {
+    if (!consolidation) return channel.writeAndFlush(msg);
+
+    ChannelPromise promise = channel.newPromise();
+
+    EventLoop loop = channel.eventLoop();
+    if (loop.inEventLoop()) {
+      writeImpl(channel, msg, promise);
+    } else {
+      loop.execute(() -> writeImpl(channel, msg, promise));
+    }
+
+    return promise;
+  }
+
+  /**
+   * Writes the message to the matching channels of the group, flushing
+   * according to configuration. A {@link io.netty.buffer.ByteBuf} message is
+   * shared by each channel as a duplicate; handlers which transform the bytes
+   * must write the result to a new buffer.
+   *
+   * @param group
+   *          the group
+   * @param msg
+   *          the msg
+   * @param matcher
+   *          the matcher
+   * @return the channel group future
+   */
+  public ChannelGroupFuture write(ChannelGroup group, Object msg, ChannelMatcher matcher) {
+    if (!consolidation) return group.writeAndFlush(msg, matcher);
+
+    ChannelGroupFuture cf = group.write(msg, matcher);
+
+    for (Channel channel : group) {
+      if (!matcher.matches(channel)) continue;
+
+      EventLoop loop = channel.eventLoop();
+      if (loop.inEventLoop()) {
+        written(channel);
+      } else {
+        loop.execute(() -> written(channel));
+      }
+    }
+
+    return cf;
+  }
+
+  /**
+   * Checks if flushes are consolidated.
+   *
+   * @return true, if is consolidation
+   */
+  public boolean isConsolidation() {
+    return consolidation;
+  }
+
+  private void writeImpl(Channel channel, Object msg, ChannelPromise promise) {
+    channel.write(msg, promise);
+    written(channel);
+  }
+
+  private void written(Channel channel) {
+    Pending pending = pending(channel);
+
+    pending.writes++;
+    if (pending.writes >= maxWrites) {
+      flush(channel, pending);
+      return;
+    }
+
+    if (pending.scheduled) return;
+
+    pending.scheduled = true;
+
+    Runnable r = () -> {
+      pending.scheduled = false;
+      flush(channel, pending);
+    };
+
+    if (delayMicros > 0) {
+      channel.eventLoop().schedule(r, delayMicros, TimeUnit.MICROSECONDS);
+    } else {
+      channel.eventLoop().execute(r);
+    }
+  }
+
+  private void flush(Channel channel, Pending pending) {
+    if (pending.writes == 0) return;
+
+    count(pending.writes);
+    pending.writes = 0;
+
+    channel.flush();
+  }
+
+  private Pending pending(Channel channel) {
+    Attribute<Pending> attr = channel.attr(PENDING);
+
+    Pending pending = attr.get();
+    if (pending == null) {
+      pending = new Pending();
+      attr.set(pending);
+    }
+
+    return pending;
+  }
+
+  private void count(int written) {
+    writes.add(written);
+    flushes.increment();
+  }
+
+  private double writesPerFlush() {
+    long f = flushes.sum();
+
+    return f == 0 ? 0 : (double) writes.sum() / f;
+  }
+
+  /**
+   * Accessed only from the channel's event loop.
+   */
+  private static class Pending {
+    int writes;
+    boolean scheduled;
+  }
+}
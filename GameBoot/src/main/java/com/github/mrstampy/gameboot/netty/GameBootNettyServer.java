@@ -0,0 +1,226 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.netty;
+
+import java.lang.invoke.MethodHandles;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.EpollChannelOption;
+
+/**
+ * The Class GameBootNettyServer binds a {@link ServerBootstrap} to the
+ * specified port on construction and closes it on destruction. It is tuned by
+ * the 'netty.server.*' properties:<br>
+ * <br>
+ * 
+ * <ul>
+ * <li>the native epoll transport is used when available, otherwise NIO</li>
+ * <li>the pooled (direct preferred) ByteBuf allocator is used for all
+ * channels</li>
+ * <li>with epoll and 'netty.server.acceptors' &gt; 1 the port is bound that
+ * many times with SO_REUSEPORT, the kernel distributing incoming connections
+ * over the acceptors</li>
+ * </ul>
+ * 
+ * @see NettyTransport
+ * @see AbstractFramedChannelInitializer
+ */
+public class GameBootNettyServer {
+  private static final Logger log = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+  @Value("${netty.server.native}")
+  private boolean preferNative;
+
+  @Value("${netty.server.boss.threads}")
+  private int bossThreads;
+
+  @Value("${netty.server.worker.threads}")
+  private int workerThreads;
+
+  @Value("${netty.server.acceptors}")
+  private int acceptors;
+
+  @Value("${netty.server.so.backlog}")
+  private int backlog;
+
+  @Value("${netty.server.tcp.nodelay}")
+  private boolean tcpNoDelay;
+
+  @Value("${netty.server.so.keepalive}")
+  private boolean keepAlive;
+
+  private final String name;
+
+  private final int port;
+
+  private final ChannelInitializer<Channel> initializer;
+
+  private EventLoopGroup bossGroup;
+
+  private EventLoopGroup workerGroup;
+
+  private List<Channel> channels = new ArrayList<>();
+
+  /**
+   * The Constructor.
+   *
+   * @param name
+   *          the name, used for the thread names
+   * @param port
+   *          the port
+   * @param initializer
+   *          the initializer
+   */
+  public GameBootNettyServer(String name, int port, ChannelInitializer<Channel> initializer) {
+    this.name = name;
+    this.port = port;
+    this.initializer = initializer;
+  }
+
+  /**
+   * Binds the server.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @PostConstruct
+  public void start() throws Exception {
+    if (acceptors < 1) throw new IllegalStateException("netty.server.acceptors must be > 0");
+
+    NettyTransport transport = new NettyTransport(preferNative);
+
+    int binds = transport.isEpoll() ? acceptors : 1;
+    if (binds < acceptors) log.warn("SO_REUSEPORT requires epoll, binding {} once", name);
+
+    bossGroup = transport.eventLoopGroup(Math.max(bossThreads, binds), name + "-boss");
+    workerGroup = transport.eventLoopGroup(workerThreads, name + "-worker");
+
+    //@formatter:off
+    ServerBootstrap bootstrap = new ServerBootstrap()
+        .group(bossGroup, workerGroup)
+        .channel(transport.serverChannel())
+        .option(ChannelOption.SO_BACKLOG, backlog)
+        .option(ChannelOption.SO_REUSEADDR, true)
+        .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+        .childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+        .childOption(ChannelOption.TCP_NODELAY, tcpNoDelay)
+        .childOption(ChannelOption.SO_KEEPALIVE, keepAlive)
+        .childHandler(initializer);
+    //@formatter:on
+
+    if (binds > 1) bootstrap.option(EpollChannelOption.SO_REUSEPORT, true);
+
+    try {
+      for (int i = 0; i < binds; i++) {
+        channels.add(bootstrap.bind(port).sync().channel());
+      }
+    } catch (Exception e) {
+      stop();
+      throw e;
+    }
+
+    log.info("{} listening on port {} ({}, {} acceptor(s))", name, port, transport.isEpoll() ? "epoll" : "nio", binds);
+  }
+
+  /**
+   * Closes the server.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @PreDestroy
+  public void stop() throws Exception {
+    channels.forEach(c -> c.close().awaitUninterruptibly());
+    channels.clear();
+
+    if (bossGroup != null) bossGroup.shutdownGracefully();
+    if (workerGroup != null) workerGroup.shutdownGracefully();
+
+    log.info("{} on port {} stopped", name, port);
+  }
+
+  /**
+   * Gets the name.
+   *
+   * @return the name
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Gets the port.
+   *
+   * @return the port
+   */
+  public int getPort() {
+    return port;
+  }
+
+  /**
+   * Gets the port bound, differing from {@link #getPort()} when configured
+   * with port 0 (ephemeral).
+   *
+   * @return the local port, -1 if not bound
+   */
+  public int getLocalPort() {
+    if (channels.isEmpty()) return -1;
+
+    return ((InetSocketAddress) channels.get(0).localAddress()).getPort();
+  }
+
+}
@@ -78,6 +78,7 @@ import io.netty.util.concurrent.ImmediateEventExecutor;
  * groups.
  * 
  * @see AbstractNettyMessageHandler
+ * @see ChannelFlusher
  */
 @Component
 public class NettyConnectionRegistry extends GameBootRegistry<Channel> {
@@ -99,6 +100,9 @@ public class NettyConnectionRegistry extends GameBootRegistry<Channel> {
   @Autowired
   private GameBootUtils utils;
 
+  @Autowired
+  private ChannelFlusher flusher;
+
   private Map<String, ChannelGroup> groups = new ConcurrentHashMap<>();
 
   /**
@@ -352,7 +356,7 @@ public class NettyConnectionRegistry extends GameBootRegistry<Channel> {
     ChannelGroup group = groups.get(groupName);
 
     ChannelFutureListener[] all = utils.prependArray(f -> log((ChannelGroupFuture) f, groupName), listeners);
-    ChannelGroupFuture cf = group.writeAndFlush(message);
+    ChannelGroupFuture cf = flusher.write(group, message, NOOP_MATCHER);
     cf.addListeners(all);
   }
 
@@ -376,7 +380,7 @@ public class NettyConnectionRegistry extends GameBootRegistry<Channel> {
     ChannelGroup group = groups.get(groupName);
 
     ChannelFutureListener[] all = utils.prependArray(f -> log((ChannelGroupFuture) f, groupName), listeners);
-    ChannelGroupFuture cf = group.writeAndFlush(message);
+    ChannelGroupFuture cf = flusher.write(group, message, NOOP_MATCHER);
     cf.addListeners(all);
   }
 
@@ -403,7 +407,7 @@ public class NettyConnectionRegistry extends GameBootRegistry<Channel> {
     ChannelGroup group = groups.get(groupName);
 
     ChannelFutureListener[] all = utils.prependArray(f -> log((ChannelGroupFuture) f, groupName), listeners);
-    ChannelGroupFuture cf = group.writeAndFlush(message, matcher);
+    ChannelGroupFuture cf = flusher.write(group, message, matcher);
     cf.addListeners(all);
   }
 
@@ -432,7 +436,7 @@ public class NettyConnectionRegistry extends GameBootRegistry<Channel> {
     ChannelGroup group = groups.get(groupName);
 
     ChannelFutureListener[] all = utils.prependArray(f -> log((ChannelGroupFuture) f, groupName), listeners);
-    ChannelGroupFuture cf = group.writeAndFlush(message, matcher);
+    ChannelGroupFuture cf = flusher.write(group, message, matcher);
     cf.addListeners(all);
   }
 
@@ -497,7 +501,7 @@ public class NettyConnectionRegistry extends GameBootRegistry<Channel> {
     }
 
     ChannelFutureListener[] all = utils.prependArray(f -> log((ChannelFuture) f, key), listeners);
-    ChannelFuture f = channel.writeAndFlush(message);
+    ChannelFuture f = flusher.write(channel, message);
     f.addListeners(all);
   }
 
@@ -508,7 +512,7 @@ public class NettyConnectionRegistry extends GameBootRegistry<Channel> {
     }
 
     ChannelFutureListener[] all = utils.prependArray(f -> log((ChannelFuture) f, key), listeners);
-    ChannelFuture f = channel.writeAndFlush(message);
+    ChannelFuture f = flusher.write(channel, message);
     f.addListeners(all);
   }
 
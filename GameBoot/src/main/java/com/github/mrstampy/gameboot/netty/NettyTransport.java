@@ -0,0 +1,124 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.netty;
+
+import java.lang.invoke.MethodHandles;
+import java.util.concurrent.ThreadFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.util.concurrent.DefaultThreadFactory;
+
+/**
+ * The Class NettyTransport selects the native epoll transport when requested
+ * and available (Linux with the native library on the classpath), falling back
+ * to NIO.
+ */
+public class NettyTransport {
+  private static final Logger log = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+  private final boolean epoll;
+
+  /**
+   * The Constructor.
+   *
+   * @param preferNative
+   *          use epoll if available
+   */
+  public NettyTransport(boolean preferNative) {
+    this.epoll = preferNative && isEpollAvailable();
+  }
+
+  private static boolean isEpollAvailable() {
+    try {
+      if (Epoll.isAvailable()) return true;
+
+      log.info("Native epoll transport unavailable, using NIO: {}", Epoll.unavailabilityCause().getMessage());
+    } catch (Throwable t) {
+      log.info("Native epoll transport unavailable, using NIO: {}", t.getMessage());
+    }
+
+    return false;
+  }
+
+  /**
+   * Checks if is epoll.
+   *
+   * @return true, if is epoll
+   */
+  public boolean isEpoll() {
+    return epoll;
+  }
+
+  /**
+   * Creates a new event loop group.
+   *
+   * @param threads
+   *          the number of threads, 0 for Netty's default
+   * @param name
+   *          the thread name prefix
+   * @return the event loop group
+   */
+  public EventLoopGroup eventLoopGroup(int threads, String name) {
+    ThreadFactory factory = new DefaultThreadFactory(name);
+
+    return epoll ? new EpollEventLoopGroup(threads, factory) : new NioEventLoopGroup(threads, factory);
+  }
+
+  /**
+   * Returns the server channel class.
+   *
+   * @return the class<? extends server channel>
+   */
+  public Class<? extends ServerChannel> serverChannel() {
+    return epoll ? EpollServerSocketChannel.class : NioServerSocketChannel.class;
+  }
+
+}
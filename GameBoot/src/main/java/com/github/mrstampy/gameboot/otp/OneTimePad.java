@@ -41,6 +41,7 @@
  */
 package com.github.mrstampy.gameboot.otp;
 
+import java.nio.ByteBuffer;
 import java.security.SecureRandom;
 import java.util.Optional;
 
@@ -55,6 +56,8 @@ import com.codahale.metrics.Timer.Context;
 import com.github.mrstampy.gameboot.metrics.MetricsHelper;
 import com.github.mrstampy.gameboot.security.SecurityConfiguration;
 
+import io.netty.buffer.ByteBuf;
+
 /**
  * The Class OneTimePad is an implementation of the
  * <a href="https://en.wikipedia.org/wiki/One-time_pad">One Time Pad</a>
@@ -150,6 +153,87 @@ public class OneTimePad {
     }
   }
 
+  /**
+   * Will encode the readable bytes of the buffer if decoded, decode them if
+   * encoded. The conversion is made in place, the buffer's indexes are
+   * unchanged. The buffer must not share its memory with any other buffer
+   * still in use (ie. a duplicate or slice).
+   *
+   * @param key
+   *          the key
+   * @param message
+   *          the message buffer
+   * @return the converted buffer
+   * @throws Exception
+   *           the exception
+   */
+  public ByteBuf convert(byte[] key, ByteBuf message) throws Exception {
+    Optional<Context> ctx = helper.startTimer(OTP_CONVERSION);
+    try {
+      check(key, message);
+
+      int start = message.readerIndex();
+      int length = message.readableBytes();
+
+      if (message.hasArray()) {
+        byte[] array = message.array();
+        int offset = message.arrayOffset() + start;
+
+        for (int i = 0; i < length; i++) {
+          array[offset + i] ^= key[i];
+        }
+      } else {
+        for (int i = 0; i < length; i++) {
+          message.setByte(start + i, message.getByte(start + i) ^ key[i]);
+        }
+      }
+
+      return message;
+    } finally {
+      helper.stopTimer(ctx);
+    }
+  }
+
+  /**
+   * Will encode the remaining bytes of the buffer if decoded, decode them if
+   * encoded. The conversion is made in place, the buffer's position and limit
+   * are unchanged. The buffer must not be read only.
+   *
+   * @param key
+   *          the key
+   * @param message
+   *          the message buffer
+   * @return the converted buffer
+   * @throws Exception
+   *           the exception
+   */
+  public ByteBuffer convert(byte[] key, ByteBuffer message) throws Exception {
+    Optional<Context> ctx = helper.startTimer(OTP_CONVERSION);
+    try {
+      check(key, message);
+
+      int start = message.position();
+      int length = message.remaining();
+
+      if (message.hasArray()) {
+        byte[] array = message.array();
+        int offset = message.arrayOffset() + start;
+
+        for (int i = 0; i < length; i++) {
+          array[offset + i] ^= key[i];
+        }
+      } else {
+        for (int i = 0; i < length; i++) {
+          message.put(start + i, (byte) (message.get(start + i) ^ key[i]));
+        }
+      }
+
+      return message;
+    } finally {
+      helper.stopTimer(ctx);
+    }
+  }
+
   private void check(int size) {
     if (size <= 0) fail("Size must be > 0");
   }
@@ -161,6 +245,21 @@ public class OneTimePad {
     lengthCheck(key, message);
   }
 
+  private void check(byte[] key, ByteBuf message) {
+    keyCheck(key);
+    if (message == null || !message.isReadable()) fail("No message");
+
+    if (key.length < message.readableBytes()) fail("Key length too short for message");
+  }
+
+  private void check(byte[] key, ByteBuffer message) {
+    keyCheck(key);
+    if (message == null || !message.hasRemaining()) fail("No message");
+    if (message.isReadOnly()) fail("Message is read only");
+
+    if (key.length < message.remaining()) fail("Key length too short for message");
+  }
+
   private void lengthCheck(byte[] key, byte[] message) {
     if (key.length < message.length) fail("Key length too short for message");
   }
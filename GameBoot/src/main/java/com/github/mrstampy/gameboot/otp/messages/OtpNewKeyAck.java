@@ -41,9 +41,15 @@
  */
 package com.github.mrstampy.gameboot.otp.messages;
 
+import com.github.mrstampy.gameboot.concurrent.DispatchLane;
+import com.github.mrstampy.gameboot.concurrent.Lane;
+import com.github.mrstampy.gameboot.messages.finder.MessageType;
+
 /**
  * The Class OtpNewKeyAck.
  */
+@MessageType(OtpNewKeyAck.TYPE)
+@DispatchLane(Lane.CONTROL)
 public class OtpNewKeyAck extends OtpMessage {
 
   /** The Constant TYPE. */
@@ -0,0 +1,83 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.otp.netty;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.github.mrstampy.gameboot.netty.AbstractFramedChannelInitializer;
+import com.github.mrstampy.gameboot.util.GameBootUtils;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelPipeline;
+
+/**
+ * The Class OtpClearChannelInitializer frames the connection and adds a new
+ * {@link OtpClearNettyHandler}. Inbound frames are processed as
+ * {@link io.netty.buffer.ByteBuf}s without copying.
+ */
+public class OtpClearChannelInitializer extends AbstractFramedChannelInitializer {
+
+  @Autowired
+  private GameBootUtils utils;
+
+  /**
+   * The Constructor.
+   *
+   * @param maxFrameLength
+   *          the max frame length
+   */
+  public OtpClearChannelInitializer(int maxFrameLength) {
+    super(maxFrameLength);
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see com.github.mrstampy.gameboot.netty.AbstractFramedChannelInitializer#
+   * initHandlers(io.netty.channel.Channel, io.netty.channel.ChannelPipeline)
+   */
+  @Override
+  protected void initHandlers(Channel ch, ChannelPipeline pipeline) throws Exception {
+    pipeline.addLast(utils.getBean(OtpClearNettyHandler.class));
+  }
+
+}
@@ -57,16 +57,19 @@ import com.github.mrstampy.gameboot.otp.messages.OtpKeyRequest.KeyFunction;
 import com.github.mrstampy.gameboot.otp.messages.OtpNewKeyAck;
 import com.github.mrstampy.gameboot.util.GameBootUtils;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.ChannelPromise;
+import io.netty.util.ReferenceCountUtil;
 
 /**
  * The Class OtpClearNettyHandler is intended to provide a transparent means of
  * using the {@link OneTimePad} utility to encrypt outgoing and decrypt incoming
  * messages on unencrypted Netty connections. It is intended that this is a
- * last-in-pipeline handler and the message is a byte array. Inbound messages
- * are later converted to strings, all outbound messages are byte arrays.<br>
+ * last-in-pipeline handler and the message is a byte array or a {@link ByteBuf}
+ * (decrypted in place). Inbound messages are later converted to strings,
+ * outbound messages are byte arrays or {@link ByteBuf}s.<br>
  * <br>
  * 
  * By default messages are unencrypted. An INFO message is sent to the client
@@ -135,7 +138,7 @@ public class OtpClearNettyHandler extends AbstractNettyMessageHandler<ChannelHan
   }
 
   /**
-   * Write.
+   * Compresses if required and encrypts the message when encrypting.
    *
    * @param ctx
    *          the ctx
@@ -148,13 +151,29 @@ public class OtpClearNettyHandler extends AbstractNettyMessageHandler<ChannelHan
    */
   @Override
   public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
-    byte[] processed = getConnectionProcessor().encryptIfRequired(msg);
+    Object compressed = compressIfRequired(msg);
+
+    if (compressed instanceof ByteBuf) {
+      write(ctx, (ByteBuf) compressed, promise);
+      return;
+    }
+
+    byte[] processed = getConnectionProcessor().encryptIfRequired(compressed);
 
     if (processed == null) return;
 
     ctx.write(processed, promise);
   }
 
+  private void write(ChannelHandlerContext ctx, ByteBuf msg, ChannelPromise promise) {
+    try {
+      ctx.write(getConnectionProcessor().encryptIfRequired(ctx.alloc(), msg), promise);
+    } catch (Exception e) {
+      ReferenceCountUtil.release(msg);
+      promise.setFailure(e);
+    }
+  }
+
   /*
    * (non-Javadoc)
    * 
@@ -44,7 +44,6 @@ package com.github.mrstampy.gameboot.otp.netty;
 import java.lang.invoke.MethodHandles;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicReference;
 
 import javax.annotation.PostConstruct;
@@ -52,13 +51,16 @@ import javax.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Profile;
 
-import com.github.mrstampy.gameboot.concurrent.GameBootConcurrentConfiguration;
+import com.github.mrstampy.gameboot.codec.processor.CodecRegistry;
+import com.github.mrstampy.gameboot.concurrent.Lane;
+import com.github.mrstampy.gameboot.concurrent.MessageLanes;
+import com.github.mrstampy.gameboot.concurrent.SystemIdExecutor;
 import com.github.mrstampy.gameboot.exception.GameBootException;
 import com.github.mrstampy.gameboot.exception.GameBootRuntimeException;
 import com.github.mrstampy.gameboot.messages.AbstractGameBootMessage;
+import com.github.mrstampy.gameboot.messages.AbstractGameBootMessage.Transport;
 import com.github.mrstampy.gameboot.messages.GameBootMessageConverter;
 import com.github.mrstampy.gameboot.messages.Response;
 import com.github.mrstampy.gameboot.messages.Response.ResponseCode;
@@ -73,9 +75,12 @@ import com.github.mrstampy.gameboot.otp.messages.OtpKeyRequest.KeyFunction;
 import com.github.mrstampy.gameboot.otp.messages.OtpNewKeyAck;
 import com.github.mrstampy.gameboot.otp.processor.OtpNewKeyRegistry;
 import com.github.mrstampy.gameboot.systemid.SystemIdKey;
-import com.github.mrstampy.gameboot.util.concurrent.MDCRunnable;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufInputStream;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.group.ChannelGroup;
 
 /**
  * The Class OtpClearNettyProcessor.
@@ -96,12 +101,17 @@ public class OtpClearNettyProcessor extends AbstractNettyProcessor {
   @Autowired
   private OneTimePad oneTimePad;
 
+  @Autowired
+  private CodecRegistry codecRegistry;
+
   @Autowired
   private MetricsHelper helper;
 
   @Autowired
-  @Qualifier(GameBootConcurrentConfiguration.GAME_BOOT_EXECUTOR)
-  private ExecutorService svc;
+  private SystemIdExecutor executor;
+
+  @Autowired
+  private MessageLanes lanes;
 
   @Autowired
   private KeyRegistry keyRegistry;
@@ -142,9 +152,11 @@ public class OtpClearNettyProcessor extends AbstractNettyProcessor {
 
     nettyGroupRegistry.put(getSystemId(), ctx.channel());
 
-    Response r = new Response(ResponseCode.INFO, new SystemIdResponse(getSystemId().getValue()));
+    executor.setFlowControl(getSystemId(), paused -> ctx.channel().config().setAutoRead(!paused));
+
+    Response r = new Response(ResponseCode.INFO, new SystemIdResponse(getSystemId().getValue(), codecRegistry.getFormats()));
 
-    sendMessage(ctx, converter.toJsonArray(r), r);
+    sendResponse(ctx, r);
   }
 
   /*
@@ -155,6 +167,11 @@ public class OtpClearNettyProcessor extends AbstractNettyProcessor {
    * netty.channel.ChannelHandlerContext, java.lang.Object)
    */
   public void onMessage(ChannelHandlerContext ctx, Object msg) throws Exception {
+    if (msg instanceof ByteBuf) {
+      onMessage(ctx, (ByteBuf) msg);
+      return;
+    }
+
     if (!(msg instanceof byte[])) {
       sendError(getResponseContext(NOT_BYTE_ARRAY, ctx), ctx, "Message must be a byte array");
       return;
@@ -178,6 +195,50 @@ public class OtpClearNettyProcessor extends AbstractNettyProcessor {
     super.onMessage(ctx, converted);
   }
 
+  private void onMessage(ChannelHandlerContext ctx, ByteBuf msg) throws Exception {
+    try {
+      byte[] key = otpKey.get();
+
+      if (!evaluateForNewKeyAck(ctx, msg) && key != null) {
+        helper.incr(OTP_DECRYPT_COUNTER);
+        oneTimePad.convert(key, msg);
+      }
+    } catch (Exception e) {
+      msg.release();
+      throw e;
+    }
+
+    super.onMessage(ctx, msg);
+  }
+
+  /**
+   * Decrypts the buffer in place with the pending new key should it parse as
+   * an {@link OtpNewKeyAck}, else reverts the conversion.
+   */
+  @SuppressWarnings("unused")
+  private boolean evaluateForNewKeyAck(ChannelHandlerContext ctx, ByteBuf msg) throws Exception {
+    SystemIdKey systemId = getSystemId();
+    if (!newKeyRegistry.contains(systemId)) return false;
+
+    byte[] newKey = newKeyRegistry.get(systemId);
+
+    boolean converted = false;
+    try {
+      oneTimePad.convert(newKey, msg);
+      converted = true;
+
+      OtpNewKeyAck ack = converter.fromJson(new ByteBufInputStream(msg.duplicate()), getCodec(ctx));
+      return true;
+    } catch (Exception e) {
+      String s = keyRegistry.contains(systemId) ? "old key" : "unencrypted";
+      log.warn("Awaiting new key ack, assuming {} for {}, system id {}.", s, ctx.channel(), systemId, e);
+    }
+
+    if (converted) oneTimePad.convert(newKey, msg);
+
+    return false;
+  }
+
   @SuppressWarnings("unused")
   private byte[] evaluateForNewKeyAck(ChannelHandlerContext ctx, byte[] msg) {
     SystemIdKey systemId = getSystemId();
@@ -187,7 +248,7 @@ public class OtpClearNettyProcessor extends AbstractNettyProcessor {
 
     try {
       byte[] converted = oneTimePad.convert(newKey, msg);
-      OtpNewKeyAck ack = converter.fromJson(converted);
+      OtpNewKeyAck ack = converter.fromJson(converted, getCodec(ctx));
       return converted;
     } catch (Exception e) {
       String s = keyRegistry.contains(systemId) ? "old key" : "unencrypted";
@@ -205,20 +266,60 @@ public class OtpClearNettyProcessor extends AbstractNettyProcessor {
    * netty.channel.ChannelHandlerContext, byte[])
    */
   protected void onMessageImpl(ChannelHandlerContext ctx, byte[] msg) throws Exception {
-    svc.execute(new MDCRunnable() {
+    Lane lane = lanes.getLane(msg, getCodec(ctx));
+
+    boolean admitted = executor.executeAsync(getSystemId(), Transport.NETTY, lane, () -> {
+      try {
+        return processAsync(ctx, msg);
+      } catch (GameBootException | GameBootRuntimeException e) {
+        sendError(ctx, e);
+      } catch (Exception e) {
+        log.error("Unexpected exception", e);
+        sendUnexpectedError(ctx);
+      }
+
+      return null;
+    });
 
-      @Override
-      protected void runImpl() {
+    if (!admitted) sendError(getResponseContext(OVERLOAD, ctx), ctx, "Overloaded");
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see
+   * com.github.mrstampy.gameboot.netty.AbstractNettyProcessor#onMessageImpl(io.
+   * netty.channel.ChannelHandlerContext, io.netty.buffer.ByteBuf)
+   */
+  @Override
+  protected void onMessageImpl(ChannelHandlerContext ctx, ByteBuf msg) throws Exception {
+    boolean admitted;
+    try {
+      Lane lane = lanes.getLane(new ByteBufInputStream(msg.duplicate()), getCodec(ctx));
+
+      admitted = executor.executeAsync(getSystemId(), Transport.NETTY, lane, () -> {
         try {
-          process(ctx, msg);
+          return processAsync(ctx, msg);
         } catch (GameBootException | GameBootRuntimeException e) {
           sendError(ctx, e);
         } catch (Exception e) {
           log.error("Unexpected exception", e);
           sendUnexpectedError(ctx);
+        } finally {
+          msg.release();
         }
-      }
-    });
+
+        return null;
+      });
+    } catch (RuntimeException e) {
+      msg.release();
+      throw e;
+    }
+
+    if (admitted) return;
+
+    msg.release();
+    sendError(getResponseContext(OVERLOAD, ctx), ctx, "Overloaded");
   }
 
   /*
@@ -240,7 +341,7 @@ public class OtpClearNettyProcessor extends AbstractNettyProcessor {
         pendingKeyChange(agbm);
       } else {
         Response fail = fail(getResponseContext(UNEXPECTED_MESSAGE, ctx), agbm);
-        sendMessage(ctx, converter.toJsonArray(agbm), fail);
+        sendMessage(ctx, converter.toJsonArray(agbm, getCodec(ctx)), fail);
       }
       break;
     case OtpNewKeyAck.TYPE:
@@ -287,6 +388,43 @@ public class OtpClearNettyProcessor extends AbstractNettyProcessor {
     return oneTimePad.convert(key, processed);
   }
 
+  /**
+   * Encrypts the readable bytes of the buffer if required. The encrypted bytes
+   * are written to a new buffer from the allocator and the original is
+   * released; the original may share its memory with other channels (ie.
+   * {@link ChannelGroup} writes hand each channel a duplicate) and must not be
+   * converted in place.
+   *
+   * @param alloc
+   *          the allocator
+   * @param msg
+   *          the msg
+   * @return the byte buf
+   * @throws Exception
+   *           the exception
+   */
+  public ByteBuf encryptIfRequired(ByteBufAllocator alloc, ByteBuf msg) throws Exception {
+    if (!isEncrypting()) return msg;
+
+    byte[] key = otpKey.get();
+
+    helper.incr(OTP_ENCRYPT_COUNTER);
+
+    int length = msg.readableBytes();
+    ByteBuf encrypted = alloc.buffer(length);
+    try {
+      encrypted.writeBytes(msg, msg.readerIndex(), length);
+      oneTimePad.convert(key, encrypted);
+    } catch (Exception e) {
+      encrypted.release();
+      throw e;
+    }
+
+    msg.release();
+
+    return encrypted;
+  }
+
   /*
    * (non-Javadoc)
    * 
@@ -0,0 +1,115 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.otp.netty;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+
+import com.github.mrstampy.gameboot.netty.AbstractFramedChannelInitializer;
+import com.github.mrstampy.gameboot.util.GameBootUtils;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelPipeline;
+import io.netty.handler.codec.bytes.ByteArrayDecoder;
+import io.netty.handler.ssl.SslHandler;
+
+/**
+ * The Class OtpEncryptedChannelInitializer secures the connection with the
+ * {@link OtpNettyServerConfiguration#OTP_NETTY_SERVER_SSL_CONTEXT}, frames it
+ * and adds a new {@link OtpEncryptedNettyHandler}.
+ */
+public class OtpEncryptedChannelInitializer extends AbstractFramedChannelInitializer {
+
+  @Autowired
+  @Qualifier(OtpNettyServerConfiguration.OTP_NETTY_SERVER_SSL_CONTEXT)
+  private SSLContext sslContext;
+
+  @Autowired
+  private GameBootUtils utils;
+
+  /**
+   * The Constructor.
+   *
+   * @param maxFrameLength
+   *          the max frame length
+   */
+  public OtpEncryptedChannelInitializer(int maxFrameLength) {
+    super(maxFrameLength);
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see com.github.mrstampy.gameboot.netty.AbstractFramedChannelInitializer#
+   * initTransport(io.netty.channel.Channel, io.netty.channel.ChannelPipeline)
+   */
+  @Override
+  protected void initTransport(Channel ch, ChannelPipeline pipeline) throws Exception {
+    pipeline.addLast(new SslHandler(createSslEngine()));
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see com.github.mrstampy.gameboot.netty.AbstractFramedChannelInitializer#
+   * initHandlers(io.netty.channel.Channel, io.netty.channel.ChannelPipeline)
+   */
+  @Override
+  protected void initHandlers(Channel ch, ChannelPipeline pipeline) throws Exception {
+    pipeline.addLast(new ByteArrayDecoder());
+    pipeline.addLast(utils.getBean(OtpEncryptedNettyHandler.class));
+  }
+
+  private SSLEngine createSslEngine() {
+    SSLEngine engine = sslContext.createSSLEngine();
+
+    engine.setUseClientMode(false);
+    engine.setNeedClientAuth(false);
+    engine.setEnableSessionCreation(true);
+
+    return engine;
+  }
+
+}
@@ -0,0 +1,131 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.otp.netty;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import com.github.mrstampy.gameboot.netty.GameBootNettyServer;
+import com.github.mrstampy.gameboot.otp.OtpConfiguration;
+
+/**
+ * The Class OtpNettyServerConfiguration starts the clear
+ * ({@link OtpClearNettyHandler}) and encrypted
+ * ({@link OtpEncryptedNettyHandler}) Netty servers when the
+ * 'otp.netty.server' property is true. The application must supply an
+ * {@link javax.net.ssl.SSLContext} bean named
+ * {@link #OTP_NETTY_SERVER_SSL_CONTEXT} for the encrypted server.
+ * 
+ * @see GameBootNettyServer
+ */
+@Configuration
+@Profile(OtpConfiguration.OTP_PROFILE)
+@ConditionalOnProperty(name = "otp.netty.server", havingValue = "true")
+public class OtpNettyServerConfiguration {
+
+  /** The Constant OTP_NETTY_SERVER_SSL_CONTEXT. */
+  public static final String OTP_NETTY_SERVER_SSL_CONTEXT = "OTP Netty Server SSL Context";
+
+  /** The Constant OTP_CLEAR_NETTY_SERVER. */
+  public static final String OTP_CLEAR_NETTY_SERVER = "OTP Clear Netty Server";
+
+  /** The Constant OTP_ENCRYPTED_NETTY_SERVER. */
+  public static final String OTP_ENCRYPTED_NETTY_SERVER = "OTP Encrypted Netty Server";
+
+  @Value("${otp.netty.server.clear.port}")
+  private int clearPort;
+
+  @Value("${otp.netty.server.encrypted.port}")
+  private int encryptedPort;
+
+  @Value("${netty.server.max.frame.length}")
+  private int maxFrameLength;
+
+  /**
+   * Clear netty server.
+   *
+   * @return the game boot netty server
+   */
+  @Bean(name = OTP_CLEAR_NETTY_SERVER)
+  @ConditionalOnMissingBean(name = OTP_CLEAR_NETTY_SERVER)
+  public GameBootNettyServer clearNettyServer() {
+    return new GameBootNettyServer("otp-clear", clearPort, clearChannelInitializer());
+  }
+
+  /**
+   * Encrypted netty server.
+   *
+   * @return the game boot netty server
+   */
+  @Bean(name = OTP_ENCRYPTED_NETTY_SERVER)
+  @ConditionalOnMissingBean(name = OTP_ENCRYPTED_NETTY_SERVER)
+  public GameBootNettyServer encryptedNettyServer() {
+    return new GameBootNettyServer("otp-encrypted", encryptedPort, encryptedChannelInitializer());
+  }
+
+  /**
+   * Clear channel initializer.
+   *
+   * @return the otp clear channel initializer
+   */
+  @Bean
+  @ConditionalOnMissingBean(OtpClearChannelInitializer.class)
+  public OtpClearChannelInitializer clearChannelInitializer() {
+    return new OtpClearChannelInitializer(maxFrameLength);
+  }
+
+  /**
+   * Encrypted channel initializer.
+   *
+   * @return the otp encrypted channel initializer
+   */
+  @Bean
+  @ConditionalOnMissingBean(OtpEncryptedChannelInitializer.class)
+  public OtpEncryptedChannelInitializer encryptedChannelInitializer() {
+    return new OtpEncryptedChannelInitializer(maxFrameLength);
+  }
+
+}
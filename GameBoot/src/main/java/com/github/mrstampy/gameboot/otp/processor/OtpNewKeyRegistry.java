@@ -41,15 +41,8 @@
  */
 package com.github.mrstampy.gameboot.otp.processor;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
-import javax.annotation.PostConstruct;
-
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.core.annotation.Order;
@@ -61,13 +54,12 @@ import com.github.mrstampy.gameboot.otp.netty.OtpClearNettyHandler;
 import com.github.mrstampy.gameboot.otp.netty.OtpEncryptedNettyHandler;
 import com.github.mrstampy.gameboot.otp.websocket.OtpClearWebSocketHandler;
 import com.github.mrstampy.gameboot.otp.websocket.OtpEncryptedWebSocketHandler;
-import com.github.mrstampy.gameboot.systemid.SystemId;
-import com.github.mrstampy.gameboot.util.registry.AbstractRegistryKey;
-import com.github.mrstampy.gameboot.util.registry.GameBootRegistry;
+import com.github.mrstampy.gameboot.util.registry.ExpiringGameBootRegistry;
 
 /**
  * The Class OtpNewKeyRegistry acts as a temporary in-memory storage of newly
- * generated OTP keys intended for clear channel encryption.
+ * generated OTP keys intended for clear channel encryption. Keys are removed
+ * 'otp.new.key.expiry.seconds' after being put.
  * 
  * @see OtpClearNettyHandler
  * @see OtpEncryptedNettyHandler
@@ -80,62 +72,20 @@ import com.github.mrstampy.gameboot.util.registry.GameBootRegistry;
 @Component
 @Profile(OtpConfiguration.OTP_PROFILE)
 @Order(Integer.MAX_VALUE)
-public class OtpNewKeyRegistry extends GameBootRegistry<byte[]> {
-
-  @Autowired
-  private ScheduledExecutorService svc;
+public class OtpNewKeyRegistry extends ExpiringGameBootRegistry<byte[]> {
 
   @Value("${otp.new.key.expiry.seconds}")
   private int newKeyExpiry;
 
-  private Map<Comparable<?>, ScheduledFuture<?>> futures = new ConcurrentHashMap<>();
-
-  /**
-   * Post construct.
-   *
-   * @throws Exception
-   *           the exception
-   */
-  @PostConstruct
-  public void postConstruct() throws Exception {
-    if (newKeyExpiry <= 0) throw new IllegalStateException("otp.new.key.expiry.seconds must be > 0");
-  }
-
-  /**
-   * Puts the newly generated key paired against the {@link SystemId#next()} id
-   * value of the clear connection.
-   *
-   * @param key
-   *          the key
-   * @param value
-   *          the value
-   */
-  @Override
-  public void put(AbstractRegistryKey<?> key, byte[] value) {
-    ScheduledFuture<?> sf = futures.remove(key);
-    if (sf != null) sf.cancel(true);
-
-    super.put(key, value);
-
-    sf = svc.schedule(() -> cleanup(key), newKeyExpiry, TimeUnit.SECONDS);
-    futures.put(key, sf);
-  }
-
-  /**
-   * Removes the newly generated key for activation.
-   *
-   * @param key
-   *          the key
-   * @return the byte[]
+  /*
+   * (non-Javadoc)
+   * 
+   * @see com.github.mrstampy.gameboot.util.registry.ExpiringGameBootRegistry#
+   * getExpiryMillis()
    */
   @Override
-  public byte[] remove(AbstractRegistryKey<?> key) {
-    byte[] b = super.remove(key);
-
-    ScheduledFuture<?> sf = futures.remove(key);
-    if (sf != null) sf.cancel(true);
-
-    return b;
+  protected long getExpiryMillis() {
+    return TimeUnit.SECONDS.toMillis(newKeyExpiry);
   }
 
   /*
@@ -147,9 +97,4 @@ public class OtpNewKeyRegistry extends GameBootRegistry<byte[]> {
     return false;
   }
 
-  private void cleanup(AbstractRegistryKey<?> key) {
-    super.remove(key);
-    futures.remove(key);
-  }
-
 }
@@ -42,23 +42,27 @@
 package com.github.mrstampy.gameboot.otp.websocket;
 
 import java.lang.invoke.MethodHandles;
-import java.util.concurrent.ExecutorService;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 
 import javax.annotation.PostConstruct;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Profile;
 import org.springframework.web.socket.BinaryMessage;
 import org.springframework.web.socket.WebSocketMessage;
 import org.springframework.web.socket.WebSocketSession;
 
-import com.github.mrstampy.gameboot.concurrent.GameBootConcurrentConfiguration;
+import com.github.mrstampy.gameboot.codec.processor.CodecRegistry;
+import com.github.mrstampy.gameboot.concurrent.Lane;
+import com.github.mrstampy.gameboot.concurrent.MessageLanes;
+import com.github.mrstampy.gameboot.concurrent.SystemIdExecutor;
 import com.github.mrstampy.gameboot.exception.GameBootException;
 import com.github.mrstampy.gameboot.exception.GameBootRuntimeException;
 import com.github.mrstampy.gameboot.messages.AbstractGameBootMessage;
+import com.github.mrstampy.gameboot.messages.AbstractGameBootMessage.Transport;
 import com.github.mrstampy.gameboot.messages.GameBootMessageConverter;
 import com.github.mrstampy.gameboot.messages.Response;
 import com.github.mrstampy.gameboot.messages.Response.ResponseCode;
@@ -72,7 +76,6 @@ import com.github.mrstampy.gameboot.otp.messages.OtpKeyRequest.KeyFunction;
 import com.github.mrstampy.gameboot.otp.messages.OtpNewKeyAck;
 import com.github.mrstampy.gameboot.otp.processor.OtpNewKeyRegistry;
 import com.github.mrstampy.gameboot.systemid.SystemIdKey;
-import com.github.mrstampy.gameboot.util.concurrent.MDCRunnable;
 import com.github.mrstampy.gameboot.websocket.AbstractWebSocketProcessor;
 
 /**
@@ -92,12 +95,17 @@ public class OtpClearWebSocketProcessor extends AbstractWebSocketProcessor {
   @Autowired
   private OneTimePad oneTimePad;
 
+  @Autowired
+  private CodecRegistry codecRegistry;
+
   @Autowired
   private MetricsHelper helper;
 
   @Autowired
-  @Qualifier(GameBootConcurrentConfiguration.GAME_BOOT_EXECUTOR)
-  private ExecutorService svc;
+  private SystemIdExecutor executor;
+
+  @Autowired
+  private MessageLanes lanes;
 
   @Autowired
   private KeyRegistry keyRegistry;
@@ -138,9 +146,9 @@ public class OtpClearWebSocketProcessor extends AbstractWebSocketProcessor {
 
     groupRegistry.put(getSystemId(session), session);
 
-    Response r = new Response(ResponseCode.INFO, new SystemIdResponse(getSystemId(session).getValue()));
+    Response r = new Response(ResponseCode.INFO, new SystemIdResponse(getSystemId(session).getValue(), codecRegistry.getFormats()));
 
-    sendMessage(session, converter.toJsonArray(r));
+    sendMessage(session, toJsonArray(session, r));
   }
 
   /*
@@ -158,43 +166,49 @@ public class OtpClearWebSocketProcessor extends AbstractWebSocketProcessor {
       return;
     }
 
-    byte[] mb = ((BinaryMessage) msg).getPayload().array();
+    // the container may reuse the payload buffer once this method returns,
+    // the single copy made is decrypted in place
+    byte[] mb = toArray(((BinaryMessage) msg).getPayload());
 
     byte[] key = keyRegistry.get(getSystemId(session));
 
-    byte[] b = evaluateForNewKeyAck(session, mb);
+    boolean ack = evaluateForNewKeyAck(session, mb);
 
-    if (key == null) {
-      onMessageImpl(session, b);
-      return;
+    if (!ack && key != null) {
+      helper.incr(OTP_DECRYPT_COUNTER);
+      oneTimePad.convert(key, ByteBuffer.wrap(mb));
     }
 
-    helper.incr(OTP_DECRYPT_COUNTER);
-
-    log.debug("Decrypting? {}", b == mb);
-
-    byte[] converted = b == mb ? oneTimePad.convert(key, mb) : b;
-
-    onMessageImpl(session, converted);
+    onMessageImpl(session, mb);
   }
 
-  private byte[] evaluateForNewKeyAck(WebSocketSession session, byte[] msg) {
+  /**
+   * Decrypts the message in place with the pending new key should it parse as
+   * an {@link OtpNewKeyAck}, else reverts the conversion.
+   */
+  private boolean evaluateForNewKeyAck(WebSocketSession session, byte[] msg) throws Exception {
     SystemIdKey systemId = getSystemId(session);
-    if (!newKeyRegistry.contains(systemId)) return msg;
+    if (!newKeyRegistry.contains(systemId)) return false;
 
     byte[] newKey = newKeyRegistry.get(systemId);
+    ByteBuffer buf = ByteBuffer.wrap(msg);
 
+    boolean converted = false;
     try {
-      byte[] converted = oneTimePad.convert(newKey, msg);
-      OtpNewKeyAck ack = converter.fromJson(converted);
+      oneTimePad.convert(newKey, buf);
+      converted = true;
+
+      OtpNewKeyAck ack = converter.fromJson(msg, getCodec(session));
       log.debug("Received new key ack id {} on {}", ack.getId(), session);
-      return converted;
+      return true;
     } catch (Exception e) {
       String s = keyRegistry.contains(systemId) ? "old key" : "unencrypted";
       log.warn("Awaiting new key ack, assuming {} for {}, system id {}.", s, session, systemId);
     }
 
-    return msg;
+    if (converted) oneTimePad.convert(newKey, buf);
+
+    return false;
   }
 
   /*
@@ -204,20 +218,30 @@ public class OtpClearWebSocketProcessor extends AbstractWebSocketProcessor {
    * onMessageImpl(org.springframework.web.socket.WebSocketSession, byte[])
    */
   protected void onMessageImpl(WebSocketSession session, byte[] msg) throws Exception {
-    svc.execute(new MDCRunnable() {
-
-      @Override
-      protected void runImpl() {
-        try {
-          process(session, msg);
-        } catch (GameBootException | GameBootRuntimeException e) {
-          sendError(session, e);
-        } catch (Exception e) {
-          log.error("Unexpected exception", e);
-          sendUnexpectedError(session);
-        }
+    SystemIdKey systemId = getSystemId(session);
+    Lane lane = lanes.getLane(msg, getCodec(session));
+
+    // reading cannot be suspended via the WebSocketSession, shed instead
+    if (lane == Lane.DEFAULT && executor.isPaused(systemId)) {
+      executor.shed();
+      sendError(getResponseContext(OVERLOAD, session), session, "Overloaded");
+      return;
+    }
+
+    boolean admitted = executor.executeAsync(systemId, Transport.WEB_SOCKET, lane, () -> {
+      try {
+        return processAsync(session, msg);
+      } catch (GameBootException | GameBootRuntimeException e) {
+        sendError(session, e);
+      } catch (Exception e) {
+        log.error("Unexpected exception", e);
+        sendUnexpectedError(session);
       }
+
+      return null;
     });
+
+    if (!admitted) sendError(getResponseContext(OVERLOAD, session), session, "Overloaded");
   }
 
   /*
@@ -237,7 +261,7 @@ public class OtpClearWebSocketProcessor extends AbstractWebSocketProcessor {
       ok = isDeleteRequest(session, (OtpKeyRequest) agbm);
       if (!ok) {
         Response fail = fail(getResponseContext(UNEXPECTED_MESSAGE, session), agbm);
-        sendMessage(session, converter.toJsonArray(fail));
+        sendMessage(session, toJsonArray(session, fail));
       }
       break;
     default:
@@ -286,7 +310,9 @@ public class OtpClearWebSocketProcessor extends AbstractWebSocketProcessor {
   }
 
   /**
-   * Encrypt if required.
+   * Encrypt if required. The remaining bytes of {@link ByteBuffer}s are copied
+   * and encrypted in place, byte arrays (which may be shared) are encrypted to
+   * a new array.
    *
    * @param session
    *          the session
@@ -297,12 +323,17 @@ public class OtpClearWebSocketProcessor extends AbstractWebSocketProcessor {
    *           the exception
    */
   public byte[] encryptIfRequired(WebSocketSession session, Object msg) throws Exception {
-    if (!(msg instanceof String) && !(msg instanceof byte[])) {
-      log.error("Internal error; object is not a string or byte array: {}", msg.getClass());
-      return null;
-    }
+    if (msg instanceof ByteBuffer) return encryptIfRequired(session, toArray((ByteBuffer) msg), true);
+
+    if (msg instanceof byte[]) return encryptIfRequired(session, (byte[]) msg, false);
 
-    byte[] processed = (msg instanceof byte[]) ? (byte[]) msg : ((String) msg).getBytes();
+    if (msg instanceof String) return encryptIfRequired(session, ((String) msg).getBytes(StandardCharsets.UTF_8), true);
+
+    log.error("Internal error; object is not a string, byte buffer or byte array: {}", msg.getClass());
+    return null;
+  }
+
+  private byte[] encryptIfRequired(WebSocketSession session, byte[] processed, boolean owned) throws Exception {
     if (!isEncrypting(session)) return processed;
 
     log.debug("Encrypting message");
@@ -311,7 +342,11 @@ public class OtpClearWebSocketProcessor extends AbstractWebSocketProcessor {
 
     helper.incr(OTP_ENCRYPT_COUNTER);
 
-    return oneTimePad.convert(key, processed);
+    if (!owned) return oneTimePad.convert(key, processed);
+
+    oneTimePad.convert(key, ByteBuffer.wrap(processed));
+
+    return processed;
   }
 
   /*
@@ -57,6 +57,7 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.WebSocketSession;
 
+import com.github.mrstampy.gameboot.compression.MessageCompressor;
 import com.github.mrstampy.gameboot.metrics.MetricsHelper;
 import com.github.mrstampy.gameboot.netty.NettyConnectionRegistry;
 import com.github.mrstampy.gameboot.otp.KeyRegistry;
@@ -90,6 +91,9 @@ public class OtpWebSocketGroupRegistry extends GameBootRegistry<WebSocketSession
   @Autowired
   private OneTimePad pad;
 
+  @Autowired
+  private MessageCompressor compressor;
+
   @Autowired
   private MetricsHelper helper;
 
@@ -147,8 +151,8 @@ public class OtpWebSocketGroupRegistry extends GameBootRegistry<WebSocketSession
     if (otp == null) {
       registry.send(key, message);
     } else {
-      byte[] converted = pad.convert(otp, message);
-      registry.send(key, converted);
+      byte[] converted = pad.convert(otp, compressor.compressIfRequired(systemId, message));
+      registry.sendProcessed(key, converted);
     }
   }
 
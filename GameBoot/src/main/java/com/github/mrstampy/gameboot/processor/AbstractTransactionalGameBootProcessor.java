@@ -41,10 +41,21 @@
  */
 package com.github.mrstampy.gameboot.processor;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.github.mrstampy.gameboot.concurrent.GameBootConcurrentConfiguration;
 import com.github.mrstampy.gameboot.messages.AbstractGameBootMessage;
 import com.github.mrstampy.gameboot.messages.Response;
+import com.github.mrstampy.gameboot.util.concurrent.MDCRunnable;
 
 import co.paralleluniverse.fibers.FiberExecutorScheduler;
 import co.paralleluniverse.fibers.FiberForkJoinScheduler;
@@ -56,13 +67,45 @@ import co.paralleluniverse.fibers.FiberForkJoinScheduler;
  * {@link FiberForkJoinScheduler} or a {@link FiberExecutorScheduler} (unless
  * instrumentation is off). See the
  * <a href="http://docs.paralleluniverse.co/quasar/">Quasar documentation</a>
- * for more information about Fibers vs. Threads.
+ * for more information about Fibers vs. Threads.<br>
+ * <br>
+ * 
+ * When processed via {@link #processAsync(AbstractGameBootMessage)} the
+ * transaction executes on the
+ * {@link GameBootConcurrentConfiguration#GAME_BOOT_TRANSACTION_EXECUTOR},
+ * releasing the calling thread for the duration of the database round trip.
+ * Should 'transaction.group.commit' be true and the processor opt in via
+ * {@link #isGroupCommit()} the transaction is instead coalesced with those of
+ * concurrent messages by the {@link GroupCommitter}; in this mode processing
+ * may be repeated should the shared transaction fail, so any non-transactional
+ * side effects must be deferred until commit (see
+ * TransactionSynchronization#afterCommit()) or tolerate re-execution.
  *
  * @param <M>
  *          the generic type
  */
 public abstract class AbstractTransactionalGameBootProcessor<M extends AbstractGameBootMessage>
-    extends AbstractGameBootProcessor<M> {
+    extends AbstractGameBootProcessor<M> implements AsyncGameBootProcessor<M> {
+
+  @Autowired
+  @Qualifier(GameBootConcurrentConfiguration.GAME_BOOT_TRANSACTION_EXECUTOR)
+  private ExecutorService transactionExecutor;
+
+  @Autowired
+  private GroupCommitter groupCommitter;
+
+  private TransactionTemplate transactionTemplate;
+
+  /**
+   * Sets the transaction manager.
+   *
+   * @param transactionManager
+   *          the new transaction manager
+   */
+  @Autowired
+  public void setTransactionManager(PlatformTransactionManager transactionManager) {
+    transactionTemplate = new TransactionTemplate(transactionManager);
+  }
 
   /*
    * (non-Javadoc)
@@ -77,4 +120,55 @@ public abstract class AbstractTransactionalGameBootProcessor<M extends AbstractG
     return super.process(message);
   }
 
+  /*
+   * (non-Javadoc)
+   * 
+   * @see
+   * com.github.mrstampy.gameboot.processor.AsyncGameBootProcessor#processAsync(
+   * com.github.mrstampy.gameboot.messages.AbstractGameBootMessage)
+   */
+  @Override
+  public CompletionStage<Response> processAsync(M message) throws Exception {
+    if (isGroupCommit() && groupCommitter.isEnabled()) return groupCommitter.submit(() -> processInTransaction(message));
+
+    CompletableFuture<Response> future = new CompletableFuture<>();
+
+    transactionExecutor.execute(new MDCRunnable() {
+
+      @Override
+      protected void runImpl() {
+        try {
+          future.complete(transactionTemplate.execute(status -> processInTransaction(message)));
+        } catch (Throwable e) {
+          future.completeExceptionally(e);
+        }
+      }
+    });
+
+    return future;
+  }
+
+  /**
+   * Returns true if the transaction of
+   * {@link #processAsync(AbstractGameBootMessage)} may be group committed
+   * should 'transaction.group.commit' be enabled, false by default. Override to
+   * return true for processors whose processing can be safely repeated.
+   *
+   * @return true, if is group commit
+   * @see GroupCommitter
+   */
+  protected boolean isGroupCommit() {
+    return false;
+  }
+
+  private Response processInTransaction(M message) {
+    try {
+      return super.process(message);
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new CompletionException(e);
+    }
+  }
+
 }
@@ -0,0 +1,81 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.processor;
+
+import java.util.concurrent.CompletionStage;
+
+import com.github.mrstampy.gameboot.controller.GameBootMessageController;
+import com.github.mrstampy.gameboot.messages.AbstractGameBootMessage;
+import com.github.mrstampy.gameboot.messages.Response;
+import com.github.mrstampy.gameboot.processor.connection.AbstractConnectionProcessor;
+
+/**
+ * A {@link GameBootProcessor} whose processing completes asynchronously,
+ * typically on an executor dedicated to blocking work (database access etc).
+ * The {@link GameBootMessageController} and the
+ * {@link AbstractConnectionProcessor} send the {@link Response} once the
+ * returned {@link CompletionStage} completes, freeing the calling thread in the
+ * interim.<br>
+ * <br>
+ * 
+ * {@link #process(AbstractGameBootMessage)} remains available for synchronous
+ * callers, processing the message on the calling thread.
+ *
+ * @param <M>
+ *          the generic type
+ */
+public interface AsyncGameBootProcessor<M extends AbstractGameBootMessage> extends GameBootProcessor<M> {
+
+  /**
+   * Process the message asynchronously. Implementations should complete the
+   * stage with a {@link Response}, failures included, rather than completing
+   * it exceptionally.
+   *
+   * @param message
+   *          the message
+   * @return the completion stage of the response
+   * @throws Exception
+   *           the exception
+   */
+  CompletionStage<Response> processAsync(M message) throws Exception;
+
+}
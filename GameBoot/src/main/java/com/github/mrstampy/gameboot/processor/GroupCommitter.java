@@ -0,0 +1,285 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.processor;
+
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.github.mrstampy.gameboot.concurrent.GameBootConcurrentConfiguration;
+import com.github.mrstampy.gameboot.messages.Response;
+import com.github.mrstampy.gameboot.metrics.MetricsHelper;
+
+/**
+ * Coalesces the transactional work of {@link AbstractTransactionalGameBootProcessor}s
+ * submitted within 'transaction.group.commit.window.micros' of each other,
+ * up to 'transaction.group.commit.max.batch' units, into a single transaction
+ * executed on the
+ * {@link GameBootConcurrentConfiguration#GAME_BOOT_TRANSACTION_EXECUTOR}.
+ * Responses are released once the shared transaction has committed.<br>
+ * <br>
+ * 
+ * Should any unit of a batch throw an exception or mark the transaction
+ * rollback only, or should the commit fail, the batch is rolled back and each
+ * unit is retried in a transaction of its own so that one bad request does not
+ * fail the others. Units must therefore tolerate re-execution of any
+ * non-transactional side effects.<br>
+ * <br>
+ * 
+ * Enabled by the 'transaction.group.commit' property.
+ */
+@Component
+public class GroupCommitter {
+  private static final Logger log = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+  private static final String BATCHES = "GroupCommitter Batches";
+
+  private static final String UNITS = "GroupCommitter Units";
+
+  private static final String RETRIES = "GroupCommitter Retried Batches";
+
+  @Autowired
+  @Qualifier(GameBootConcurrentConfiguration.GAME_BOOT_TRANSACTION_EXECUTOR)
+  private ExecutorService transactionExecutor;
+
+  @Autowired
+  @Qualifier(GameBootConcurrentConfiguration.GAME_BOOT_SCHEDULED_EXECUTOR)
+  private ScheduledExecutorService scheduler;
+
+  @Autowired
+  private MetricsHelper helper;
+
+  @Value("${transaction.group.commit}")
+  private boolean groupCommit;
+
+  @Value("${transaction.group.commit.window.micros}")
+  private long windowMicros;
+
+  @Value("${transaction.group.commit.max.batch}")
+  private int maxBatch;
+
+  private TransactionTemplate transactionTemplate;
+
+  private final Object lock = new Object();
+
+  private List<Unit> pending = new ArrayList<>();
+
+  private boolean scheduled;
+
+  /**
+   * Sets the transaction manager.
+   *
+   * @param transactionManager
+   *          the new transaction manager
+   */
+  @Autowired(required = false)
+  public void setTransactionManager(PlatformTransactionManager transactionManager) {
+    transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  /**
+   * Post construct.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @PostConstruct
+  public void postConstruct() throws Exception {
+    if (windowMicros <= 0) throw new IllegalStateException("transaction.group.commit.window.micros must be > 0");
+    if (maxBatch <= 0) throw new IllegalStateException("transaction.group.commit.max.batch must be > 0");
+
+    helper.counter(BATCHES, getClass(), "batches");
+    helper.counter(UNITS, getClass(), "units");
+    helper.counter(RETRIES, getClass(), "retried", "batches");
+
+    if (isEnabled()) log.info("Group committing transactions, window {} micros, max batch {}", windowMicros, maxBatch);
+  }
+
+  /**
+   * Checks if group commit is enabled.
+   *
+   * @return true, if is enabled
+   */
+  public boolean isEnabled() {
+    return groupCommit && transactionTemplate != null;
+  }
+
+  /**
+   * Submits the work for execution within the next group transaction.
+   *
+   * @param work
+   *          the work
+   * @return the completion stage of the response, completed once committed
+   */
+  public CompletionStage<Response> submit(Supplier<Response> work) {
+    if (transactionTemplate == null) throw new IllegalStateException("No transaction manager");
+
+    Unit unit = new Unit(work, MDC.getCopyOfContextMap());
+
+    List<Unit> full = null;
+    synchronized (lock) {
+      pending.add(unit);
+
+      if (pending.size() >= maxBatch) {
+        full = pending;
+        pending = new ArrayList<>();
+      } else if (!scheduled) {
+        scheduled = true;
+        scheduler.schedule(() -> flush(), windowMicros, TimeUnit.MICROSECONDS);
+      }
+    }
+
+    if (full != null) execute(full);
+
+    return unit.future;
+  }
+
+  private void flush() {
+    List<Unit> batch;
+    synchronized (lock) {
+      scheduled = false;
+      if (pending.isEmpty()) return;
+
+      batch = pending;
+      pending = new ArrayList<>();
+    }
+
+    execute(batch);
+  }
+
+  private void execute(List<Unit> batch) {
+    try {
+      transactionExecutor.execute(() -> commit(batch));
+    } catch (RuntimeException e) {
+      log.error("Unexpected exception executing group commit", e);
+      batch.forEach(u -> u.future.completeExceptionally(e));
+    }
+  }
+
+  private void commit(List<Unit> batch) {
+    helper.incr(BATCHES);
+    for (int i = 0; i < batch.size(); i++) {
+      helper.incr(UNITS);
+    }
+
+    if (batch.size() == 1) {
+      individually(batch.get(0));
+      return;
+    }
+
+    Response[] responses = new Response[batch.size()];
+
+    try {
+      transactionTemplate.execute(status -> {
+        for (int i = 0; i < responses.length; i++) {
+          responses[i] = batch.get(i).run();
+
+          if (status.isRollbackOnly()) throw new IllegalStateException("Rollback only");
+        }
+
+        return null;
+      });
+    } catch (Throwable t) {
+      log.debug("Group commit of {} units failed, retrying individually", batch.size(), t);
+      helper.incr(RETRIES);
+
+      batch.forEach(u -> individually(u));
+      return;
+    }
+
+    for (int i = 0; i < responses.length; i++) {
+      batch.get(i).future.complete(responses[i]);
+    }
+  }
+
+  private void individually(Unit unit) {
+    try {
+      unit.future.complete(transactionTemplate.execute(status -> unit.run()));
+    } catch (Throwable t) {
+      unit.future.completeExceptionally(t);
+    }
+  }
+
+  private static class Unit {
+    final Supplier<Response> work;
+    final Map<String, String> mdc;
+    final CompletableFuture<Response> future = new CompletableFuture<>();
+
+    Unit(Supplier<Response> work, Map<String, String> mdc) {
+      this.work = work;
+      this.mdc = mdc;
+    }
+
+    Response run() {
+      if (mdc == null) {
+        MDC.clear();
+      } else {
+        MDC.setContextMap(mdc);
+      }
+
+      try {
+        return work.get();
+      } finally {
+        MDC.clear();
+      }
+    }
+  }
+}
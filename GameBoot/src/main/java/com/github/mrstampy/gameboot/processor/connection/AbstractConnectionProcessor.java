@@ -41,21 +41,36 @@
  */
 package com.github.mrstampy.gameboot.processor.connection;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
+import com.github.mrstampy.gameboot.codec.GameBootCodec;
+import com.github.mrstampy.gameboot.codec.processor.CodecRegistry;
 import com.github.mrstampy.gameboot.controller.GameBootMessageController;
 import com.github.mrstampy.gameboot.exception.GameBootException;
 import com.github.mrstampy.gameboot.exception.GameBootRuntimeException;
 import com.github.mrstampy.gameboot.exception.GameBootThrowable;
 import com.github.mrstampy.gameboot.locale.processor.LocaleRegistry;
 import com.github.mrstampy.gameboot.messages.AbstractGameBootMessage;
+import com.github.mrstampy.gameboot.messages.BatchMessage;
 import com.github.mrstampy.gameboot.messages.GameBootMessageConverter;
 import com.github.mrstampy.gameboot.messages.Response;
 import com.github.mrstampy.gameboot.messages.Response.ResponseCode;
@@ -79,12 +94,24 @@ public abstract class AbstractConnectionProcessor<C> implements ConnectionProces
   @Autowired
   private LocaleRegistry localeRegistry;
 
+  @Autowired
+  private CodecRegistry codecRegistry;
+
   @Autowired
   private GameBootMessageConverter converter;
 
+  @Autowired
+  private ErrorResponseCache errorCache;
+
   @Autowired
   private GameBootUtils utils;
 
+  @Value("${connection.processor.sync.timeout.millis}")
+  private long syncTimeoutMillis;
+
+  @Value("${batch.max.messages}")
+  private int batchMaxMessages;
+
   /*
    * (non-Javadoc)
    * 
@@ -140,9 +167,12 @@ public abstract class AbstractConnectionProcessor<C> implements ConnectionProces
    * @return the response context
    */
   protected ResponseContext getResponseContext(Integer code, C ctx, Object... parameters) {
+    return lookup.lookup(code, getContextLocale(ctx), parameters);
+  }
+
+  private Locale getContextLocale(C ctx) {
     SystemIdKey systemId = getSystemId(ctx);
-    Locale locale = systemId == null ? Locale.getDefault() : localeRegistry.get(systemId);
-    return lookup.lookup(code, locale, parameters);
+    return systemId == null ? Locale.getDefault() : localeRegistry.get(systemId);
   }
 
   /*
@@ -167,6 +197,16 @@ public abstract class AbstractConnectionProcessor<C> implements ConnectionProces
     return localeRegistry.get(systemId);
   }
 
+  /*
+   * (non-Javadoc)
+   * 
+   * @see com.github.mrstampy.gameboot.processor.connection.ConnectionProcessor#
+   * getCodec(java.lang.Object)
+   */
+  public GameBootCodec getCodec(C ctx) {
+    return codecRegistry.get(getSystemId(ctx));
+  }
+
   /*
    * (non-Javadoc)
    * 
@@ -176,81 +216,349 @@ public abstract class AbstractConnectionProcessor<C> implements ConnectionProces
    */
   @Override
   public <AGBM extends AbstractGameBootMessage> Response process(C ctx, String msg) throws Exception {
-    if (StringUtils.isEmpty(msg)) return null;
+    return await(processAsync(ctx, msg));
+  }
 
-    GameBootMessageController controller = utils.getBean(GameBootMessageController.class);
+  /*
+   * (non-Javadoc)
+   * 
+   * @see
+   * com.github.mrstampy.gameboot.netty.ConnectionProcessor#process(io.netty.
+   * channel.WebSocketSession, byte[])
+   */
+  @Override
+  public <AGBM extends AbstractGameBootMessage> Response process(C ctx, byte[] msg) throws Exception {
+    return await(processAsync(ctx, msg));
+  }
 
-    Response response = null;
-    AGBM agbm = null;
-    String type = null;
-    Integer id = null;
+  /**
+   * Processes the message read from the stream, which remains open on return,
+   * blocking as described by {@link #await(CompletionStage)}.
+   *
+   * @param <AGBM>
+   *          the generic type
+   * @param ctx
+   *          the ctx
+   * @param msg
+   *          the msg
+   * @return the response
+   * @throws Exception
+   *           the exception
+   */
+  public <AGBM extends AbstractGameBootMessage> Response process(C ctx, InputStream msg) throws Exception {
+    return await(processAsync(ctx, msg));
+  }
+
+  /**
+   * Blocks the calling thread for at most
+   * 'connection.processor.sync.timeout.millis' awaiting the response of
+   * processing which may complete asynchronously. Used by the synchronous
+   * process methods; prefer the processAsync methods where the calling thread
+   * must not block (ie. I/O threads).
+   *
+   * @param stage
+   *          the stage
+   * @return the response
+   * @throws TimeoutException
+   *           should the response not be available in time
+   * @throws Exception
+   *           the exception thrown by processing
+   */
+  protected Response await(CompletionStage<Response> stage) throws Exception {
     try {
-      agbm = converter.fromJson(msg);
-      type = agbm.getType();
-      id = agbm.getId();
+      return stage.toCompletableFuture().get(syncTimeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause() instanceof CompletionException ? e.getCause().getCause() : e.getCause();
+      if (cause instanceof Exception) throw (Exception) cause;
+      throw e;
+    }
+  }
 
-      if (!preProcess(ctx, agbm)) return null;
+  /**
+   * Processes the String message, the returned stage completing once the
+   * response, if any, has been sent.
+   *
+   * @param <AGBM>
+   *          the generic type
+   * @param ctx
+   *          the ctx
+   * @param msg
+   *          the msg
+   * @return the completion stage of the response
+   * @throws Exception
+   *           the exception
+   */
+  public <AGBM extends AbstractGameBootMessage> CompletionStage<Response> processAsync(C ctx, String msg)
+      throws Exception {
+    if (StringUtils.isEmpty(msg)) return CompletableFuture.completedFuture(null);
 
-      response = process(ctx, controller, agbm);
-    } catch (GameBootException | GameBootRuntimeException e) {
-      response = fail(ctx, agbm, e);
-    } catch (Exception e) {
-      log.error("Unexpected exception processing message type {}, id {} on channel {}", type, id, ctx, e);
-      response = fail(getResponseContext(UNEXPECTED_ERROR, ctx), agbm, "An unexpected error has occurred");
-    }
+    MessageReader<AGBM> reader = codec -> converter.fromJson(msg);
+
+    return complete(ctx, dispatch(ctx, reader), r -> sendMessage(ctx, toJson(ctx, r), r));
+  }
 
-    postProcess(ctx, agbm, response);
+  /**
+   * Processes the byte array message, the returned stage completing once the
+   * response, if any, has been sent.
+   *
+   * @param <AGBM>
+   *          the generic type
+   * @param ctx
+   *          the ctx
+   * @param msg
+   *          the msg
+   * @return the completion stage of the response
+   * @throws Exception
+   *           the exception
+   */
+  public <AGBM extends AbstractGameBootMessage> CompletionStage<Response> processAsync(C ctx, byte[] msg)
+      throws Exception {
+    if (msg == null || msg.length == 0) return CompletableFuture.completedFuture(null);
 
-    if (response == null) return null;
+    return processAsync(ctx, codec -> converter.fromJson(msg, codec));
+  }
 
-    String r = converter.toJson(response);
+  /**
+   * Processes the message read from the stream, the returned stage completing
+   * once the response, if any, has been sent. The message is read before
+   * returning and the stream remains open.
+   *
+   * @param <AGBM>
+   *          the generic type
+   * @param ctx
+   *          the ctx
+   * @param msg
+   *          the msg
+   * @return the completion stage of the response
+   * @throws Exception
+   *           the exception
+   */
+  public <AGBM extends AbstractGameBootMessage> CompletionStage<Response> processAsync(C ctx, InputStream msg)
+      throws Exception {
+    if (msg == null) return CompletableFuture.completedFuture(null);
 
-    sendMessage(ctx, r, response);
+    return processAsync(ctx, codec -> converter.fromJson(msg, codec));
+  }
 
-    return response;
+  private <AGBM extends AbstractGameBootMessage> CompletionStage<Response> processAsync(C ctx,
+      MessageReader<AGBM> reader) throws Exception {
+    return complete(ctx, dispatch(ctx, reader), r -> sendResponse(ctx, r));
   }
 
-  /*
-   * (non-Javadoc)
-   * 
-   * @see
-   * com.github.mrstampy.gameboot.netty.ConnectionProcessor#process(io.netty.
-   * channel.WebSocketSession, byte[])
+  /**
+   * Sends the response immediately should processing have completed on the
+   * calling thread. Otherwise the response is sent on completion, on the
+   * completing thread with the {@link MDC} of the caller. The returned stage
+   * completes once the response has been sent.
    */
-  @Override
-  public <AGBM extends AbstractGameBootMessage> Response process(C ctx, byte[] msg) throws Exception {
-    if (msg == null || msg.length == 0) return null;
+  private CompletionStage<Response> complete(C ctx, CompletionStage<Response> stage, ResponseSender sender)
+      throws Exception {
+    CompletableFuture<Response> future = stage.toCompletableFuture();
+
+    if (future.isDone()) return CompletableFuture.completedFuture(send(ctx, future.join(), sender));
+
+    Map<String, String> mdc = MDC.getCopyOfContextMap();
+
+    return future.whenComplete((r, t) -> {
+      Map<String, String> previous = MDC.getCopyOfContextMap();
+      setContextMap(mdc);
+      try {
+        if (t == null) {
+          send(ctx, r, sender);
+        } else {
+          log.error("Unexpected exception completing message on channel {}", ctx, t);
+          sendUnexpectedError(ctx);
+        }
+      } catch (Exception e) {
+        log.error("Unexpected exception sending response on channel {}", ctx, e);
+      } finally {
+        setContextMap(previous);
+      }
+    });
+  }
+
+  private Response send(C ctx, Response r, ResponseSender sender) throws Exception {
+    if (r == null) return null;
 
+    onResponse(ctx, r);
+    sender.send(r);
+
+    return r;
+  }
+
+  private void setContextMap(Map<String, String> mdc) {
+    if (mdc == null) {
+      MDC.clear();
+    } else {
+      MDC.setContextMap(mdc);
+    }
+  }
+
+  /**
+   * Reads the message and processes it, or each of its messages should it be a
+   * {@link BatchMessage}. The returned stage never completes exceptionally.
+   */
+  private <AGBM extends AbstractGameBootMessage> CompletionStage<Response> dispatch(C ctx,
+      MessageReader<AGBM> reader) {
     GameBootMessageController controller = utils.getBean(GameBootMessageController.class);
 
-    Response response = null;
-    AGBM agbm = null;
-    String type = null;
-    Integer id = null;
     try {
-      agbm = converter.fromJson(msg);
-      type = agbm.getType();
-      id = agbm.getId();
+      AGBM agbm = reader.read(getCodec(ctx));
 
-      if (!preProcess(ctx, agbm)) return null;
+      if (agbm instanceof BatchMessage) return processBatch(ctx, controller, (BatchMessage) agbm);
 
-      response = process(ctx, controller, agbm);
+      return processMessage(ctx, controller, agbm);
     } catch (GameBootException | GameBootRuntimeException e) {
-      response = fail(ctx, agbm, e);
+      return CompletableFuture.completedFuture(fail(ctx, null, e));
+    } catch (Exception e) {
+      log.error("Unexpected exception reading message on channel {}", ctx, e);
+      return CompletableFuture
+          .completedFuture(fail(getResponseContext(UNEXPECTED_ERROR, ctx), null, "An unexpected error has occurred"));
+    }
+  }
+
+  /**
+   * Messages of the batch are processed in order, each once its predecessor
+   * has completed. Batches of more than 'batch.max.messages' are failed
+   * without processing any of their messages, as a batch is admitted for
+   * processing as a single message.
+   */
+  private CompletionStage<Response> processBatch(C ctx, GameBootMessageController controller, BatchMessage batch) {
+    List<AbstractGameBootMessage> messages = batch.getMessages();
+    if (messages == null || messages.isEmpty()) {
+      return CompletableFuture.completedFuture(fail(getResponseContext(NO_MESSAGE, ctx), batch, "No messages in batch"));
+    }
+
+    if (messages.size() > batchMaxMessages) {
+      ResponseContext rc = getResponseContext(BATCH_TOO_LARGE, ctx, batchMaxMessages);
+      return CompletableFuture.completedFuture(fail(rc, batch, "Batch too large"));
+    }
+
+    CompletionStage<List<Response>> stage = CompletableFuture.completedFuture(new ArrayList<>(messages.size()));
+    for (AbstractGameBootMessage agbm : messages) {
+      stage = stage.thenCompose(responses -> processMessage(ctx, controller, agbm).thenApply(r -> {
+        if (r != null) responses.add(r);
+        return responses;
+      }));
+    }
+
+    return stage.thenApply(responses -> new Response(batch, ResponseCode.SUCCESS, responses.toArray()));
+  }
+
+  private <AGBM extends AbstractGameBootMessage> CompletionStage<Response> processMessage(C ctx,
+      GameBootMessageController controller, AGBM agbm) {
+    CompletionStage<Response> stage;
+    try {
+      if (!preProcess(ctx, agbm)) return CompletableFuture.completedFuture(null);
+
+      stage = processAsync(ctx, controller, agbm);
     } catch (Exception e) {
-      log.error("Unexpected exception processing message type {}, id {} on channel {}", type, id, ctx, e);
-      response = fail(getResponseContext(UNEXPECTED_ERROR, ctx), agbm, "An unexpected error has occurred");
+      stage = CompletableFuture.completedFuture(toFailure(ctx, agbm, e));
     }
 
-    postProcess(ctx, agbm, response);
+    return stage.handle((r, t) -> t == null ? r : toFailure(ctx, agbm, t)).thenApply(r -> {
+      postProcess(ctx, agbm, r);
+      return r;
+    });
+  }
+
+  private Response toFailure(C ctx, AbstractGameBootMessage agbm, Throwable t) {
+    Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+
+    if (cause instanceof GameBootThrowable) return fail(ctx, agbm, (GameBootThrowable) cause);
+
+    log.error("Unexpected exception processing message type {}, id {} on channel {}", agbm.getType(), agbm.getId(),
+        ctx, cause);
+
+    return fail(getResponseContext(UNEXPECTED_ERROR, ctx), agbm, "An unexpected error has occurred");
+  }
+
+  /**
+   * Invoked with each non-null response prior to it being sent, whether
+   * processing completed synchronously or not. Blank implementation, override
+   * as required.
+   *
+   * @param ctx
+   *          the ctx
+   * @param r
+   *          the r
+   */
+  protected void onResponse(C ctx, Response r) {
+  }
+
+  /**
+   * Serializes the response with the connection's {@link GameBootCodec},
+   * failures being rendered from the {@link ErrorResponseCache}.
+   *
+   * @param ctx
+   *          the ctx
+   * @param r
+   *          the r
+   * @return the byte[]
+   * @throws Exception
+   *           the exception
+   */
+  protected byte[] toJsonArray(C ctx, Response r) throws Exception {
+    return errorCache.toJsonArray(r, getCodec(ctx), getContextLocale(ctx));
+  }
+
+  /**
+   * Serializes the response with the default {@link GameBootCodec} for
+   * textual transports, failures being rendered from the
+   * {@link ErrorResponseCache}.
+   *
+   * @param ctx
+   *          the ctx
+   * @param r
+   *          the r
+   * @return the string
+   * @throws Exception
+   *           the exception
+   */
+  protected String toJson(C ctx, Response r) throws Exception {
+    return errorCache.toJson(r, getContextLocale(ctx));
+  }
 
-    if (response == null) return null;
+  /**
+   * Writes the response with the connection's {@link GameBootCodec} to the
+   * stream, failures being rendered from the {@link ErrorResponseCache}.
+   *
+   * @param ctx
+   *          the ctx
+   * @param r
+   *          the r
+   * @param out
+   *          the out
+   * @throws Exception
+   *           the exception
+   */
+  protected void toJsonStream(C ctx, Response r, OutputStream out) throws Exception {
+    errorCache.toJsonStream(r, getCodec(ctx), getContextLocale(ctx), out);
+  }
 
-    byte[] r = converter.toJsonArray(response);
+  /**
+   * Serializes and sends the response. Override to provide transport-specific
+   * serialization.
+   *
+   * @param ctx
+   *          the ctx
+   * @param r
+   *          the r
+   * @throws Exception
+   *           the exception
+   */
+  protected void sendResponse(C ctx, Response r) throws Exception {
+    sendMessage(ctx, toJsonArray(ctx, r), r);
+  }
 
-    sendMessage(ctx, r, response);
+  @FunctionalInterface
+  private interface MessageReader<AGBM extends AbstractGameBootMessage> {
+    AGBM read(GameBootCodec codec) throws Exception;
+  }
 
-    return response;
+  @FunctionalInterface
+  private interface ResponseSender {
+    void send(Response r) throws Exception;
   }
 
   /**
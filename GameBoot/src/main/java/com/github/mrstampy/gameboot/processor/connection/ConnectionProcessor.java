@@ -42,7 +42,10 @@
 package com.github.mrstampy.gameboot.processor.connection;
 
 import java.util.Locale;
+import java.util.concurrent.CompletionStage;
 
+import com.github.mrstampy.gameboot.codec.GameBootCodec;
+import com.github.mrstampy.gameboot.codec.processor.CodecRegistry;
 import com.github.mrstampy.gameboot.controller.GameBootMessageController;
 import com.github.mrstampy.gameboot.exception.GameBootThrowable;
 import com.github.mrstampy.gameboot.messages.AbstractGameBootMessage;
@@ -103,7 +106,7 @@ public interface ConnectionProcessor<C> extends ResponseContextCodes {
    *          the ctx
    * @param msg
    *          the msg
-   * @return the response
+   * @return the response, awaited should processing complete asynchronously
    * @throws Exception
    *           the exception
    */
@@ -118,7 +121,7 @@ public interface ConnectionProcessor<C> extends ResponseContextCodes {
    *          the ctx
    * @param msg
    *          the msg
-   * @return the response
+   * @return the response, awaited should processing complete asynchronously
    * @throws Exception
    *           the exception
    */
@@ -142,6 +145,28 @@ public interface ConnectionProcessor<C> extends ResponseContextCodes {
   <AGBM extends AbstractGameBootMessage> Response process(C ctx, GameBootMessageController controller, AGBM agbm)
       throws Exception;
 
+  /**
+   * Process the message asynchronously via
+   * {@link GameBootMessageController#processAsync(AbstractGameBootMessage)},
+   * applying the same connection-specific processing as
+   * {@link #process(Object, GameBootMessageController, AbstractGameBootMessage)}
+   * once the response is available.
+   *
+   * @param <AGBM>
+   *          the generic type
+   * @param ctx
+   *          the ctx
+   * @param controller
+   *          the controller
+   * @param agbm
+   *          the agbm
+   * @return the completion stage of the response
+   * @throws Exception
+   *           the exception
+   */
+  <AGBM extends AbstractGameBootMessage> CompletionStage<Response> processAsync(C ctx,
+      GameBootMessageController controller, AGBM agbm) throws Exception;
+
   /**
    * Send the {@link Response} to the client.
    *
@@ -264,4 +289,14 @@ public interface ConnectionProcessor<C> extends ResponseContextCodes {
    */
   Locale getLocale(C ctx);
 
+  /**
+   * Gets the codec used for binary messages on the connection.
+   *
+   * @param ctx
+   *          the ctx
+   * @return the codec
+   * @see CodecRegistry
+   */
+  GameBootCodec getCodec(C ctx);
+
 }
\ No newline at end of file
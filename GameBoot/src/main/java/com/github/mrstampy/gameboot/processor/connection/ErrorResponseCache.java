@@ -0,0 +1,376 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.processor.connection;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.github.mrstampy.gameboot.codec.GameBootCodec;
+import com.github.mrstampy.gameboot.codec.processor.CodecRegistry;
+import com.github.mrstampy.gameboot.messages.GameBootMessageConverter;
+import com.github.mrstampy.gameboot.messages.Response;
+import com.github.mrstampy.gameboot.messages.Response.ResponseCode;
+import com.github.mrstampy.gameboot.messages.context.ResponseContext;
+
+/**
+ * The Class ErrorResponseCache holds pre-serialized templates of failure
+ * {@link Response}s, one per codec format, response type, code and locale.
+ * Only the id is patched into the template when rendered; binary codecs are
+ * cached for responses without an id.<br>
+ * <br>
+ * 
+ * A template is used only for responses with the description and payload
+ * message it was rendered from, and is rendered once the same description and
+ * payload recur within the last few failures of the code. At most a few
+ * templates are held per code and locale, so failures parameterized per
+ * message (system ids, message text) neither grow the cache nor displace the
+ * templates of repeated failures. Responses which cannot be templated are
+ * serialized by the {@link GameBootMessageConverter}.
+ */
+@Component
+public class ErrorResponseCache {
+
+  private static final int TEMPLATES_PER_ENTRY = 4;
+
+  private static final int CANDIDATES_PER_ENTRY = 8;
+
+  private static final Integer ID_PLACEHOLDER = Integer.MIN_VALUE;
+
+  private static final Object EMPTY_PAYLOAD = new Object();
+
+  private static final byte[] PLACEHOLDER_BYTES = ID_PLACEHOLDER.toString().getBytes(StandardCharsets.US_ASCII);
+
+  @Autowired
+  private GameBootMessageConverter converter;
+
+  @Autowired
+  private CodecRegistry registry;
+
+  private Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+  /**
+   * Returns the serialized response, from a template should the response be
+   * a cacheable failure.
+   *
+   * @param r
+   *          the r
+   * @param codec
+   *          the codec
+   * @param locale
+   *          the locale of the response's context
+   * @return the byte[]
+   * @throws Exception
+   *           the exception
+   */
+  public byte[] toJsonArray(Response r, GameBootCodec codec, Locale locale) throws Exception {
+    Template t = isCacheable(r, codec) ? getTemplate(r, codec, locale) : null;
+
+    byte[] b = t == null ? null : t.render(r.getId());
+
+    return b == null ? converter.toJsonArray(r, codec) : b;
+  }
+
+  /**
+   * Returns the response serialized with the default codec as a String, from
+   * a template should the response be a cacheable failure.
+   *
+   * @param r
+   *          the r
+   * @param locale
+   *          the locale of the response's context
+   * @return the string
+   * @throws Exception
+   *           the exception
+   */
+  public String toJson(Response r, Locale locale) throws Exception {
+    GameBootCodec codec = registry.getDefaultCodec();
+
+    Template t = isCacheable(r, codec) ? getTemplate(r, codec, locale) : null;
+
+    byte[] b = t == null ? null : t.render(r.getId());
+
+    return b == null ? converter.toJson(r) : new String(b, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Writes the serialized response to the stream, from a template should the
+   * response be a cacheable failure.
+   *
+   * @param r
+   *          the r
+   * @param codec
+   *          the codec
+   * @param locale
+   *          the locale of the response's context
+   * @param out
+   *          the out
+   * @throws Exception
+   *           the exception
+   */
+  public void toJsonStream(Response r, GameBootCodec codec, Locale locale, OutputStream out) throws Exception {
+    Template t = isCacheable(r, codec) ? getTemplate(r, codec, locale) : null;
+
+    if (t == null || !t.writeTo(r.getId(), out)) converter.toJsonStream(r, codec, out);
+  }
+
+  /**
+   * Clears the templates.
+   */
+  public void clear() {
+    entries.clear();
+  }
+
+  private Template getTemplate(Response r, GameBootCodec codec, Locale locale) throws Exception {
+    Entry e = entries.computeIfAbsent(new Key(codec, r, locale), k -> new Entry());
+    Fingerprint f = new Fingerprint(r);
+
+    Template t = e.get(f);
+    if (t != null || !e.admit(f)) return t;
+
+    t = createTemplate(r, codec, f);
+    e.add(t);
+
+    return t;
+  }
+
+  private boolean isCacheable(Response r, GameBootCodec codec) {
+    if (r == null || ResponseCode.FAILURE != r.getResponseCode() || r.getContext() == null) return false;
+    if (r.getMappingKeys() != null && r.getMappingKeys().length > 0) return false;
+    if (r.getId() != null && codec.isBinary()) return false;
+
+    Object[] payload = r.getPayload();
+
+    return payload == null || payload.length == 0 || (payload.length == 1 && payload[0] instanceof String);
+  }
+
+  private Template createTemplate(Response r, GameBootCodec codec, Fingerprint f) throws Exception {
+    Response copy = new Response(ResponseCode.FAILURE, r.getContext(), r.getPayload());
+    copy.setType(r.getType());
+
+    byte[] noId = converter.toJsonArray(copy, codec);
+    if (codec.isBinary()) return new Template(f, noId, null, null);
+
+    copy.setId(ID_PLACEHOLDER);
+    byte[] withId = converter.toJsonArray(copy, codec);
+
+    int idx = indexOf(withId, PLACEHOLDER_BYTES);
+    if (idx < 0) return new Template(f, noId, null, null);
+
+    byte[] prefix = new byte[idx];
+    System.arraycopy(withId, 0, prefix, 0, idx);
+
+    int start = idx + PLACEHOLDER_BYTES.length;
+    byte[] suffix = new byte[withId.length - start];
+    System.arraycopy(withId, start, suffix, 0, suffix.length);
+
+    return new Template(f, noId, prefix, suffix);
+  }
+
+  private static int indexOf(byte[] array, byte[] target) {
+    outer: for (int i = 0; i <= array.length - target.length; i++) {
+      for (int j = 0; j < target.length; j++) {
+        if (array[i + j] != target[j]) continue outer;
+      }
+      return i;
+    }
+
+    return -1;
+  }
+
+  /**
+   * The templates of a single key. Reads are lock free, admission and
+   * replacement synchronized.
+   */
+  private static class Entry {
+    private volatile Template[] templates = new Template[0];
+    private final Fingerprint[] candidates = new Fingerprint[CANDIDATES_PER_ENTRY];
+    private int nextCandidate;
+    private int nextReplaced;
+
+    Template get(Fingerprint f) {
+      for (Template t : templates) {
+        if (t.fingerprint.equals(f)) return t;
+      }
+
+      return null;
+    }
+
+    synchronized boolean admit(Fingerprint f) {
+      for (Fingerprint c : candidates) {
+        if (f.equals(c)) return true;
+      }
+
+      candidates[nextCandidate] = f;
+      nextCandidate = (nextCandidate + 1) % candidates.length;
+
+      return false;
+    }
+
+    synchronized void add(Template t) {
+      if (get(t.fingerprint) != null) return;
+
+      Template[] current = templates;
+      Template[] updated;
+      if (current.length < TEMPLATES_PER_ENTRY) {
+        updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = t;
+      } else {
+        updated = current.clone();
+        updated[nextReplaced] = t;
+        nextReplaced = (nextReplaced + 1) % updated.length;
+      }
+
+      templates = updated;
+    }
+  }
+
+  private static class Template {
+    private final Fingerprint fingerprint;
+    private final byte[] noId;
+    private final byte[] prefix;
+    private final byte[] suffix;
+
+    Template(Fingerprint fingerprint, byte[] noId, byte[] prefix, byte[] suffix) {
+      this.fingerprint = fingerprint;
+      this.noId = noId;
+      this.prefix = prefix;
+      this.suffix = suffix;
+    }
+
+    boolean writeTo(Integer id, OutputStream out) throws IOException {
+      if (id == null) {
+        out.write(noId);
+        return true;
+      }
+
+      if (prefix == null) return false;
+
+      out.write(prefix);
+      out.write(id.toString().getBytes(StandardCharsets.US_ASCII));
+      out.write(suffix);
+
+      return true;
+    }
+
+    byte[] render(Integer id) {
+      if (id == null) return noId;
+
+      if (prefix == null) return null;
+
+      byte[] ib = id.toString().getBytes(StandardCharsets.US_ASCII);
+
+      byte[] b = new byte[prefix.length + ib.length + suffix.length];
+      System.arraycopy(prefix, 0, b, 0, prefix.length);
+      System.arraycopy(ib, 0, b, prefix.length, ib.length);
+      System.arraycopy(suffix, 0, b, prefix.length + ib.length, suffix.length);
+
+      return b;
+    }
+  }
+
+  private static class Key {
+    private final String format;
+    private final String type;
+    private final int code;
+    private final Locale locale;
+    private final int hash;
+
+    Key(GameBootCodec codec, Response r, Locale locale) {
+      this.format = codec.getFormat();
+      this.type = r.getType();
+      this.code = r.getContext().getCode();
+      this.locale = locale == null ? Locale.getDefault() : locale;
+
+      hash = Objects.hash(format, type, code, this.locale);
+    }
+
+    public int hashCode() {
+      return hash;
+    }
+
+    public boolean equals(Object o) {
+      if (!(o instanceof Key)) return false;
+
+      Key k = (Key) o;
+
+      return code == k.code && Objects.equals(format, k.format) && Objects.equals(type, k.type)
+          && Objects.equals(locale, k.locale);
+    }
+  }
+
+  private static class Fingerprint {
+    private final String function;
+    private final String description;
+    private final Object payload;
+
+    Fingerprint(Response r) {
+      ResponseContext rc = r.getContext();
+      Object[] p = r.getPayload();
+
+      function = rc.getFunction();
+      description = rc.getDescription();
+      payload = p == null ? null : p.length == 0 ? EMPTY_PAYLOAD : p[0];
+    }
+
+    public int hashCode() {
+      return Objects.hash(function, description, payload);
+    }
+
+    public boolean equals(Object o) {
+      if (!(o instanceof Fingerprint)) return false;
+
+      Fingerprint f = (Fingerprint) o;
+
+      return Objects.equals(function, f.function) && Objects.equals(description, f.description)
+          && Objects.equals(payload, f.payload);
+    }
+  }
+}
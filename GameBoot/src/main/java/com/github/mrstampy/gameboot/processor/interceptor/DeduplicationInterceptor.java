@@ -0,0 +1,272 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.processor.interceptor;
+
+import java.lang.invoke.MethodHandles;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.mrstampy.gameboot.exception.GameBootRuntimeException;
+import com.github.mrstampy.gameboot.locale.processor.LocaleRegistry;
+import com.github.mrstampy.gameboot.messages.AbstractGameBootMessage;
+import com.github.mrstampy.gameboot.messages.Response;
+import com.github.mrstampy.gameboot.messages.context.ResponseContext;
+import com.github.mrstampy.gameboot.messages.context.ResponseContextCodes;
+import com.github.mrstampy.gameboot.messages.context.ResponseContextLookup;
+import com.github.mrstampy.gameboot.messages.finder.MessageClassFinder;
+import com.github.mrstampy.gameboot.metrics.MetricsHelper;
+
+/**
+ * Answers retransmitted {@link Deduplicated} messages with the response of the
+ * original, held in the {@link DeduplicationRegistry}. Duplicates arriving
+ * while the original is in process await its response, synchronously for at
+ * most 'game.boot.deduplication.await.millis' before failing with an
+ * {@link ResponseContextCodes#UNEXPECTED_ERROR}. Each duplicate receives a copy
+ * of the original's response. Messages without a system id or id are
+ * processed normally, as are duplicates of messages whose processing threw an
+ * exception.
+ */
+@Component
+public class DeduplicationInterceptor implements GameBootInterceptor, ResponseContextCodes {
+  private static final Logger log = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+  private static final String DUPLICATES = "Deduplication Duplicates";
+
+  @Autowired
+  private DeduplicationRegistry registry;
+
+  @Autowired
+  private MessageClassFinder finder;
+
+  @Autowired
+  private MetricsHelper helper;
+
+  @Autowired
+  private ResponseContextLookup lookup;
+
+  @Autowired
+  private LocaleRegistry localeRegistry;
+
+  @Value("${game.boot.deduplication.types}")
+  private String typesProperty;
+
+  @Value("${game.boot.deduplication.await.millis}")
+  private long awaitMillis;
+
+  private Set<String> types;
+
+  /**
+   * Post construct.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @PostConstruct
+  public void postConstruct() throws Exception {
+    types = Arrays.stream(StringUtils.split(StringUtils.defaultString(typesProperty), ','))
+        .map(String::trim)
+        .filter(s -> !s.isEmpty())
+        .collect(Collectors.toSet());
+
+    helper.counter(DUPLICATES, getClass(), "duplicates");
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see
+   * com.github.mrstampy.gameboot.processor.interceptor.GameBootInterceptor#
+   * supports(java.lang.String)
+   */
+  @Override
+  public boolean supports(String type) {
+    if (types.contains(type)) return true;
+
+    Class<?> clz = finder.findClass(type);
+
+    return clz != null && clz.isAnnotationPresent(Deduplicated.class);
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see
+   * com.github.mrstampy.gameboot.processor.interceptor.GameBootInterceptor#
+   * intercept(com.github.mrstampy.gameboot.messages.AbstractGameBootMessage,
+   * com.github.mrstampy.gameboot.processor.interceptor.GameBootInterceptor.
+   * Chain)
+   */
+  @Override
+  public Response intercept(AbstractGameBootMessage message, Chain chain) throws Exception {
+    if (!isIdentified(message)) return chain.proceed(message);
+
+    CompletableFuture<Response> response = new CompletableFuture<>();
+
+    CompletableFuture<Response> prior = registry.putIfAbsent(message, response);
+    if (prior != null) return duplicate(message, prior);
+
+    try {
+      Response r = chain.proceed(message);
+
+      response.complete(r);
+
+      return r;
+    } catch (Exception e) {
+      registry.remove(message, response);
+      response.completeExceptionally(e);
+      throw e;
+    }
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see
+   * com.github.mrstampy.gameboot.processor.interceptor.GameBootInterceptor#
+   * interceptAsync(com.github.mrstampy.gameboot.messages.
+   * AbstractGameBootMessage,
+   * com.github.mrstampy.gameboot.processor.interceptor.GameBootInterceptor.
+   * AsyncChain)
+   */
+  @Override
+  public CompletionStage<Response> interceptAsync(AbstractGameBootMessage message, AsyncChain chain)
+      throws Exception {
+    if (!isIdentified(message)) return chain.proceed(message);
+
+    CompletableFuture<Response> response = new CompletableFuture<>();
+
+    CompletableFuture<Response> prior = registry.putIfAbsent(message, response);
+    if (prior != null) {
+      helper.incr(DUPLICATES);
+      return prior.thenApply(r -> copy(r));
+    }
+
+    CompletionStage<Response> stage;
+    try {
+      stage = chain.proceed(message);
+    } catch (Exception e) {
+      registry.remove(message, response);
+      response.completeExceptionally(e);
+      throw e;
+    }
+
+    if (stage == null) {
+      response.complete(null);
+      return null;
+    }
+
+    return stage.whenComplete((r, t) -> {
+      if (t == null) {
+        response.complete(r);
+      } else {
+        registry.remove(message, response);
+        response.completeExceptionally(t);
+      }
+    });
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see
+   * com.github.mrstampy.gameboot.processor.interceptor.GameBootInterceptor#
+   * getOrder()
+   */
+  @Override
+  public int getOrder() {
+    return DEDUPLICATION_ORDER;
+  }
+
+  private Response duplicate(AbstractGameBootMessage message, CompletableFuture<Response> prior) throws Exception {
+    helper.incr(DUPLICATES);
+
+    try {
+      return copy(prior.get(awaitMillis, TimeUnit.MILLISECONDS));
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof Exception) throw (Exception) e.getCause();
+      throw e;
+    } catch (TimeoutException e) {
+      log.warn("Original of duplicate {} not processed within {} ms", message, awaitMillis);
+
+      Locale locale = localeRegistry.get(message.getSystemId());
+      ResponseContext rc = lookup.lookup(UNEXPECTED_ERROR, locale == null ? Locale.getDefault() : locale);
+
+      throw new GameBootRuntimeException("Duplicate " + message.getType() + " timed out", rc);
+    }
+  }
+
+  private Response copy(Response r) {
+    if (r == null) return null;
+
+    Response copy = new Response(r.getResponseCode(), r.getContext());
+    copy.setPayload(r.getPayload() == null ? null : r.getPayload().clone());
+    copy.setType(r.getType());
+    copy.setId(r.getId());
+    copy.setSystemId(r.getSystemId());
+    copy.setTransport(r.getTransport());
+    copy.setLocal(r.getLocal());
+    copy.setRemote(r.getRemote());
+    copy.setMappingKeys(r.getMappingKeys() == null ? null : r.getMappingKeys().clone());
+
+    return copy;
+  }
+
+  private boolean isIdentified(AbstractGameBootMessage message) {
+    return message.getSystemId() != null && message.getId() != null;
+  }
+}
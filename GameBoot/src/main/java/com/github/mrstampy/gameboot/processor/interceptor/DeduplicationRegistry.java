@@ -0,0 +1,225 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.processor.interceptor;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.mrstampy.gameboot.messages.AbstractGameBootMessage;
+import com.github.mrstampy.gameboot.messages.Response;
+import com.github.mrstampy.gameboot.systemid.SystemIdKey;
+import com.github.mrstampy.gameboot.util.registry.GameBootRegistry;
+
+/**
+ * Holds, per {@link SystemIdKey}, the responses to recently processed
+ * {@link Deduplicated} messages keyed by message type and id. Each connection
+ * retains at most 'game.boot.deduplication.max.per.connection' responses for
+ * 'game.boot.deduplication.window.seconds', the window being removed on
+ * disconnection.
+ * 
+ * @see DeduplicationInterceptor
+ */
+@Component
+public class DeduplicationRegistry extends GameBootRegistry<DeduplicationRegistry.Window> {
+
+  @Value("${game.boot.deduplication.window.seconds}")
+  private int windowSeconds;
+
+  @Value("${game.boot.deduplication.max.per.connection}")
+  private int maxPerConnection;
+
+  private long windowNanos;
+
+  /**
+   * Post construct.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @PostConstruct
+  public void postConstruct() throws Exception {
+    if (windowSeconds <= 0) throw new IllegalStateException("game.boot.deduplication.window.seconds must be > 0");
+    if (maxPerConnection <= 0) {
+      throw new IllegalStateException("game.boot.deduplication.max.per.connection must be > 0");
+    }
+
+    windowNanos = TimeUnit.SECONDS.toNanos(windowSeconds);
+  }
+
+  /**
+   * Registers the response for the message unless the response of an
+   * unexpired prior message of the same type and id exists, in which case it
+   * is returned.
+   *
+   * @param message
+   *          the message
+   * @param response
+   *          the response
+   * @return the prior response, null if none
+   */
+  public CompletableFuture<Response> putIfAbsent(AbstractGameBootMessage message, CompletableFuture<Response> response) {
+    checkKey(message.getSystemId());
+
+    Window window = map.computeIfAbsent(message.getSystemId(), k -> new Window(maxPerConnection, windowNanos));
+
+    return window.putIfAbsent(new Key(message), response);
+  }
+
+  /**
+   * Removes the response for the message should it be the one registered.
+   *
+   * @param message
+   *          the message
+   * @param response
+   *          the response
+   */
+  public void remove(AbstractGameBootMessage message, CompletableFuture<Response> response) {
+    Window window = map.get(message.getSystemId());
+
+    if (window != null) window.remove(new Key(message), response);
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see com.github.mrstampy.gameboot.util.registry.GameBootRegistry#isLogOk()
+   */
+  @Override
+  protected boolean isLogOk() {
+    return false;
+  }
+
+  /**
+   * The responses of a connection, in order of registration.
+   */
+  public static class Window {
+
+    private final long windowNanos;
+
+    private final Map<Key, Registered> responses;
+
+    private Window(int max, long windowNanos) {
+      this.windowNanos = windowNanos;
+
+      responses = new LinkedHashMap<Key, Registered>() {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Entry<Key, Registered> eldest) {
+          return size() > max;
+        }
+      };
+    }
+
+    private synchronized CompletableFuture<Response> putIfAbsent(Key key, CompletableFuture<Response> response) {
+      long now = System.nanoTime();
+
+      expire(now);
+
+      Registered prior = responses.get(key);
+      if (prior != null) return prior.response;
+
+      responses.put(key, new Registered(response, now));
+
+      return null;
+    }
+
+    private synchronized void remove(Key key, CompletableFuture<Response> response) {
+      Registered r = responses.get(key);
+
+      if (r != null && r.response == response) responses.remove(key);
+    }
+
+    private void expire(long now) {
+      Iterator<Registered> it = responses.values().iterator();
+
+      while (it.hasNext()) {
+        if (now - it.next().registered < windowNanos) break;
+        it.remove();
+      }
+    }
+  }
+
+  private static class Registered {
+    final CompletableFuture<Response> response;
+    final long registered;
+
+    Registered(CompletableFuture<Response> response, long registered) {
+      this.response = response;
+      this.registered = registered;
+    }
+  }
+
+  private static class Key {
+    final String type;
+    final Integer id;
+
+    Key(AbstractGameBootMessage message) {
+      this.type = message.getType();
+      this.id = message.getId();
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(type, id);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Key)) return false;
+
+      Key k = (Key) o;
+
+      return Objects.equals(type, k.type) && Objects.equals(id, k.id);
+    }
+  }
+}
@@ -0,0 +1,177 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.processor.interceptor;
+
+import java.util.concurrent.CompletionStage;
+
+import org.springframework.core.Ordered;
+
+import com.github.mrstampy.gameboot.controller.GameBootMessageController;
+import com.github.mrstampy.gameboot.messages.AbstractGameBootMessage;
+import com.github.mrstampy.gameboot.messages.Response;
+import com.github.mrstampy.gameboot.processor.AsyncGameBootProcessor;
+import com.github.mrstampy.gameboot.processor.GameBootProcessor;
+
+/**
+ * Implementations wrap the processing of messages by the
+ * {@link GameBootMessageController}. On startup the controller compiles, for
+ * each message type, the {@link Ordered} array of the interceptors which
+ * {@link #supports(String)} the type into a chain of direct calls ending in
+ * the type's {@link GameBootProcessor}. Cross cutting concerns (metrics,
+ * validation, logging etc.) are then applied without proxies or reflection.
+ * <br>
+ * <br>
+ * 
+ * Interceptors are Spring beans, discovered on startup. Those not overriding
+ * {@link #interceptAsync(AbstractGameBootMessage, AsyncChain)} are bypassed
+ * when processing asynchronously.
+ * 
+ * @see MetricsInterceptor
+ * @see LoggingInterceptor
+ * @see DeduplicationInterceptor
+ * @see ValidationInterceptor
+ */
+public interface GameBootInterceptor extends Ordered {
+
+  /** The order of the {@link MetricsInterceptor}. */
+  public static final int METRICS_ORDER = Ordered.HIGHEST_PRECEDENCE + 100;
+
+  /** The order of the {@link LoggingInterceptor}. */
+  public static final int LOGGING_ORDER = Ordered.HIGHEST_PRECEDENCE + 200;
+
+  /** The order of the {@link DeduplicationInterceptor}. */
+  public static final int DEDUPLICATION_ORDER = Ordered.HIGHEST_PRECEDENCE + 250;
+
+  /** The order of the {@link ValidationInterceptor}. */
+  public static final int VALIDATION_ORDER = Ordered.HIGHEST_PRECEDENCE + 300;
+
+  /**
+   * The remainder of the chain, synchronously.
+   */
+  @FunctionalInterface
+  public interface Chain {
+
+    /**
+     * Proceed with the next interceptor or the {@link GameBootProcessor}.
+     *
+     * @param message
+     *          the message
+     * @return the response
+     * @throws Exception
+     *           the exception
+     */
+    Response proceed(AbstractGameBootMessage message) throws Exception;
+  }
+
+  /**
+   * The remainder of the chain, asynchronously.
+   */
+  @FunctionalInterface
+  public interface AsyncChain {
+
+    /**
+     * Proceed with the next interceptor or the {@link GameBootProcessor},
+     * processing with the {@link AsyncGameBootProcessor} if so implemented.
+     *
+     * @param message
+     *          the message
+     * @return the completion stage of the response
+     * @throws Exception
+     *           the exception
+     */
+    CompletionStage<Response> proceed(AbstractGameBootMessage message) throws Exception;
+  }
+
+  /**
+   * Returns true if the interceptor applies to messages of the specified type.
+   * Invoked once per type on startup.
+   *
+   * @param type
+   *          the type
+   * @return true, if successful
+   */
+  default boolean supports(String type) {
+    return true;
+  }
+
+  /**
+   * Intercept the message, invoking {@link Chain#proceed(AbstractGameBootMessage)}
+   * to continue processing.
+   *
+   * @param message
+   *          the message
+   * @param chain
+   *          the chain
+   * @return the response
+   * @throws Exception
+   *           the exception
+   */
+  Response intercept(AbstractGameBootMessage message, Chain chain) throws Exception;
+
+  /**
+   * Intercept the message processed asynchronously, invoking
+   * {@link AsyncChain#proceed(AbstractGameBootMessage)} to continue processing.
+   * The default implementation proceeds without interception.
+   *
+   * @param message
+   *          the message
+   * @param chain
+   *          the chain
+   * @return the completion stage of the response
+   * @throws Exception
+   *           the exception
+   */
+  default CompletionStage<Response> interceptAsync(AbstractGameBootMessage message, AsyncChain chain)
+      throws Exception {
+    return chain.proceed(message);
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see org.springframework.core.Ordered#getOrder()
+   */
+  @Override
+  default int getOrder() {
+    return 0;
+  }
+}
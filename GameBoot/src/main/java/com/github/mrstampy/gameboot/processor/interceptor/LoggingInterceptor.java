@@ -0,0 +1,133 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.processor.interceptor;
+
+import java.lang.invoke.MethodHandles;
+import java.util.concurrent.CompletionStage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.github.mrstampy.gameboot.messages.AbstractGameBootMessage;
+import com.github.mrstampy.gameboot.messages.Response;
+
+/**
+ * Logs, at debug level, the receipt of each message and the code and elapsed
+ * time of its response.
+ */
+@Component
+public class LoggingInterceptor implements GameBootInterceptor {
+  private static final Logger log = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see
+   * com.github.mrstampy.gameboot.processor.interceptor.GameBootInterceptor#
+   * intercept(com.github.mrstampy.gameboot.messages.AbstractGameBootMessage,
+   * com.github.mrstampy.gameboot.processor.interceptor.GameBootInterceptor.
+   * Chain)
+   */
+  @Override
+  public Response intercept(AbstractGameBootMessage message, Chain chain) throws Exception {
+    if (!log.isDebugEnabled()) return chain.proceed(message);
+
+    long start = received(message);
+
+    Response r = chain.proceed(message);
+
+    responded(message, r, start);
+
+    return r;
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see
+   * com.github.mrstampy.gameboot.processor.interceptor.GameBootInterceptor#
+   * interceptAsync(com.github.mrstampy.gameboot.messages.
+   * AbstractGameBootMessage,
+   * com.github.mrstampy.gameboot.processor.interceptor.GameBootInterceptor.
+   * AsyncChain)
+   */
+  @Override
+  public CompletionStage<Response> interceptAsync(AbstractGameBootMessage message, AsyncChain chain)
+      throws Exception {
+    if (!log.isDebugEnabled()) return chain.proceed(message);
+
+    long start = received(message);
+
+    CompletionStage<Response> stage = chain.proceed(message);
+
+    return stage == null ? null : stage.whenComplete((r, t) -> responded(message, r, start));
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see
+   * com.github.mrstampy.gameboot.processor.interceptor.GameBootInterceptor#
+   * getOrder()
+   */
+  @Override
+  public int getOrder() {
+    return LOGGING_ORDER;
+  }
+
+  private long received(AbstractGameBootMessage message) {
+    log.debug("Received message type {}, id {} from {}", message.getType(), message.getId(), message.getSystemId());
+
+    return System.nanoTime();
+  }
+
+  private void responded(AbstractGameBootMessage message, Response r, long start) {
+    long elapsed = (System.nanoTime() - start) / 1000;
+
+    log.debug("Responded {} to message type {}, id {} in {} micros",
+        r == null ? null : r.getResponseCode(),
+        message.getType(),
+        message.getId(),
+        elapsed);
+  }
+}
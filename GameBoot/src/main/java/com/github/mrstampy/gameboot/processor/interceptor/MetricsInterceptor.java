@@ -0,0 +1,245 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.processor.interceptor;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.codahale.metrics.Timer;
+import com.codahale.metrics.Timer.Context;
+import com.github.mrstampy.gameboot.messages.AbstractGameBootMessage;
+import com.github.mrstampy.gameboot.messages.AbstractGameBootMessage.Transport;
+import com.github.mrstampy.gameboot.messages.Response;
+import com.github.mrstampy.gameboot.metrics.MetricsHelper;
+import com.github.mrstampy.gameboot.processor.AbstractGameBootProcessor;
+
+/**
+ * The outermost {@link GameBootInterceptor}, ensuring all messages processed
+ * are profiled. In addition to the overall process timer, processing latency
+ * is recorded per message type and per {@link Transport} in high resolution
+ * timers registered as each type and transport is first encountered.
+ * 
+ * @see MetricsHelper#lazyTimer(String, Class, String...)
+ */
+@Component
+public class MetricsInterceptor implements GameBootInterceptor {
+
+  private static final String PROCESS_TIMER = "ProcessTimer";
+
+  private static final String FAILED_REQUESTS = "FailedRequests";
+
+  private static final String ALERT_REQUESTS = "AlertRequests";
+
+  private static final String INFO_REQUESTS = "InfoRequests";
+
+  private static final String SUCCESS_REQUESTS = "SuccessRequests";
+
+  private static final String WARNING_REQUESTS = "WarningRequests";
+
+  private static final String TYPE_TIMER = "ProcessTimer Type ";
+
+  private static final String TRANSPORT_TIMER = "ProcessTimer Transport ";
+
+  @Autowired
+  private MetricsHelper helper;
+
+  private Map<String, Optional<Timer>> typeTimers = new ConcurrentHashMap<>();
+
+  private Map<Transport, Optional<Timer>> transportTimers = new ConcurrentHashMap<>();
+
+  /**
+   * Post construct.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @PostConstruct
+  public void postConstruct() throws Exception {
+    helper.timer(PROCESS_TIMER, AbstractGameBootProcessor.class, "process", "timer");
+    helper.counter(FAILED_REQUESTS, AbstractGameBootProcessor.class, "failed", "requests");
+    helper.counter(ALERT_REQUESTS, AbstractGameBootProcessor.class, "alert", "requests");
+    helper.counter(INFO_REQUESTS, AbstractGameBootProcessor.class, "info", "requests");
+    helper.counter(SUCCESS_REQUESTS, AbstractGameBootProcessor.class, "success", "requests");
+    helper.counter(WARNING_REQUESTS, AbstractGameBootProcessor.class, "warning", "requests");
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see
+   * com.github.mrstampy.gameboot.processor.interceptor.GameBootInterceptor#
+   * intercept(com.github.mrstampy.gameboot.messages.AbstractGameBootMessage,
+   * com.github.mrstampy.gameboot.processor.interceptor.GameBootInterceptor.
+   * Chain)
+   */
+  @Override
+  public Response intercept(AbstractGameBootMessage message, Chain chain) throws Exception {
+    Optional<Context> ctx = helper.startTimer(PROCESS_TIMER);
+    long start = System.nanoTime();
+
+    try {
+      Response r = chain.proceed(message);
+
+      count(r);
+
+      return r;
+    } finally {
+      helper.stopTimer(ctx);
+      latency(message, start);
+    }
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see
+   * com.github.mrstampy.gameboot.processor.interceptor.GameBootInterceptor#
+   * interceptAsync(com.github.mrstampy.gameboot.messages.
+   * AbstractGameBootMessage,
+   * com.github.mrstampy.gameboot.processor.interceptor.GameBootInterceptor.
+   * AsyncChain)
+   */
+  @Override
+  public CompletionStage<Response> interceptAsync(AbstractGameBootMessage message, AsyncChain chain)
+      throws Exception {
+    Optional<Context> ctx = helper.startTimer(PROCESS_TIMER);
+    long start = System.nanoTime();
+
+    CompletionStage<Response> stage;
+    try {
+      stage = chain.proceed(message);
+    } catch (Exception e) {
+      helper.stopTimer(ctx);
+      latency(message, start);
+      throw e;
+    }
+
+    if (stage == null) {
+      helper.stopTimer(ctx);
+      latency(message, start);
+      return null;
+    }
+
+    return stage.whenComplete((r, t) -> {
+      helper.stopTimer(ctx);
+      latency(message, start);
+      count(r);
+    });
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see
+   * com.github.mrstampy.gameboot.processor.interceptor.GameBootInterceptor#
+   * getOrder()
+   */
+  @Override
+  public int getOrder() {
+    return METRICS_ORDER;
+  }
+
+  private void latency(AbstractGameBootMessage message, long start) {
+    long elapsed = System.nanoTime() - start;
+
+    Optional<Timer> type = getTypeTimer(message.getType());
+    if (type.isPresent()) type.get().update(elapsed, TimeUnit.NANOSECONDS);
+
+    if (message.getTransport() == null) return;
+
+    Optional<Timer> transport = getTransportTimer(message.getTransport());
+    if (transport.isPresent()) transport.get().update(elapsed, TimeUnit.NANOSECONDS);
+  }
+
+  private Optional<Timer> getTypeTimer(String type) {
+    Optional<Timer> timer = typeTimers.get(type);
+    if (timer != null) return timer;
+
+    return typeTimers.computeIfAbsent(type,
+        t -> helper.lazyTimer(TYPE_TIMER + t, AbstractGameBootProcessor.class, "process", "timer", "type", t));
+  }
+
+  private Optional<Timer> getTransportTimer(Transport transport) {
+    Optional<Timer> timer = transportTimers.get(transport);
+    if (timer != null) return timer;
+
+    return transportTimers.computeIfAbsent(transport,
+        t -> helper.lazyTimer(TRANSPORT_TIMER + t,
+            AbstractGameBootProcessor.class,
+            "process",
+            "timer",
+            "transport",
+            t.name().toLowerCase()));
+  }
+
+  private void count(Response r) {
+    if (r == null) return;
+
+    switch (r.getResponseCode()) {
+    case FAILURE:
+      helper.incr(FAILED_REQUESTS);
+      break;
+    case ALERT:
+      helper.incr(ALERT_REQUESTS);
+      break;
+    case INFO:
+      helper.incr(INFO_REQUESTS);
+      break;
+    case SUCCESS:
+      helper.incr(SUCCESS_REQUESTS);
+      break;
+    case WARNING:
+      helper.incr(WARNING_REQUESTS);
+      break;
+    default:
+      break;
+    }
+  }
+}
@@ -0,0 +1,179 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.processor.interceptor;
+
+import java.lang.invoke.MethodHandles;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+
+import javax.annotation.PostConstruct;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.ValidationException;
+import javax.validation.Validator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.github.mrstampy.gameboot.exception.GameBootRuntimeException;
+import com.github.mrstampy.gameboot.locale.processor.LocaleRegistry;
+import com.github.mrstampy.gameboot.messages.AbstractGameBootMessage;
+import com.github.mrstampy.gameboot.messages.Response;
+import com.github.mrstampy.gameboot.messages.context.ResponseContext;
+import com.github.mrstampy.gameboot.messages.context.ResponseContextCodes;
+import com.github.mrstampy.gameboot.messages.context.ResponseContextLookup;
+import com.github.mrstampy.gameboot.messages.finder.MessageClassFinder;
+
+/**
+ * Validates messages annotated with <a href=
+ * "http://beanvalidation.org/">Bean Validation</a> constraints prior to
+ * processing, failing with a {@link ResponseContextCodes#CONSTRAINT_VIOLATION}
+ * for the first violation found. Message types without constraints are not
+ * intercepted.
+ */
+@Component
+public class ValidationInterceptor implements GameBootInterceptor, ResponseContextCodes {
+  private static final Logger log = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+  @Autowired
+  private MessageClassFinder finder;
+
+  @Autowired
+  private ResponseContextLookup lookup;
+
+  @Autowired
+  private LocaleRegistry localeRegistry;
+
+  private Validator validator;
+
+  /**
+   * Post construct.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @PostConstruct
+  public void postConstruct() throws Exception {
+    try {
+      validator = Validation.buildDefaultValidatorFactory().getValidator();
+    } catch (ValidationException e) {
+      log.warn("No bean validation provider available, messages will not be validated");
+    }
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see
+   * com.github.mrstampy.gameboot.processor.interceptor.GameBootInterceptor#
+   * supports(java.lang.String)
+   */
+  @Override
+  public boolean supports(String type) {
+    if (validator == null) return false;
+
+    Class<?> clz = finder.findClass(type);
+
+    return clz != null && validator.getConstraintsForClass(clz).isBeanConstrained();
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see
+   * com.github.mrstampy.gameboot.processor.interceptor.GameBootInterceptor#
+   * intercept(com.github.mrstampy.gameboot.messages.AbstractGameBootMessage,
+   * com.github.mrstampy.gameboot.processor.interceptor.GameBootInterceptor.
+   * Chain)
+   */
+  @Override
+  public Response intercept(AbstractGameBootMessage message, Chain chain) throws Exception {
+    validate(message);
+
+    return chain.proceed(message);
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see
+   * com.github.mrstampy.gameboot.processor.interceptor.GameBootInterceptor#
+   * interceptAsync(com.github.mrstampy.gameboot.messages.
+   * AbstractGameBootMessage,
+   * com.github.mrstampy.gameboot.processor.interceptor.GameBootInterceptor.
+   * AsyncChain)
+   */
+  @Override
+  public CompletionStage<Response> interceptAsync(AbstractGameBootMessage message, AsyncChain chain)
+      throws Exception {
+    validate(message);
+
+    return chain.proceed(message);
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see
+   * com.github.mrstampy.gameboot.processor.interceptor.GameBootInterceptor#
+   * getOrder()
+   */
+  @Override
+  public int getOrder() {
+    return VALIDATION_ORDER;
+  }
+
+  private void validate(AbstractGameBootMessage message) {
+    Set<ConstraintViolation<AbstractGameBootMessage>> violations = validator.validate(message);
+    if (violations.isEmpty()) return;
+
+    ConstraintViolation<AbstractGameBootMessage> cv = violations.iterator().next();
+
+    Locale locale = message.getSystemId() == null ? Locale.getDefault() : localeRegistry.get(message.getSystemId());
+    ResponseContext rc = lookup.lookup(CONSTRAINT_VIOLATION, locale, cv.getPropertyPath(), cv.getMessage());
+
+    throw new GameBootRuntimeException("Invalid " + message.getType(), rc);
+  }
+}
@@ -41,11 +41,16 @@
  */
 package com.github.mrstampy.gameboot.systemid.messages;
 
+import com.github.mrstampy.gameboot.concurrent.DispatchLane;
+import com.github.mrstampy.gameboot.concurrent.Lane;
 import com.github.mrstampy.gameboot.messages.AbstractGameBootMessage;
+import com.github.mrstampy.gameboot.messages.finder.MessageType;
 
 /**
  * The Class SystemIdMessage.
  */
+@MessageType(SystemIdMessage.TYPE)
+@DispatchLane(Lane.CONTROL)
 public class SystemIdMessage extends AbstractGameBootMessage {
 
   /** The Constant TYPE. */
@@ -45,12 +45,16 @@ import static org.apache.commons.lang3.StringUtils.isEmpty;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.github.mrstampy.gameboot.metrics.MetricsHelper;
 import com.github.mrstampy.gameboot.usersession.data.entity.UserSession;
@@ -58,7 +62,12 @@ import com.github.mrstampy.gameboot.usersession.data.entity.UserSession;
 /**
  * Maintains a map in memory of usernames vs. active session ids for up-to-date
  * checking of active sessions. This class is managed by
- * {@link UserSessionAssist}.
+ * {@link UserSessionAssist}.<br>
+ * <br>
+ * 
+ * Changes made within a transaction are visible only to that transaction until
+ * it commits and are discarded should it roll back, so that the in memory state
+ * never refers to uncommitted {@link UserSession}s.
  */
 @Component
 @Profile(UserSessionConfiguration.USER_SESSION_PROFILE)
@@ -88,7 +97,14 @@ public class ActiveSessions {
    *          the session
    */
   public void addSession(UserSession session) {
-    sessions.put(session.getUser().getUserName(), session.getId());
+    String userName = session.getUser().getUserName();
+
+    Map<String, Long> pending = pending(true);
+    if (pending == null) {
+      sessions.put(userName, session.getId());
+    } else {
+      pending.put(userName, session.getId());
+    }
   }
 
   /**
@@ -99,7 +115,12 @@ public class ActiveSessions {
    * @return true, if successful
    */
   public boolean hasSession(String userName) {
-    return isEmpty(userName) ? false : sessions.containsKey(userName);
+    if (isEmpty(userName)) return false;
+
+    Map<String, Long> pending = pending(false);
+    if (pending != null && pending.containsKey(userName)) return pending.get(userName) != null;
+
+    return sessions.containsKey(userName);
   }
 
   /**
@@ -110,7 +131,7 @@ public class ActiveSessions {
    * @return true, if successful
    */
   public boolean hasSession(Long id) {
-    return id == null ? false : sessions.containsValue(id);
+    return id == null ? false : view().containsValue(id);
   }
 
   /**
@@ -120,7 +141,14 @@ public class ActiveSessions {
    *          the session
    */
   public void removeSession(UserSession session) {
-    sessions.remove(session.getUser().getUserName());
+    String userName = session.getUser().getUserName();
+
+    Map<String, Long> pending = pending(true);
+    if (pending == null) {
+      sessions.remove(userName);
+    } else {
+      pending.put(userName, null);
+    }
   }
 
   /**
@@ -129,7 +157,7 @@ public class ActiveSessions {
    * @return the session ids
    */
   public Collection<Long> getSessionIds() {
-    return Collections.unmodifiableCollection(sessions.values());
+    return Collections.unmodifiableCollection(view().values());
   }
 
   /**
@@ -138,6 +166,56 @@ public class ActiveSessions {
    * @return the int
    */
   public int size() {
-    return sessions.size();
+    return view().size();
+  }
+
+  private Map<String, Long> view() {
+    Map<String, Long> pending = pending(false);
+    if (pending == null) return sessions;
+
+    Map<String, Long> view = new HashMap<>(sessions);
+    apply(pending, view);
+
+    return view;
+  }
+
+  /**
+   * Returns the changes of the current transaction, null if there is no
+   * transaction. Should create be true and no changes have been made the
+   * changes are registered for application to the active sessions on commit.
+   */
+  @SuppressWarnings("unchecked")
+  private Map<String, Long> pending(boolean create) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) return null;
+
+    Map<String, Long> pending = (Map<String, Long>) TransactionSynchronizationManager.getResource(this);
+    if (pending != null || !create) return pending;
+
+    Map<String, Long> changes = new HashMap<>();
+    TransactionSynchronizationManager.bindResource(this, changes);
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+      @Override
+      public void afterCommit() {
+        apply(changes, sessions);
+      }
+
+      @Override
+      public void afterCompletion(int status) {
+        TransactionSynchronizationManager.unbindResourceIfPossible(ActiveSessions.this);
+      }
+    });
+
+    return changes;
+  }
+
+  private static void apply(Map<String, Long> changes, Map<String, Long> map) {
+    for (Entry<String, Long> e : changes.entrySet()) {
+      if (e.getValue() == null) {
+        map.remove(e.getKey());
+      } else {
+        map.put(e.getKey(), e.getValue());
+      }
+    }
   }
 }
@@ -57,6 +57,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.codahale.metrics.Timer.Context;
 import com.github.mrstampy.gameboot.exception.GameBootRuntimeException;
@@ -275,8 +277,12 @@ public class UserSessionAssist implements ResponseContextCodes {
 
     User user = session.getUser();
 
-    cleaner.cleanup(new UsernameKey(user.getUserName()));
-    cleaner.cleanup(new UserSessionKey(session));
+    UsernameKey usernameKey = new UsernameKey(user.getUserName());
+    UserSessionKey sessionKey = new UserSessionKey(session);
+    afterCommit(() -> {
+      cleaner.cleanup(usernameKey);
+      cleaner.cleanup(sessionKey);
+    });
 
     closeSession(session);
 
@@ -322,6 +328,21 @@ public class UserSessionAssist implements ResponseContextCodes {
     log.info("User {} logged out", session.getUser().getUserName());
   }
 
+  private void afterCommit(Runnable r) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      r.run();
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+      @Override
+      public void afterCommit() {
+        r.run();
+      }
+    });
+  }
+
   private void userCheck(User user) throws GameBootRuntimeException {
     check(NO_USER_RECORD, user == null, "null user");
   }
@@ -48,12 +48,14 @@ import org.apache.commons.lang3.builder.ToStringBuilder;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonFormat.Shape;
 import com.github.mrstampy.gameboot.messages.AbstractGameBootMessage;
+import com.github.mrstampy.gameboot.messages.finder.MessageType;
 import com.github.mrstampy.gameboot.usersession.data.entity.User;
 import com.github.mrstampy.gameboot.usersession.data.entity.User.UserState;
 
 /**
  * Message class to perform operations on/for a {@link User}.
  */
+@MessageType(UserMessage.TYPE)
 public class UserMessage extends AbstractGameBootMessage {
 
   /** The Constant TYPE. */
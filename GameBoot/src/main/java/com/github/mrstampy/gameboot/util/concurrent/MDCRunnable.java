@@ -69,9 +69,11 @@ public abstract class MDCRunnable implements Runnable {
   public final void run() {
     MDC.setContextMap(mdc);
 
-    runImpl();
-
-    MDC.clear();
+    try {
+      runImpl();
+    } finally {
+      MDC.clear();
+    }
   }
 
   /**
@@ -0,0 +1,305 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.util.registry;
+
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Registry superclass which removes values {@link #getExpiryMillis()} after
+ * they were put or last {@link #touch(AbstractRegistryKey)}ed.<br>
+ * <br>
+ * 
+ * Deadlines are kept in a hashed timing wheel of {@link #WHEEL_SIZE} buckets,
+ * each spanning {@link #getTickMillis()}, swept by a single task on the
+ * {@link ScheduledExecutorService}. Touching a value only writes its new
+ * deadline; the wheel entry is moved lazily when its bucket is swept and the
+ * deadline found to have been extended. Removed or replaced values leave their
+ * entries behind to be discarded on sweeping. Values and their deadlines are
+ * changed together under the lock of the key's deadline so that expiry never
+ * removes a value put concurrently.
+ *
+ * @param <V>
+ *          the value type
+ */
+public abstract class ExpiringGameBootRegistry<V> extends GameBootRegistry<V> {
+  private static final Logger log = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+  /** The Constant WHEEL_SIZE. */
+  public static final int WHEEL_SIZE = 512;
+
+  @Autowired
+  private ScheduledExecutorService svc;
+
+  private Map<AbstractRegistryKey<?>, Deadline> deadlines = new ConcurrentHashMap<>();
+
+  private List<Queue<Deadline>> wheel = new ArrayList<>(WHEEL_SIZE);
+
+  private long tickMillis;
+
+  private long lastTick;
+
+  private ScheduledFuture<?> sweeper;
+
+  /**
+   * Starts the sweeping of expired values.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @PostConstruct
+  public void startExpiry() throws Exception {
+    if (getExpiryMillis() <= 0) throw new IllegalStateException(getClass().getSimpleName() + " expiry must be > 0");
+
+    tickMillis = getTickMillis();
+    if (tickMillis <= 0) throw new IllegalStateException(getClass().getSimpleName() + " tick must be > 0");
+
+    for (int i = 0; i < WHEEL_SIZE; i++) {
+      wheel.add(new ConcurrentLinkedQueue<>());
+    }
+
+    lastTick = now() / tickMillis;
+
+    sweeper = svc.scheduleAtFixedRate(() -> sweep(), tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Stops the sweeping of expired values.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @PreDestroy
+  public void stopExpiry() throws Exception {
+    if (sweeper != null) sweeper.cancel(false);
+  }
+
+  /**
+   * Puts the value, expiring it {@link #getExpiryMillis()} from now.
+   *
+   * @param key
+   *          the key
+   * @param value
+   *          the value
+   */
+  @Override
+  public void put(AbstractRegistryKey<?> key, V value) {
+    checkKey(key);
+
+    Deadline d = new Deadline(key, now() + getExpiryMillis());
+
+    deadlines.compute(key, (k, old) -> {
+      super.put(key, value);
+      return d;
+    });
+
+    schedule(d, tick(d.expiresAt));
+  }
+
+  /**
+   * Removes the value.
+   *
+   * @param key
+   *          the key
+   * @return the v
+   */
+  @Override
+  public V remove(AbstractRegistryKey<?> key) {
+    checkKey(key);
+
+    List<V> removed = new ArrayList<>(1);
+    deadlines.compute(key, (k, old) -> {
+      removed.add(super.remove(key));
+      return null;
+    });
+
+    return removed.get(0);
+  }
+
+  /**
+   * Restarts the expiry of the value, if any, mapped by the key.
+   *
+   * @param key
+   *          the key
+   * @return true, if the value exists
+   */
+  public boolean touch(AbstractRegistryKey<?> key) {
+    checkKey(key);
+
+    Deadline d = deadlines.get(key);
+    if (d == null) return false;
+
+    d.expiresAt = now() + getExpiryMillis();
+
+    return true;
+  }
+
+  /**
+   * Returns the number of milliseconds after which values expire.
+   *
+   * @return the expiry millis
+   */
+  protected abstract long getExpiryMillis();
+
+  /**
+   * Returns the duration of a tick of the timing wheel, the resolution of
+   * expiry. Defaults to one second.
+   *
+   * @return the tick millis
+   */
+  protected long getTickMillis() {
+    return 1000;
+  }
+
+  /**
+   * Invoked after the value has expired and been removed. Empty
+   * implementation.
+   *
+   * @param key
+   *          the key
+   * @param value
+   *          the value
+   */
+  protected void onExpiry(AbstractRegistryKey<?> key, V value) {
+  }
+
+  /**
+   * Returns the current time in millis.
+   *
+   * @return the long
+   */
+  protected long now() {
+    return System.currentTimeMillis();
+  }
+
+  private void sweep() {
+    try {
+      long now = now();
+      long current = now / tickMillis;
+
+      // catch up should a sweep be late, at most one revolution
+      for (long t = Math.max(lastTick + 1, current - WHEEL_SIZE + 1); t <= current; t++) {
+        sweep(t, now);
+      }
+
+      lastTick = current;
+    } catch (Throwable e) {
+      log.error("Unexpected exception sweeping {}", getClass().getSimpleName(), e);
+    }
+  }
+
+  private void sweep(long tick, long now) {
+    Queue<Deadline> bucket = bucket(tick);
+
+    List<Deadline> swept = new ArrayList<>();
+    Deadline d;
+    while ((d = bucket.poll()) != null) {
+      swept.add(d);
+    }
+
+    swept.forEach(e -> evaluate(e, now));
+  }
+
+  private void evaluate(Deadline d, long now) {
+    if (deadlines.get(d.key) != d) return;
+
+    if (d.expiresAt > now) {
+      schedule(d, tick(d.expiresAt));
+      return;
+    }
+
+    List<V> expired = new ArrayList<>(1);
+    deadlines.compute(d.key, (k, current) -> {
+      if (current != d || d.expiresAt > now) return current;
+
+      expired.add(super.remove(k));
+      return null;
+    });
+
+    if (expired.isEmpty()) {
+      // touched since the check above
+      if (deadlines.get(d.key) == d) schedule(d, tick(d.expiresAt));
+      return;
+    }
+
+    V value = expired.get(0);
+    if (value != null) onExpiry(d.key, value);
+  }
+
+  private void schedule(Deadline d, long tick) {
+    bucket(tick).add(d);
+  }
+
+  private Queue<Deadline> bucket(long tick) {
+    return wheel.get((int) (tick % WHEEL_SIZE));
+  }
+
+  // the tick on whose sweep the deadline will have passed
+  private long tick(long millis) {
+    return (millis + tickMillis - 1) / tickMillis;
+  }
+
+  private static class Deadline {
+    final AbstractRegistryKey<?> key;
+    volatile long expiresAt;
+
+    Deadline(AbstractRegistryKey<?> key, long expiresAt) {
+      this.key = key;
+      this.expiresAt = expiresAt;
+    }
+  }
+}
@@ -41,10 +41,6 @@
  */
 package com.github.mrstampy.gameboot.web;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import javax.annotation.PostConstruct;
@@ -57,20 +53,18 @@ import org.springframework.stereotype.Component;
 import com.github.mrstampy.gameboot.metrics.MetricsHelper;
 import com.github.mrstampy.gameboot.systemid.SystemId;
 import com.github.mrstampy.gameboot.util.registry.AbstractRegistryKey;
-import com.github.mrstampy.gameboot.util.registry.GameBootRegistry;
+import com.github.mrstampy.gameboot.util.registry.ExpiringGameBootRegistry;
 import com.github.mrstampy.gameboot.util.registry.RegistryCleaner;
 
 /**
- * The Class HttpSessionRegistry.
+ * The Class HttpSessionRegistry expires sessions 'http.session.expiry.seconds'
+ * after their last request, cleaning up all registries of the session's keys.
  */
 @Component
-public class HttpSessionRegistry extends GameBootRegistry<HttpSession> {
+public class HttpSessionRegistry extends ExpiringGameBootRegistry<HttpSession> {
 
   private static final String WEB_CONNECTIONS = "Web Connections";
 
-  @Autowired
-  private ScheduledExecutorService svc;
-
   @Autowired
   private MetricsHelper helper;
 
@@ -80,8 +74,6 @@ public class HttpSessionRegistry extends GameBootRegistry<HttpSession> {
   @Autowired
   private RegistryCleaner cleaner;
 
-  private Map<Comparable<?>, ScheduledFuture<?>> futures = new ConcurrentHashMap<>();
-
   /**
    * Post construct.
    *
@@ -106,23 +98,7 @@ public class HttpSessionRegistry extends GameBootRegistry<HttpSession> {
   public void put(AbstractRegistryKey<?> key, HttpSession value) {
     if (contains(key)) return;
 
-    scheduleCleanup(key, value);
-  }
-
-  /**
-   * Removes the HttpSession.
-   *
-   * @param key
-   *          the key
-   * @return the byte[]
-   */
-  @Override
-  public HttpSession remove(AbstractRegistryKey<?> key) {
-    HttpSession session = super.remove(key);
-
-    stopCleanup(key);
-
-    return session;
+    super.put(key, value);
   }
 
   /**
@@ -132,31 +108,30 @@ public class HttpSessionRegistry extends GameBootRegistry<HttpSession> {
    *          the key
    */
   public void restartExpiry(AbstractRegistryKey<?> key) {
-    HttpSession session = get(key);
-
-    stopCleanup(key);
-
-    scheduleCleanup(key, session);
+    touch(key);
   }
 
-  private void stopCleanup(AbstractRegistryKey<?> key) {
-    ScheduledFuture<?> sf = futures.remove(key);
-    if (sf != null) sf.cancel(true);
-  }
-
-  private void scheduleCleanup(AbstractRegistryKey<?> key, HttpSession value) {
-    ScheduledFuture<?> sf = futures.remove(key);
-    if (sf != null) sf.cancel(true);
-
-    super.put(key, value);
-
-    sf = svc.schedule(() -> cleanup(key, value), expiry, TimeUnit.SECONDS);
-    futures.put(key, sf);
+  /*
+   * (non-Javadoc)
+   * 
+   * @see com.github.mrstampy.gameboot.util.registry.ExpiringGameBootRegistry#
+   * getExpiryMillis()
+   */
+  @Override
+  protected long getExpiryMillis() {
+    return TimeUnit.SECONDS.toMillis(expiry);
   }
 
-  private void cleanup(AbstractRegistryKey<?> key, HttpSession value) {
-    super.remove(key);
-    futures.remove(key);
+  /*
+   * (non-Javadoc)
+   * 
+   * @see
+   * com.github.mrstampy.gameboot.util.registry.ExpiringGameBootRegistry#onExpiry
+   * (com.github.mrstampy.gameboot.util.registry.AbstractRegistryKey,
+   * java.lang.Object)
+   */
+  @Override
+  protected void onExpiry(AbstractRegistryKey<?> key, HttpSession value) {
     cleaner.cleanup(key);
   }
 
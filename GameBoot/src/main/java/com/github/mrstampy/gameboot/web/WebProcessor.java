@@ -45,6 +45,8 @@ import java.lang.invoke.MethodHandles;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
@@ -236,39 +238,33 @@ public class WebProcessor extends AbstractConnectionProcessor<HttpSession> imple
   /*
    * (non-Javadoc)
    * 
-   * @see com.github.mrstampy.gameboot.processor.connection.ConnectionProcessor#
-   * process(java.lang.Object, java.lang.String)
+   * @see com.github.mrstampy.gameboot.processor.connection.
+   * AbstractConnectionProcessor#processAsync(java.lang.Object, java.lang.String)
    */
   @Override
-  public <AGBM extends AbstractGameBootMessage> Response process(HttpSession httpSession, String msg) throws Exception {
+  public <AGBM extends AbstractGameBootMessage> CompletionStage<Response> processAsync(HttpSession httpSession,
+      String msg) throws Exception {
     setMDC(httpSession);
 
     helper.incr(MESSAGE_COUNTER);
 
-    Response response = super.process(httpSession, msg);
-
-    if (response != null && ResponseCode.FAILURE == response.getResponseCode()) helper.incr(FAILED_MESSAGE_COUNTER);
-
-    return response;
+    return super.processAsync(httpSession, msg);
   }
 
   /*
    * (non-Javadoc)
    * 
-   * @see com.github.mrstampy.gameboot.processor.connection.ConnectionProcessor#
-   * process(java.lang.Object, byte[])
+   * @see com.github.mrstampy.gameboot.processor.connection.
+   * AbstractConnectionProcessor#processAsync(java.lang.Object, byte[])
    */
   @Override
-  public <AGBM extends AbstractGameBootMessage> Response process(HttpSession httpSession, byte[] msg) throws Exception {
+  public <AGBM extends AbstractGameBootMessage> CompletionStage<Response> processAsync(HttpSession httpSession,
+      byte[] msg) throws Exception {
     setMDC(httpSession);
 
     helper.incr(MESSAGE_COUNTER);
 
-    Response response = super.process(httpSession, msg);
-
-    if (response != null && ResponseCode.FAILURE == response.getResponseCode()) helper.incr(FAILED_MESSAGE_COUNTER);
-
-    return response;
+    return super.processAsync(httpSession, msg);
   }
 
   /*
@@ -294,6 +290,29 @@ public class WebProcessor extends AbstractConnectionProcessor<HttpSession> imple
     return r;
   }
 
+  /**
+   * Web requests are answered synchronously, the message being processed with
+   * {@link #process(HttpSession, GameBootMessageController, AbstractGameBootMessage)}
+   * and returned as a completed stage.
+   */
+  @Override
+  public <AGBM extends AbstractGameBootMessage> CompletionStage<Response> processAsync(HttpSession httpSession,
+      GameBootMessageController controller, AGBM agbm) throws Exception {
+    return CompletableFuture.completedFuture(process(httpSession, controller, agbm));
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see com.github.mrstampy.gameboot.processor.connection.
+   * AbstractConnectionProcessor#onResponse(java.lang.Object,
+   * com.github.mrstampy.gameboot.messages.Response)
+   */
+  @Override
+  protected void onResponse(HttpSession httpSession, Response r) {
+    if (ResponseCode.FAILURE == r.getResponseCode()) helper.incr(FAILED_MESSAGE_COUNTER);
+  }
+
   /**
    * Not applicable for web connections.
    */
@@ -44,9 +44,11 @@ package com.github.mrstampy.gameboot.websocket;
 import java.io.IOException;
 import java.lang.invoke.MethodHandles;
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.PostConstruct;
@@ -59,12 +61,12 @@ import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketMessage;
 import org.springframework.web.socket.WebSocketSession;
 
+import com.github.mrstampy.gameboot.compression.MessageCompressor;
 import com.github.mrstampy.gameboot.concurrent.GameBootConcurrentConfiguration;
 import com.github.mrstampy.gameboot.controller.GameBootMessageController;
 import com.github.mrstampy.gameboot.exception.GameBootThrowable;
 import com.github.mrstampy.gameboot.messages.AbstractGameBootMessage;
 import com.github.mrstampy.gameboot.messages.AbstractGameBootMessage.Transport;
-import com.github.mrstampy.gameboot.messages.GameBootMessageConverter;
 import com.github.mrstampy.gameboot.messages.Response;
 import com.github.mrstampy.gameboot.messages.Response.ResponseCode;
 import com.github.mrstampy.gameboot.messages.context.ResponseContext;
@@ -89,6 +91,9 @@ public abstract class AbstractWebSocketProcessor extends AbstractConnectionProce
   @Autowired
   private MetricsHelper helper;
 
+  @Autowired
+  private MessageCompressor compressor;
+
   @Autowired
   private WebSocketSessionRegistry registry;
 
@@ -99,7 +104,7 @@ public abstract class AbstractWebSocketProcessor extends AbstractConnectionProce
   private RegistryCleaner cleaner;
 
   @Autowired
-  private GameBootMessageConverter converter;
+  private WebSocketOutbound outbound;
 
   /** The system ids. */
   protected Map<String, SystemIdKey> systemIds = new ConcurrentHashMap<>();
@@ -163,6 +168,8 @@ public abstract class AbstractWebSocketProcessor extends AbstractConnectionProce
   public void onDisconnection(WebSocketSession session) throws Exception {
     String id = session.getId();
 
+    outbound.remove(session);
+
     SystemIdKey systemId = systemIds.remove(id);
     cleaner.cleanup(systemId);
 
@@ -188,13 +195,16 @@ public abstract class AbstractWebSocketProcessor extends AbstractConnectionProce
 
     if (payload instanceof String) {
       onMessageImpl(session, (String) payload);
+    } else if (payload instanceof ByteBuffer) {
+      onMessageImpl(session, (ByteBuffer) payload);
     } else if (payload instanceof byte[]) {
       onMessageImpl(session, (byte[]) payload);
     }
   }
 
   /**
-   * Extract payload.
+   * Extract payload, the {@link ByteBuffer} of a {@link BinaryMessage} or the
+   * string of a {@link TextMessage}.
    *
    * @param session
    *          the session
@@ -206,7 +216,7 @@ public abstract class AbstractWebSocketProcessor extends AbstractConnectionProce
    */
   protected Object extractPayload(WebSocketSession session, Object msg) throws IOException {
     if (msg instanceof BinaryMessage) {
-      return ((BinaryMessage) msg).getPayload().array();
+      return ((BinaryMessage) msg).getPayload();
     } else if (msg instanceof TextMessage) {
       return ((TextMessage) msg).getPayload();
     }
@@ -217,6 +227,39 @@ public abstract class AbstractWebSocketProcessor extends AbstractConnectionProce
     return null;
   }
 
+  /**
+   * On message impl for binary messages. The container may reuse the buffer
+   * once this method returns, hence processing (which is asynchronous) must
+   * not retain it. The default implementation copies the remaining bytes,
+   * honouring the buffer's position and limit, and invokes
+   * {@link #onMessageImpl(WebSocketSession, byte[])}.
+   *
+   * @param session
+   *          the session
+   * @param msg
+   *          the msg
+   * @throws Exception
+   *           the exception
+   */
+  protected void onMessageImpl(WebSocketSession session, ByteBuffer msg) throws Exception {
+    onMessageImpl(session, toArray(msg));
+  }
+
+  /**
+   * Returns a copy of the remaining bytes of the buffer, which may be direct or
+   * read only. The buffer's position and limit are unchanged.
+   *
+   * @param buffer
+   *          the buffer
+   * @return the byte[]
+   */
+  protected static byte[] toArray(ByteBuffer buffer) {
+    byte[] b = new byte[buffer.remaining()];
+    buffer.duplicate().get(b);
+
+    return b;
+  }
+
   /**
    * On message impl, implement processing the message using one of the
    * executors in {@link GameBootConcurrentConfiguration} invoking
@@ -256,7 +299,7 @@ public abstract class AbstractWebSocketProcessor extends AbstractConnectionProce
     Response r = fail(session, null, e);
 
     try {
-      sendMessage(session, converter.toJsonArray(r), r);
+      sendMessage(session, toJsonArray(session, r), r);
     } catch (Exception e1) {
       log.error("Unexpected exception", e1);
     }
@@ -272,7 +315,7 @@ public abstract class AbstractWebSocketProcessor extends AbstractConnectionProce
     Response r = fail(rc, null, message);
 
     try {
-      sendMessage(session, converter.toJsonArray(r), r);
+      sendMessage(session, toJsonArray(session, r), r);
     } catch (Exception e) {
       log.error("Unexpected exception", e);
     }
@@ -281,41 +324,31 @@ public abstract class AbstractWebSocketProcessor extends AbstractConnectionProce
   /*
    * (non-Javadoc)
    * 
-   * @see
-   * com.github.mrstampy.gameboot.netty.ConnectionProcessor#process(io.netty.
-   * channel.WebSocketSession, java.lang.String)
+   * @see com.github.mrstampy.gameboot.processor.connection.
+   * AbstractConnectionProcessor#processAsync(java.lang.Object, java.lang.String)
    */
   @Override
-  public <AGBM extends AbstractGameBootMessage> Response process(WebSocketSession session, String msg)
-      throws Exception {
+  public <AGBM extends AbstractGameBootMessage> CompletionStage<Response> processAsync(WebSocketSession session,
+      String msg) throws Exception {
     setMDC(session);
     helper.incr(MESSAGE_COUNTER);
 
-    Response response = super.process(session, msg);
-
-    if (response != null && ResponseCode.FAILURE == response.getResponseCode()) helper.incr(FAILED_MESSAGE_COUNTER);
-
-    return response;
+    return super.processAsync(session, msg);
   }
 
   /*
    * (non-Javadoc)
    * 
-   * @see
-   * com.github.mrstampy.gameboot.netty.ConnectionProcessor#process(io.netty.
-   * channel.WebSocketSession, byte[])
+   * @see com.github.mrstampy.gameboot.processor.connection.
+   * AbstractConnectionProcessor#processAsync(java.lang.Object, byte[])
    */
   @Override
-  public <AGBM extends AbstractGameBootMessage> Response process(WebSocketSession session, byte[] msg)
-      throws Exception {
+  public <AGBM extends AbstractGameBootMessage> CompletionStage<Response> processAsync(WebSocketSession session,
+      byte[] msg) throws Exception {
     setMDC(session);
     helper.incr(MESSAGE_COUNTER);
 
-    Response response = super.process(session, msg);
-
-    if (response != null && ResponseCode.FAILURE == response.getResponseCode()) helper.incr(FAILED_MESSAGE_COUNTER);
-
-    return response;
+    return super.processAsync(session, msg);
   }
 
   /*
@@ -329,12 +362,49 @@ public abstract class AbstractWebSocketProcessor extends AbstractConnectionProce
   @Override
   public <AGBM extends AbstractGameBootMessage> Response process(WebSocketSession session,
       GameBootMessageController controller, AGBM agbm) throws Exception {
+    prepare(session, agbm);
+
+    return complete(session, agbm, controller.process(agbm));
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see
+   * com.github.mrstampy.gameboot.netty.ConnectionProcessor#processAsync(io.
+   * netty.channel.WebSocketSession,
+   * com.github.mrstampy.gameboot.controller.GameBootMessageController, AGBM)
+   */
+  @Override
+  public <AGBM extends AbstractGameBootMessage> CompletionStage<Response> processAsync(WebSocketSession session,
+      GameBootMessageController controller, AGBM agbm) throws Exception {
+    prepare(session, agbm);
+
+    return controller.processAsync(agbm).thenApply(r -> complete(session, agbm, r));
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see com.github.mrstampy.gameboot.processor.connection.
+   * AbstractConnectionProcessor#onResponse(java.lang.Object,
+   * com.github.mrstampy.gameboot.messages.Response)
+   */
+  @Override
+  protected void onResponse(WebSocketSession session, Response r) {
+    if (ResponseCode.FAILURE == r.getResponseCode()) helper.incr(FAILED_MESSAGE_COUNTER);
+  }
+
+  private <AGBM extends AbstractGameBootMessage> void prepare(WebSocketSession session, AGBM agbm) {
     agbm.setSystemId(getSystemId(session));
     agbm.setTransport(Transport.WEB_SOCKET);
     agbm.setLocal((InetSocketAddress) session.getLocalAddress());
     agbm.setRemote((InetSocketAddress) session.getRemoteAddress());
+  }
+
+  private <AGBM extends AbstractGameBootMessage> Response complete(WebSocketSession session, AGBM agbm, Response r) {
+    if (r == null) return null;
 
-    Response r = controller.process(agbm);
     processMappingKeys(r, session);
     r.setSystemId(agbm.getSystemId());
 
@@ -355,7 +425,10 @@ public abstract class AbstractWebSocketProcessor extends AbstractConnectionProce
   }
 
   /**
-   * Send message, must be a byte array or a string.
+   * Send message, must be a byte array, a {@link ByteBuffer} or a string. Byte
+   * arrays and buffers are compressed should the connection have enabled
+   * compression. The message is queued for asynchronous sending by the
+   * {@link WebSocketOutbound}; buffers are not retained.
    *
    * @param session
    *          the session
@@ -365,12 +438,19 @@ public abstract class AbstractWebSocketProcessor extends AbstractConnectionProce
    *           the exception
    */
   public void sendMessage(WebSocketSession session, Object msg) throws Exception {
+    SystemIdKey systemId = getSystemId(session);
+
+    if (msg instanceof ByteBuffer && compressor.isCompressing(systemId)) msg = toArray((ByteBuffer) msg);
+    if (msg instanceof byte[]) msg = compressor.compressIfRequired(systemId, (byte[]) msg);
+
     WebSocketMessage<?> toGo = createMessage(session, msg);
-    session.sendMessage(toGo);
+    outbound.send(session, toGo);
   }
 
   /**
-   * Creates the message.
+   * Creates the message. Byte arrays are wrapped, the remaining bytes of
+   * {@link ByteBuffer}s copied (the message being sent asynchronously) and
+   * strings sent as text.
    *
    * @param session
    *          the session
@@ -383,9 +463,11 @@ public abstract class AbstractWebSocketProcessor extends AbstractConnectionProce
   protected WebSocketMessage<?> createMessage(WebSocketSession session, Object msg) throws Exception {
     if (msg instanceof byte[]) return new BinaryMessage((byte[]) msg);
 
-    if (msg instanceof String) return new TextMessage(((String) msg).getBytes());
+    if (msg instanceof ByteBuffer) return new BinaryMessage(toArray((ByteBuffer) msg));
+
+    if (msg instanceof String) return new TextMessage((String) msg);
 
-    throw new IllegalArgumentException("Can only send strings or byte arrays: " + msg.getClass());
+    throw new IllegalArgumentException("Can only send strings, byte buffers or byte arrays: " + msg.getClass());
   }
 
   /*
@@ -0,0 +1,367 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.websocket;
+
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import com.github.mrstampy.gameboot.concurrent.GameBootConcurrentConfiguration;
+import com.github.mrstampy.gameboot.metrics.MetricsHelper;
+
+/**
+ * The Class WebSocketOutbound queues messages per {@link WebSocketSession},
+ * sending them in order on the
+ * {@link GameBootConcurrentConfiguration#GAME_BOOT_WEB_SOCKET_SEND_EXECUTOR}.
+ * Callers never block on a slow client and sends to a session are never
+ * concurrent.<br>
+ * <br>
+ * 
+ * Should more than 'websocket.send.buffer.size.limit' bytes be queued for a
+ * session the 'websocket.send.overflow.policy' is applied, either evicting the
+ * oldest queued messages or closing the session. A session whose current send
+ * has taken longer than 'websocket.send.time.limit.millis' is closed, checked
+ * periodically on the
+ * {@link GameBootConcurrentConfiguration#GAME_BOOT_SCHEDULED_EXECUTOR} so that
+ * clients stuck in a send are closed without further traffic. Sessions are
+ * closed on the scheduled executor, never the (possibly saturated) send
+ * executor.
+ * 
+ * @see OverflowPolicy
+ */
+@Component
+public class WebSocketOutbound {
+  private static final Logger log = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+  private static final String QUEUED = "Web Socket Queued Messages";
+
+  private static final String QUEUED_BYTES = "Web Socket Queued Bytes";
+
+  private static final String EVICTED = "Web Socket Evicted Messages";
+
+  private static final String SLOW_DISCONNECTS = "Web Socket Slow Consumer Disconnects";
+
+  private static final long MAX_WATCHDOG_PERIOD = 1000;
+
+  /**
+   * The Enum OverflowPolicy.
+   */
+  public enum OverflowPolicy {
+
+    /** Evict the oldest queued messages. */
+    DROP_OLDEST,
+
+    /** Close the session. */
+    DISCONNECT;
+  }
+
+  @Autowired
+  @Qualifier(GameBootConcurrentConfiguration.GAME_BOOT_WEB_SOCKET_SEND_EXECUTOR)
+  private ExecutorService svc;
+
+  @Autowired
+  @Qualifier(GameBootConcurrentConfiguration.GAME_BOOT_SCHEDULED_EXECUTOR)
+  private ScheduledExecutorService scheduler;
+
+  @Autowired
+  private MetricsHelper helper;
+
+  @Value("${websocket.send.time.limit.millis}")
+  private long sendTimeLimit;
+
+  @Value("${websocket.send.buffer.size.limit}")
+  private int bufferSizeLimit;
+
+  @Value("${websocket.send.overflow.policy}")
+  private OverflowPolicy policy;
+
+  private Map<String, Outbound> outbound = new ConcurrentHashMap<>();
+
+  private AtomicInteger queued = new AtomicInteger();
+
+  private AtomicInteger queuedBytes = new AtomicInteger();
+
+  private ScheduledFuture<?> watchdog;
+
+  /**
+   * Post construct.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @PostConstruct
+  public void postConstruct() throws Exception {
+    if (sendTimeLimit <= 0) throw new IllegalStateException("websocket.send.time.limit.millis must be > 0");
+    if (bufferSizeLimit <= 0) throw new IllegalStateException("websocket.send.buffer.size.limit must be > 0");
+
+    helper.gauge(() -> queued.get(), QUEUED, getClass(), "queued", "messages");
+    helper.gauge(() -> queuedBytes.get(), QUEUED_BYTES, getClass(), "queued", "bytes");
+    helper.counter(EVICTED, getClass(), "evicted", "messages");
+    helper.counter(SLOW_DISCONNECTS, getClass(), "slow", "consumer", "disconnects");
+
+    long period = Math.min(sendTimeLimit, MAX_WATCHDOG_PERIOD);
+    watchdog = scheduler.scheduleWithFixedDelay(() -> closeStuck(), period, period, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Cancels the send time limit watchdog.
+   */
+  @PreDestroy
+  public void preDestroy() {
+    if (watchdog != null) watchdog.cancel(false);
+  }
+
+  /**
+   * Queues the message for sending to the session.
+   *
+   * @param session
+   *          the session
+   * @param message
+   *          the message
+   */
+  public void send(WebSocketSession session, WebSocketMessage<?> message) {
+    if (!session.isOpen()) {
+      log.warn("Session {} is closed, cannot send message", session.getId());
+      return;
+    }
+
+    outbound.computeIfAbsent(session.getId(), id -> new Outbound(session)).offer(message);
+  }
+
+  /**
+   * Discards any messages queued for the session, invoke on disconnection.
+   *
+   * @param session
+   *          the session
+   */
+  public void remove(WebSocketSession session) {
+    Outbound ob = outbound.remove(session.getId());
+    if (ob != null) ob.discard();
+  }
+
+  /**
+   * Returns the number of messages queued for the session.
+   *
+   * @param session
+   *          the session
+   * @return the queue depth
+   */
+  public int getQueueDepth(WebSocketSession session) {
+    Outbound ob = outbound.get(session.getId());
+
+    return ob == null ? 0 : ob.depth();
+  }
+
+  private void closeStuck() {
+    try {
+      outbound.values().stream().filter(ob -> ob.isStuck())
+          .forEach(ob -> disconnect(ob.session, "send time limit exceeded"));
+    } catch (Exception e) {
+      log.error("Unexpected exception checking web socket send time limits", e);
+    }
+  }
+
+  private void disconnect(WebSocketSession session, String reason) {
+    Outbound ob = outbound.remove(session.getId());
+    if (ob == null) return;
+
+    ob.discard();
+
+    helper.incr(SLOW_DISCONNECTS);
+    log.warn("Closing slow web socket session {}: {}", session.getId(), reason);
+
+    try {
+      scheduler.execute(() -> close(session));
+    } catch (RejectedExecutionException e) {
+      close(session);
+    }
+  }
+
+  private void close(WebSocketSession session) {
+    try {
+      session.close(CloseStatus.SESSION_NOT_RELIABLE);
+    } catch (Exception e) {
+      log.error("Unexpected exception closing web socket session {}", session.getId(), e);
+    }
+  }
+
+  /**
+   * The queue of a single session, guarded by its monitor.
+   */
+  private class Outbound implements Runnable {
+    private final WebSocketSession session;
+    private final Deque<WebSocketMessage<?>> queue = new ArrayDeque<>();
+
+    private int bytes;
+    private boolean draining;
+    private boolean discarded;
+
+    private volatile long sendStart;
+
+    Outbound(WebSocketSession session) {
+      this.session = session;
+    }
+
+    void offer(WebSocketMessage<?> message) {
+      String slow = null;
+      boolean submit = false;
+
+      synchronized (this) {
+        if (discarded) return;
+
+        if (isStuck()) {
+          slow = "send time limit exceeded";
+        } else {
+          add(message);
+
+          while (bytes > bufferSizeLimit && queue.size() > 1 && policy == OverflowPolicy.DROP_OLDEST) {
+            poll();
+            helper.incr(EVICTED);
+          }
+
+          if (bytes > bufferSizeLimit && policy == OverflowPolicy.DISCONNECT) {
+            slow = "buffer size limit exceeded";
+          } else {
+            submit = !draining;
+            draining = true;
+          }
+        }
+      }
+
+      if (slow != null) {
+        disconnect(session, slow);
+      } else if (submit) {
+        submit();
+      }
+    }
+
+    synchronized int depth() {
+      return queue.size();
+    }
+
+    synchronized void discard() {
+      discarded = true;
+      while (!queue.isEmpty()) {
+        poll();
+      }
+    }
+
+    @Override
+    public void run() {
+      WebSocketMessage<?> message;
+      while ((message = next()) != null) {
+        sendStart = System.currentTimeMillis();
+        try {
+          session.sendMessage(message);
+          log.debug("Sent message to web socket session {}", session.getId());
+        } catch (Exception e) {
+          log.error("Unexpected exception sending message to web socket session {}", session.getId(), e);
+        } finally {
+          sendStart = 0;
+        }
+      }
+    }
+
+    private void submit() {
+      try {
+        svc.execute(this);
+      } catch (RejectedExecutionException e) {
+        log.error("Could not send to web socket session {}", session.getId(), e);
+        discard();
+      }
+    }
+
+    private synchronized WebSocketMessage<?> next() {
+      if (discarded || queue.isEmpty()) {
+        draining = false;
+        return null;
+      }
+
+      return poll();
+    }
+
+    private boolean isStuck() {
+      long start = sendStart;
+
+      return start > 0 && System.currentTimeMillis() - start > sendTimeLimit;
+    }
+
+    private void add(WebSocketMessage<?> message) {
+      queue.add(message);
+      bytes += message.getPayloadLength();
+
+      queued.incrementAndGet();
+      queuedBytes.addAndGet(message.getPayloadLength());
+    }
+
+    private WebSocketMessage<?> poll() {
+      WebSocketMessage<?> message = queue.poll();
+      bytes -= message.getPayloadLength();
+
+      queued.decrementAndGet();
+      queuedBytes.addAndGet(-message.getPayloadLength());
+
+      return message;
+    }
+  }
+}
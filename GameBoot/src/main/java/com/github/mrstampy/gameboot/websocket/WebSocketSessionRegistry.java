@@ -44,7 +44,6 @@ package com.github.mrstampy.gameboot.websocket;
 import static com.github.mrstampy.gameboot.messaging.MessagingGroups.ALL;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
 
-import java.io.IOException;
 import java.lang.invoke.MethodHandles;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -68,6 +67,7 @@ import org.springframework.web.socket.BinaryMessage;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 
+import com.github.mrstampy.gameboot.compression.MessageCompressor;
 import com.github.mrstampy.gameboot.metrics.MetricsHelper;
 import com.github.mrstampy.gameboot.systemid.SystemIdKey;
 import com.github.mrstampy.gameboot.util.registry.AbstractRegistryKey;
@@ -75,7 +75,9 @@ import com.github.mrstampy.gameboot.util.registry.GameBootRegistry;
 import com.github.mrstampy.gameboot.util.registry.RegistryCleanerListener;
 
 /**
- * The Class WebSocketSessionRegistry.
+ * The Class WebSocketSessionRegistry. Messages are queued for asynchronous
+ * sending by the {@link WebSocketOutbound}; a slow session does not delay
+ * sends to the others in a group.
  */
 @Component
 public class WebSocketSessionRegistry extends GameBootRegistry<WebSocketSession> implements RegistryCleanerListener {
@@ -87,10 +89,18 @@ public class WebSocketSessionRegistry extends GameBootRegistry<WebSocketSession>
   @Autowired
   private MetricsHelper helper;
 
+  @Autowired
+  private MessageCompressor compressor;
+
+  @Autowired
+  private WebSocketOutbound outbound;
+
   private Map<String, List<WebSocketSession>> sessionGroups = new ConcurrentHashMap<>();
 
   private Map<SystemIdKey, WebSocketSession> activeInGroups = new ConcurrentHashMap<>();
 
+  private Map<String, SystemIdKey> systemIds = new ConcurrentHashMap<>();
+
   private ReentrantReadWriteLock rwLock = new ReentrantReadWriteLock();
   private ReadLock rLock = rwLock.readLock();
   private WriteLock wLock = rwLock.writeLock();
@@ -126,6 +136,8 @@ public class WebSocketSessionRegistry extends GameBootRegistry<WebSocketSession>
     WebSocketSession session = activeInGroups.remove(key);
     if (session == null) return;
 
+    systemIds.remove(session.getId());
+
     sessionGroups.entrySet().forEach(e -> removeFromGroups(e, session));
   }
 
@@ -140,6 +152,7 @@ public class WebSocketSessionRegistry extends GameBootRegistry<WebSocketSession>
   public void putInAll(SystemIdKey key, WebSocketSession session) {
     putInGroup(ALL, session);
     activeInGroups.put(key, session);
+    systemIds.put(session.getId(), key);
   }
 
   /**
@@ -291,6 +304,29 @@ public class WebSocketSessionRegistry extends GameBootRegistry<WebSocketSession>
     sendBinary(GROUP_OF_ONE, session, message);
   }
 
+  /**
+   * Sends the message as is to the {@link WebSocketSession} specified by the
+   * {@link AbstractRegistryKey}, the message having been compressed (and
+   * possibly encrypted) by the caller.
+   *
+   * @param key
+   *          the key
+   * @param message
+   *          the message
+   * @see MessageCompressor
+   */
+  public void sendProcessed(AbstractRegistryKey<?> key, byte[] message) {
+    checkMessage(message);
+
+    WebSocketSession session = get(key);
+    if (session == null || !session.isOpen()) {
+      log.warn("Cannot send message to {}, no session", key);
+      return;
+    }
+
+    sendProcessed(GROUP_OF_ONE, session, message);
+  }
+
   /**
    * Send to all.
    *
@@ -400,23 +436,17 @@ public class WebSocketSessionRegistry extends GameBootRegistry<WebSocketSession>
   }
 
   private void sendBinary(String groupName, WebSocketSession wss, byte[] message) {
-    BinaryMessage bm = new BinaryMessage(message);
-    try {
-      wss.sendMessage(bm);
-      log.debug("Sent message to web socket session {} in group {}", wss.getId(), groupName);
-    } catch (IOException e) {
-      log.error("Unexpected exception sending message to web socket session {}", wss.getId(), e);
-    }
+    sendProcessed(groupName, wss, compressor.compressIfRequired(systemIds.get(wss.getId()), message));
+  }
+
+  private void sendProcessed(String groupName, WebSocketSession wss, byte[] message) {
+    outbound.send(wss, new BinaryMessage(message));
+    log.debug("Queued message to web socket session {} in group {}", wss.getId(), groupName);
   }
 
   private void sendText(String groupName, WebSocketSession wss, String message) {
-    TextMessage bm = new TextMessage(message);
-    try {
-      wss.sendMessage(bm);
-      log.debug("Sent message to web socket session {} in group {}", wss.getId(), groupName);
-    } catch (IOException e) {
-      log.error("Unexpected exception sending message to web socket session {}", wss.getId(), e);
-    }
+    outbound.send(wss, new TextMessage(message));
+    log.debug("Queued message to web socket session {} in group {}", wss.getId(), groupName);
   }
 
   @SuppressWarnings("unchecked")
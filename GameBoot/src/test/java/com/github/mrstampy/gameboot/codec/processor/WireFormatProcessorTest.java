@@ -0,0 +1,160 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.codec.processor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.SpringApplicationConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import com.github.mrstampy.gameboot.TestConfiguration;
+import com.github.mrstampy.gameboot.codec.GameBootCodec;
+import com.github.mrstampy.gameboot.codec.JsonCodec;
+import com.github.mrstampy.gameboot.codec.SmileCodec;
+import com.github.mrstampy.gameboot.codec.messages.WireFormatMessage;
+import com.github.mrstampy.gameboot.exception.GameBootRuntimeException;
+import com.github.mrstampy.gameboot.messages.GameBootMessageConverter;
+import com.github.mrstampy.gameboot.messages.Response;
+import com.github.mrstampy.gameboot.messages.Response.ResponseCode;
+import com.github.mrstampy.gameboot.systemid.SystemIdKey;
+
+/**
+ * The Class WireFormatProcessorTest.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringApplicationConfiguration(TestConfiguration.class)
+public class WireFormatProcessorTest {
+
+  private static final SystemIdKey SYSTEM_ID_KEY = new SystemIdKey(1l);
+
+  @Autowired
+  private WireFormatProcessor processor;
+
+  @Autowired
+  private CodecRegistry registry;
+
+  @Autowired
+  private GameBootMessageConverter converter;
+
+  /**
+   * After.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @After
+  public void after() throws Exception {
+    registry.remove(SYSTEM_ID_KEY);
+  }
+
+  /**
+   * Test validation.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testValidation() throws Exception {
+    validationFailExpected(null, "Null message");
+
+    WireFormatMessage msg = new WireFormatMessage();
+    msg.setSystemId(SYSTEM_ID_KEY);
+
+    validationFailExpected(msg, "No format");
+
+    msg.setFormat("xml");
+
+    validationFailExpected(msg, "Unknown format");
+
+    msg.setFormat(SmileCodec.FORMAT);
+
+    processor.validate(msg);
+  }
+
+  /**
+   * Test process.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testProcess() throws Exception {
+    assertEquals(JsonCodec.FORMAT, registry.get(SYSTEM_ID_KEY).getFormat());
+
+    WireFormatMessage msg = new WireFormatMessage();
+    msg.setSystemId(SYSTEM_ID_KEY);
+    msg.setFormat(SmileCodec.FORMAT);
+
+    Response r = processor.process(msg);
+
+    assertNotNull(r);
+    assertEquals(ResponseCode.SUCCESS, r.getResponseCode());
+
+    GameBootCodec codec = registry.get(SYSTEM_ID_KEY);
+    assertEquals(SmileCodec.FORMAT, codec.getFormat());
+
+    msg.setId(5);
+    byte[] b = converter.toJsonArray(msg, codec);
+
+    WireFormatMessage read = converter.fromJson(b, codec);
+
+    assertEquals(msg.getId(), read.getId());
+    assertEquals(msg.getFormat(), read.getFormat());
+  }
+
+  private void validationFailExpected(WireFormatMessage msg, String desc) {
+    try {
+      processor.validate(msg);
+      fail(desc);
+    } catch (GameBootRuntimeException expected) {
+    } catch (Exception unexpected) {
+      unexpected.printStackTrace();
+      fail(unexpected.getMessage());
+    }
+  }
+}
@@ -0,0 +1,182 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.compression.processor;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.SpringApplicationConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import com.github.mrstampy.gameboot.TestConfiguration;
+import com.github.mrstampy.gameboot.compression.MessageCompressor;
+import com.github.mrstampy.gameboot.compression.messages.CompressionMessage;
+import com.github.mrstampy.gameboot.exception.GameBootRuntimeException;
+import com.github.mrstampy.gameboot.messages.Response;
+import com.github.mrstampy.gameboot.messages.Response.ResponseCode;
+import com.github.mrstampy.gameboot.systemid.SystemIdKey;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * The Class CompressionProcessorTest.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringApplicationConfiguration(TestConfiguration.class)
+public class CompressionProcessorTest {
+
+  private static final SystemIdKey SYSTEM_ID_KEY = new SystemIdKey(1l);
+
+  @Autowired
+  private CompressionProcessor processor;
+
+  @Autowired
+  private CompressionRegistry registry;
+
+  @Autowired
+  private MessageCompressor compressor;
+
+  /**
+   * After.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @After
+  public void after() throws Exception {
+    registry.remove(SYSTEM_ID_KEY);
+  }
+
+  /**
+   * Test validation.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testValidation() throws Exception {
+    validationFailExpected(null, "Null message");
+
+    CompressionMessage msg = new CompressionMessage();
+    msg.setSystemId(SYSTEM_ID_KEY);
+
+    validationFailExpected(msg, "No algorithm");
+
+    msg.setAlgorithm("lzma");
+
+    validationFailExpected(msg, "Unknown algorithm");
+
+    msg.setAlgorithm(MessageCompressor.DEFLATE);
+
+    processor.validate(msg);
+  }
+
+  /**
+   * Test compression is applied only when enabled and above the threshold.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testCompression() throws Exception {
+    byte[] small = "{\"type\":\"Response\"}".getBytes();
+    byte[] large = ("{\"payload\":\"" + StringUtils.repeat("game boot ", compressor.getThreshold()) + "\"}")
+        .getBytes();
+
+    assertSame(large, compressor.compressIfRequired(SYSTEM_ID_KEY, large));
+
+    setAlgorithm(MessageCompressor.DEFLATE);
+
+    assertSame(small, compressor.compressIfRequired(SYSTEM_ID_KEY, small));
+
+    byte[] compressed = compressor.compressIfRequired(SYSTEM_ID_KEY, large);
+    assertTrue(compressor.isCompressed(compressed));
+    assertFalse(compressor.isCompressed(large));
+    assertTrue(compressed.length < large.length);
+    assertArrayEquals(large, compressor.decompress(compressed));
+
+    assertSame(compressed, compressor.compressIfRequired(SYSTEM_ID_KEY, large));
+
+    ByteBuf buf = Unpooled.wrappedBuffer(large);
+    ByteBuf cbuf = compressor.compressIfRequired(SYSTEM_ID_KEY, buf);
+    assertEquals(0, buf.refCnt());
+
+    byte[] b = new byte[cbuf.readableBytes()];
+    cbuf.readBytes(b);
+    cbuf.release();
+    assertArrayEquals(large, compressor.decompress(b));
+
+    setAlgorithm(MessageCompressor.NONE);
+
+    assertSame(large, compressor.compressIfRequired(SYSTEM_ID_KEY, large));
+  }
+
+  private void setAlgorithm(String algorithm) throws Exception {
+    CompressionMessage msg = new CompressionMessage();
+    msg.setSystemId(SYSTEM_ID_KEY);
+    msg.setAlgorithm(algorithm);
+
+    Response r = processor.process(msg);
+    assertEquals(ResponseCode.SUCCESS, r.getResponseCode());
+  }
+
+  private void validationFailExpected(CompressionMessage msg, String desc) {
+    try {
+      processor.validate(msg);
+      fail(desc);
+    } catch (GameBootRuntimeException expected) {
+    } catch (Exception unexpected) {
+      unexpected.printStackTrace();
+      fail(unexpected.getMessage());
+    }
+  }
+}
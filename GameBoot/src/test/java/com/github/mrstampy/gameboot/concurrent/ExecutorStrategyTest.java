@@ -0,0 +1,111 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.slf4j.MDC;
+
+import com.github.mrstampy.gameboot.util.concurrent.MDCCallable;
+import com.github.mrstampy.gameboot.util.concurrent.MDCRunnable;
+
+/**
+ * The Class ExecutorStrategyTest.
+ */
+public class ExecutorStrategyTest {
+
+  private static final String MDC_KEY = "executorStrategyTest";
+
+  /**
+   * Ensures the mapped diagnostic context is propagated by {@link MDCCallable}s
+   * and cleared after failing {@link MDCRunnable}s for each strategy.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testMdcPropagation() throws Exception {
+    for (ExecutorStrategy strategy : ExecutorStrategy.values()) {
+      ExecutorService svc = strategy.create("Test " + strategy, 1);
+      try {
+        mdc(strategy, svc);
+      } finally {
+        svc.shutdown();
+        svc.awaitTermination(1, TimeUnit.SECONDS);
+      }
+    }
+  }
+
+  private void mdc(ExecutorStrategy strategy, ExecutorService svc) throws Exception {
+    MDC.put(MDC_KEY, strategy.name());
+    try {
+      svc.submit(new MDCRunnable() {
+
+        @Override
+        protected void runImpl() {
+          throw new IllegalStateException("Expected");
+        }
+      });
+
+      String value = svc.submit(new MDCCallable<String>() {
+
+        @Override
+        protected String callImpl() throws Exception {
+          return MDC.get(MDC_KEY);
+        }
+      }).get(1, TimeUnit.SECONDS);
+
+      assertEquals(strategy.name(), value);
+    } finally {
+      MDC.remove(MDC_KEY);
+    }
+
+    String cleared = svc.submit(() -> MDC.get(MDC_KEY)).get(1, TimeUnit.SECONDS);
+
+    assertNull(strategy.name(), cleared);
+  }
+}
@@ -0,0 +1,338 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.SpringApplicationConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import com.github.mrstampy.gameboot.otp.messages.OtpNewKeyAck;
+import com.github.mrstampy.gameboot.usersession.messages.UserMessage;
+
+import com.github.mrstampy.gameboot.TestConfiguration;
+import com.github.mrstampy.gameboot.systemid.SystemIdKey;
+
+/**
+ * The Class SystemIdExecutorTest.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringApplicationConfiguration(TestConfiguration.class)
+public class SystemIdExecutorTest {
+
+  private static final AtomicLong IDS = new AtomicLong(1000000);
+
+  // keys are not reused once cleaned up
+  private SystemIdKey key1 = new SystemIdKey(IDS.incrementAndGet());
+
+  private SystemIdKey key2 = new SystemIdKey(IDS.incrementAndGet());
+
+  private static final int TASK_COUNT = 1000;
+
+  @Autowired
+  private SystemIdExecutor executor;
+
+  @Autowired
+  private MessageLanes lanes;
+
+  @Value("${system.id.executor.max.depth}")
+  private int maxDepth;
+
+  @Value("${system.id.executor.high.water.mark}")
+  private int highWaterMark;
+
+  /**
+   * After.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @After
+  public void after() throws Exception {
+    executor.cleanup(key1);
+    executor.cleanup(key2);
+  }
+
+  /**
+   * Test tasks of a key execute in order, one at a time.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testOrdering() throws Exception {
+    List<Integer> executed = new ArrayList<>();
+    AtomicInteger concurrent = new AtomicInteger();
+    CountDownLatch cdl = new CountDownLatch(TASK_COUNT);
+
+    for (int i = 0; i < TASK_COUNT; i++) {
+      int nbr = i;
+      executor.execute(key1, () -> {
+        assertEquals(1, concurrent.incrementAndGet());
+        executed.add(nbr);
+        concurrent.decrementAndGet();
+        cdl.countDown();
+      });
+    }
+
+    assertTrue(cdl.await(5, TimeUnit.SECONDS));
+
+    assertEquals(TASK_COUNT, executed.size());
+    for (int i = 0; i < TASK_COUNT; i++) {
+      assertEquals(i, executed.get(i).intValue());
+    }
+
+    assertEquals(0, executor.getDepth(key1));
+  }
+
+  /**
+   * Test a key awaiting an incomplete stage neither blocks other keys nor
+   * executes its next task early.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testAsync() throws Exception {
+    CompletableFuture<Void> pending = new CompletableFuture<>();
+    CountDownLatch next = new CountDownLatch(1);
+    CountDownLatch other = new CountDownLatch(1);
+
+    executor.executeAsync(key1, () -> pending);
+    executor.execute(key1, () -> next.countDown());
+    executor.execute(key2, () -> other.countDown());
+
+    assertTrue(other.await(1, TimeUnit.SECONDS));
+    assertFalse(next.await(100, TimeUnit.MILLISECONDS));
+    assertEquals(1, executor.getDepth(key1));
+
+    pending.complete(null);
+
+    assertTrue(next.await(1, TimeUnit.SECONDS));
+  }
+
+  /**
+   * Test the flow control is paused at the high water mark, tasks are shed at
+   * the max depth and the flow control is resumed once drained.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testAdmissionControl() throws Exception {
+    List<Boolean> flow = new ArrayList<>();
+    executor.setFlowControl(key1, paused -> flow.add(paused));
+
+    CompletableFuture<Void> pending = new CompletableFuture<>();
+    CountDownLatch cdl = new CountDownLatch(maxDepth);
+
+    assertTrue(executor.executeAsync(key1, () -> pending));
+
+    for (int i = 0; i < maxDepth; i++) {
+      assertTrue(executor.execute(key1, () -> cdl.countDown()));
+
+      if (i == highWaterMark - 2) assertFalse(executor.isPaused(key1));
+    }
+
+    assertTrue(executor.isPaused(key1));
+    assertFalse(executor.execute(key1, () -> cdl.countDown()));
+
+    pending.complete(null);
+
+    assertTrue(cdl.await(5, TimeUnit.SECONDS));
+    assertFalse(executor.isPaused(key1));
+
+    assertEquals(2, flow.size());
+    assertTrue(flow.get(0));
+    assertFalse(flow.get(1));
+  }
+
+  /**
+   * Test the flow control is resumed and transitions alternate when tasks are
+   * submitted concurrently with draining about the water marks.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testFlowControlUnderContention() throws Exception {
+    AtomicReference<Boolean> last = new AtomicReference<>(false);
+    AtomicInteger repeated = new AtomicInteger();
+    executor.setFlowControl(key1, paused -> {
+      if (last.getAndSet(paused) == paused) repeated.incrementAndGet();
+    });
+
+    int producers = 4;
+    int rounds = 500;
+    CountDownLatch done = new CountDownLatch(producers);
+
+    for (int p = 0; p < producers; p++) {
+      new Thread(() -> {
+        for (int r = 0; r < rounds; r++) {
+          for (int i = 0; i < highWaterMark; i++) {
+            executor.execute(key1, () -> {
+            });
+          }
+          Thread.yield();
+        }
+        done.countDown();
+      }).start();
+    }
+
+    assertTrue(done.await(30, TimeUnit.SECONDS));
+
+    long until = System.currentTimeMillis() + 5000;
+    while ((executor.getDepth(key1) > 0 || executor.isPaused(key1)) && System.currentTimeMillis() < until) {
+      Thread.sleep(10);
+    }
+
+    assertEquals(0, executor.getDepth(key1));
+    assertFalse(executor.isPaused(key1));
+    assertFalse(last.get());
+    assertEquals(0, repeated.get());
+  }
+
+  /**
+   * Test tasks for a cleaned up key are rejected, those already submitted
+   * executing.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testCleanup() throws Exception {
+    CompletableFuture<Void> pending = new CompletableFuture<>();
+    CountDownLatch cdl = new CountDownLatch(1);
+
+    assertTrue(executor.executeAsync(key1, () -> pending));
+    assertTrue(executor.execute(key1, () -> cdl.countDown()));
+
+    executor.cleanup(key1);
+
+    assertFalse(executor.execute(key1, () -> {
+    }));
+    assertFalse(executor.executeAsync(key1, null, Lane.CONTROL, () -> null));
+
+    pending.complete(null);
+
+    assertTrue(cdl.await(1, TimeUnit.SECONDS));
+    assertEquals(0, executor.getDepth(key1));
+  }
+
+  /**
+   * Test control lane tasks do not count towards the queued tasks used for
+   * shedding.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testControlLaneNotQueued() throws Exception {
+    CompletableFuture<Void> pending = new CompletableFuture<>();
+    CountDownLatch cdl = new CountDownLatch(10);
+
+    int queued = executor.getQueued();
+
+    assertTrue(executor.executeAsync(key1, null, Lane.CONTROL, () -> pending));
+    for (int i = 0; i < 10; i++) {
+      assertTrue(executor.executeAsync(key1, null, Lane.CONTROL, () -> {
+        cdl.countDown();
+        return null;
+      }));
+    }
+
+    assertEquals(queued, executor.getQueued());
+
+    pending.complete(null);
+
+    assertTrue(cdl.await(1, TimeUnit.SECONDS));
+  }
+
+  /**
+   * Test control messages are dispatched in the control lane, executing while
+   * the default lane of the key is held.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testControlLane() throws Exception {
+    assertEquals(Lane.CONTROL, lanes.getLane(OtpNewKeyAck.TYPE));
+    assertEquals(Lane.DEFAULT, lanes.getLane(UserMessage.TYPE));
+    assertEquals(Lane.DEFAULT, lanes.getLane("no such type"));
+
+    CompletableFuture<Void> pending = new CompletableFuture<>();
+    CountDownLatch control = new CountDownLatch(1);
+    CountDownLatch next = new CountDownLatch(1);
+
+    assertTrue(executor.executeAsync(key1, null, Lane.DEFAULT, () -> pending));
+    assertTrue(executor.execute(key1, () -> next.countDown()));
+
+    assertTrue(executor.executeAsync(key1, null, Lane.CONTROL, () -> {
+      control.countDown();
+      return null;
+    }));
+
+    assertTrue(control.await(1, TimeUnit.SECONDS));
+    assertEquals(1, next.getCount());
+
+    pending.complete(null);
+
+    assertTrue(next.await(1, TimeUnit.SECONDS));
+  }
+}
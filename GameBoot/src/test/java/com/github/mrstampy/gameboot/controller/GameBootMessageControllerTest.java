@@ -43,6 +43,7 @@ package com.github.mrstampy.gameboot.controller;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.util.Map;
@@ -64,6 +65,9 @@ import com.github.mrstampy.gameboot.exception.GameBootException;
 import com.github.mrstampy.gameboot.exception.GameBootRuntimeException;
 import com.github.mrstampy.gameboot.messages.Response;
 import com.github.mrstampy.gameboot.messages.Response.ResponseCode;
+import com.github.mrstampy.gameboot.processor.interceptor.GameBootInterceptor;
+import com.github.mrstampy.gameboot.processor.interceptor.LoggingInterceptor;
+import com.github.mrstampy.gameboot.processor.interceptor.MetricsInterceptor;
 import com.github.mrstampy.gameboot.usersession.UserSessionConfiguration;
 import com.github.mrstampy.gameboot.usersession.data.repository.UserRepository;
 import com.github.mrstampy.gameboot.usersession.messages.UserMessage;
@@ -134,6 +138,27 @@ public class GameBootMessageControllerTest {
     this.userId = Long.parseLong(id.toString());
   }
 
+  /**
+   * Test the interceptors are compiled in order.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testInterceptors() throws Exception {
+    GameBootInterceptor[] gbis = controller.getInterceptors(UserMessage.TYPE);
+
+    assertTrue(gbis.length >= 2);
+    assertTrue(gbis[0] instanceof MetricsInterceptor);
+    assertTrue(gbis[1] instanceof LoggingInterceptor);
+
+    for (int i = 1; i < gbis.length; i++) {
+      assertTrue(gbis[i - 1].getOrder() <= gbis[i].getOrder());
+    }
+
+    assertEquals(0, controller.getInterceptors("no such type").length);
+  }
+
   /**
    * Test error conditions.
    *
@@ -0,0 +1,129 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.messages;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.SpringApplicationConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import com.github.mrstampy.gameboot.TestConfiguration;
+import com.github.mrstampy.gameboot.codec.GameBootCodec;
+import com.github.mrstampy.gameboot.codec.processor.CodecRegistry;
+import com.github.mrstampy.gameboot.exception.GameBootRuntimeException;
+import com.github.mrstampy.gameboot.locale.messages.CurrentLocaleMessage;
+import com.github.mrstampy.gameboot.locale.messages.LocaleMessage;
+import com.github.mrstampy.gameboot.messages.context.ResponseContextCodes;
+
+/**
+ * The Class BatchMessageTest.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringApplicationConfiguration(TestConfiguration.class)
+public class BatchMessageTest implements ResponseContextCodes {
+
+  @Autowired
+  private GameBootMessageConverter converter;
+
+  @Autowired
+  private CodecRegistry registry;
+
+  /**
+   * Test batch conversion.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testBatchConversion() throws Exception {
+    LocaleMessage lm = new LocaleMessage();
+    lm.setId(1);
+
+    CurrentLocaleMessage clm = new CurrentLocaleMessage();
+    clm.setId(2);
+
+    BatchMessage batch = new BatchMessage();
+    batch.setId(3);
+    batch.setMessages(Arrays.asList(lm, clm));
+
+    for (GameBootCodec codec : registry.getCodecs()) {
+      BatchMessage read = converter.fromJson(converter.toJsonArray(batch, codec), codec);
+
+      assertEquals(batch.getId(), read.getId());
+
+      List<AbstractGameBootMessage> messages = read.getMessages();
+      assertEquals(2, messages.size());
+      assertEquals(LocaleMessage.class, messages.get(0).getClass());
+      assertEquals(lm.getId(), messages.get(0).getId());
+      assertEquals(CurrentLocaleMessage.class, messages.get(1).getClass());
+      assertEquals(clm.getId(), messages.get(1).getId());
+    }
+  }
+
+  /**
+   * Test unknown and untyped nested messages.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testBadNestedMessages() throws Exception {
+    failure("{\"type\":\"BatchMessage\",\"messages\":[{\"type\":\"NotAType\"}]}", UNKNOWN_MESSAGE);
+    failure("{\"type\":\"BatchMessage\",\"messages\":[{\"id\":1}]}", NO_TYPE);
+  }
+
+  private void failure(String json, Integer code) throws Exception {
+    try {
+      converter.fromJson(json);
+      fail("Batch should not have converted");
+    } catch (GameBootRuntimeException expected) {
+      assertEquals(code, expected.getErrorCode());
+    }
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.messages;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.SpringApplicationConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.mrstampy.gameboot.TestConfiguration;
+import com.github.mrstampy.gameboot.codec.GameBootCodec;
+import com.github.mrstampy.gameboot.codec.processor.CodecRegistry;
+import com.github.mrstampy.gameboot.messages.Response.ResponseCode;
+
+/**
+ * The Class RawPayloadTest.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringApplicationConfiguration(TestConfiguration.class)
+public class RawPayloadTest {
+
+  private static final String KEY = "leaderboard";
+
+  @Autowired
+  private GameBootMessageConverter converter;
+
+  @Autowired
+  private RawPayloadCache cache;
+
+  @Autowired
+  private CodecRegistry registry;
+
+  /**
+   * After.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @After
+  public void after() throws Exception {
+    cache.clear();
+  }
+
+  /**
+   * Test raw payloads serialize as their values.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testRawPayload() throws Exception {
+    Map<String, Object> leaderboard = new LinkedHashMap<>();
+    leaderboard.put("page", 1);
+    leaderboard.put("names", Arrays.asList("alice", "bob"));
+
+    RawPayload raw = cache.get(KEY, () -> leaderboard);
+
+    for (GameBootCodec codec : registry.getCodecs()) {
+      Response expected = new Response(ResponseCode.SUCCESS, leaderboard, "text");
+      Response actual = new Response(ResponseCode.SUCCESS, raw, "text");
+
+      JsonNode e = codec.getMapper().readTree(converter.toJsonArray(expected, codec));
+      JsonNode a = codec.getMapper().readTree(converter.toJsonArray(actual, codec));
+
+      assertEquals(e, a);
+    }
+  }
+
+  /**
+   * Test the cached payload is reused until evicted.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testCache() throws Exception {
+    RawPayload raw = cache.get(KEY, () -> "first");
+
+    assertEquals(raw, cache.get(KEY, () -> "second"));
+
+    cache.evict(KEY);
+
+    assertEquals("\"second\"", cache.get(KEY, () -> "second").getJson());
+  }
+}
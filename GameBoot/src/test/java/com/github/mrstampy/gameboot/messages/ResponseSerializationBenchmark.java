@@ -0,0 +1,287 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.messages;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import com.github.mrstampy.gameboot.messages.Response.ResponseCode;
+
+/**
+ * JMH comparison of reflective, cached and generated (Afterburner)
+ * serialization of {@link Response}s with a typical game state payload. Not
+ * run as part of the test suite; execute {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+  private ObjectMapper mapper;
+
+  private ObjectWriter writer;
+
+  private ObjectReader reader;
+
+  private ObjectWriter afterburnerWriter;
+
+  private ObjectReader afterburnerReader;
+
+  private Response response;
+
+  private byte[] json;
+
+  /**
+   * Setup.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Setup
+  public void setup() throws Exception {
+    mapper = createMapper();
+    writer = mapper.writerFor(Response.class);
+    reader = mapper.readerFor(Response.class);
+
+    ObjectMapper afterburner = createMapper().registerModule(new AfterburnerModule());
+    afterburnerWriter = afterburner.writerFor(Response.class);
+    afterburnerReader = afterburner.readerFor(Response.class);
+
+    response = new Response(ResponseCode.SUCCESS, new GameState(), new GameState(), new SystemIdResponse(1234l));
+    response.setId(42);
+    response.setType("GameStateMessage");
+
+    json = writer.writeValueAsBytes(response);
+  }
+
+  private ObjectMapper createMapper() {
+    ObjectMapper mapper = new ObjectMapper();
+
+    mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    mapper.setSerializationInclusion(Include.NON_NULL);
+
+    return mapper;
+  }
+
+  /**
+   * Reflective write.
+   *
+   * @return the byte[]
+   * @throws Exception
+   *           the exception
+   */
+  @Benchmark
+  public byte[] reflectiveWrite() throws Exception {
+    return mapper.writeValueAsBytes(response);
+  }
+
+  /**
+   * Cached write.
+   *
+   * @return the byte[]
+   * @throws Exception
+   *           the exception
+   */
+  @Benchmark
+  public byte[] cachedWrite() throws Exception {
+    return writer.writeValueAsBytes(response);
+  }
+
+  /**
+   * Generated write.
+   *
+   * @return the byte[]
+   * @throws Exception
+   *           the exception
+   */
+  @Benchmark
+  public byte[] generatedWrite() throws Exception {
+    return afterburnerWriter.writeValueAsBytes(response);
+  }
+
+  /**
+   * Reflective read.
+   *
+   * @return the response
+   * @throws Exception
+   *           the exception
+   */
+  @Benchmark
+  public Response reflectiveRead() throws Exception {
+    return mapper.readValue(json, Response.class);
+  }
+
+  /**
+   * Cached read.
+   *
+   * @return the response
+   * @throws Exception
+   *           the exception
+   */
+  @Benchmark
+  public Response cachedRead() throws Exception {
+    return reader.readValue(json);
+  }
+
+  /**
+   * Generated read.
+   *
+   * @return the response
+   * @throws Exception
+   *           the exception
+   */
+  @Benchmark
+  public Response generatedRead() throws Exception {
+    return afterburnerReader.readValue(json);
+  }
+
+  /**
+   * The main method.
+   *
+   * @param args
+   *          the arguments
+   * @throws Exception
+   *           the exception
+   */
+  public static void main(String[] args) throws Exception {
+    new Runner(new OptionsBuilder().include(ResponseSerializationBenchmark.class.getSimpleName()).build()).run();
+  }
+
+  /**
+   * A typical, mostly numeric, game state payload.
+   */
+  public static class GameState {
+    private long tick = 123456789l;
+    private int playerId = 17;
+    private double x = 1024.5;
+    private double y = -256.25;
+    private double heading = 0.785;
+    private int health = 87;
+    private int[] inventory = { 1, 5, 9, 12, 40 };
+    private String zone = "north-ridge";
+
+    public long getTick() {
+      return tick;
+    }
+
+    public void setTick(long tick) {
+      this.tick = tick;
+    }
+
+    public int getPlayerId() {
+      return playerId;
+    }
+
+    public void setPlayerId(int playerId) {
+      this.playerId = playerId;
+    }
+
+    public double getX() {
+      return x;
+    }
+
+    public void setX(double x) {
+      this.x = x;
+    }
+
+    public double getY() {
+      return y;
+    }
+
+    public void setY(double y) {
+      this.y = y;
+    }
+
+    public double getHeading() {
+      return heading;
+    }
+
+    public void setHeading(double heading) {
+      this.heading = heading;
+    }
+
+    public int getHealth() {
+      return health;
+    }
+
+    public void setHealth(int health) {
+      this.health = health;
+    }
+
+    public int[] getInventory() {
+      return inventory;
+    }
+
+    public void setInventory(int[] inventory) {
+      this.inventory = inventory;
+    }
+
+    public String getZone() {
+      return zone;
+    }
+
+    public void setZone(String zone) {
+      this.zone = zone;
+    }
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.messages.finder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.SpringApplicationConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import com.github.mrstampy.gameboot.TestConfiguration;
+import com.github.mrstampy.gameboot.locale.messages.LocaleMessage;
+import com.github.mrstampy.gameboot.otp.messages.OtpKeyRequest;
+import com.github.mrstampy.gameboot.usersession.messages.UserMessage;
+
+/**
+ * The Class MessageTypeIndexTest.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringApplicationConfiguration(TestConfiguration.class)
+public class MessageTypeIndexTest {
+
+  @Autowired
+  private MessageClassFinder finder;
+
+  /**
+   * Test finder.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testFinder() throws Exception {
+    assertEquals(UserMessage.class, finder.findClass(UserMessage.TYPE));
+    assertEquals(OtpKeyRequest.class, finder.findClass(OtpKeyRequest.TYPE));
+    assertEquals(LocaleMessage.class, finder.findClass(LocaleMessage.TYPE));
+
+    assertNull(finder.findClass("NoSuchMessage"));
+    assertNull(finder.findClass(null));
+
+    assertTrue(finder.getMessageClasses().contains(UserMessage.class));
+  }
+
+  /**
+   * Test many types.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testManyTypes() throws Exception {
+    Map<String, Class<?>> types = new LinkedHashMap<>();
+    for (int i = 0; i < 100; i++) {
+      types.put("Message" + i, i % 2 == 0 ? UserMessage.class : LocaleMessage.class);
+    }
+
+    MessageTypeIndex index = new MessageTypeIndex(types);
+
+    assertEquals(100, index.size());
+    assertTrue(index.isPerfect());
+
+    for (int i = 0; i < 100; i++) {
+      String type = "Message" + i;
+      int id = index.getTypeId(type);
+
+      assertEquals(type, index.getType(id));
+      assertEquals(types.get(type), index.getMessageClass(type));
+      assertEquals(types.get(type), index.getMessageClass(id));
+    }
+
+    assertEquals(-1, index.getTypeId("Message100"));
+    assertEquals(-1, index.getTypeId(""));
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.codahale.metrics.Snapshot;
+
+/**
+ * The Class HdrReservoirTest.
+ */
+public class HdrReservoirTest {
+
+  /**
+   * Test the percentiles are calculated from all recorded values.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testPercentiles() throws Exception {
+    HdrReservoir reservoir = new HdrReservoir(1, TimeUnit.HOURS);
+
+    for (int i = 1; i <= 100000; i++) {
+      reservoir.update(i);
+    }
+
+    Snapshot snapshot = reservoir.getSnapshot();
+
+    assertEquals(100000, snapshot.size());
+    assertEquals(1, snapshot.getMin());
+    assertTrue(Math.abs(snapshot.getMedian() - 50000) <= 50);
+    assertTrue(Math.abs(snapshot.get99thPercentile() - 99000) <= 99);
+    assertTrue(Math.abs(snapshot.get999thPercentile() - 99900) <= 100);
+    assertTrue(Math.abs(snapshot.getMax() - 100000) <= 100);
+  }
+
+  /**
+   * Test the values are accumulated across snapshots within the window.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testAccumulation() throws Exception {
+    HdrReservoir reservoir = new HdrReservoir(1, TimeUnit.HOURS);
+
+    reservoir.update(10);
+    assertEquals(1, reservoir.getSnapshot().size());
+
+    reservoir.update(20);
+    assertEquals(2, reservoir.getSnapshot().size());
+  }
+}
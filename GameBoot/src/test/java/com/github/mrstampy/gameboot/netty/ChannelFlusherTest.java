@@ -0,0 +1,129 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.netty;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.github.mrstampy.gameboot.metrics.NullMetricsHelper;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+
+/**
+ * The Class ChannelFlusherTest.
+ */
+public class ChannelFlusherTest {
+
+  /**
+   * Test writes within one event loop turn are flushed together.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testConsolidation() throws Exception {
+    ChannelFlusher flusher = flusher(true, 64);
+    EmbeddedChannel channel = new EmbeddedChannel();
+
+    for (int i = 0; i < 3; i++) {
+      flusher.write(channel, new byte[] { (byte) i });
+    }
+
+    assertNull(channel.readOutbound());
+
+    channel.runPendingTasks();
+
+    for (int i = 0; i < 3; i++) {
+      assertEquals(i, ((byte[]) channel.readOutbound())[0]);
+    }
+  }
+
+  /**
+   * Test the flush is forced once the max writes are pending.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testMaxWrites() throws Exception {
+    ChannelFlusher flusher = flusher(true, 2);
+    EmbeddedChannel channel = new EmbeddedChannel();
+
+    flusher.write(channel, new byte[] { 0 });
+    assertNull(channel.readOutbound());
+
+    flusher.write(channel, new byte[] { 1 });
+    assertEquals(0, ((byte[]) channel.readOutbound())[0]);
+    assertEquals(1, ((byte[]) channel.readOutbound())[0]);
+  }
+
+  /**
+   * Test writes are flushed immediately when consolidation is off.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testNoConsolidation() throws Exception {
+    ChannelFlusher flusher = flusher(false, 64);
+    EmbeddedChannel channel = new EmbeddedChannel();
+
+    flusher.write(channel, new byte[] { 0 });
+    assertEquals(0, ((byte[]) channel.readOutbound())[0]);
+  }
+
+  private ChannelFlusher flusher(boolean consolidation, int maxWrites) throws Exception {
+    ChannelFlusher flusher = new ChannelFlusher();
+
+    ReflectionTestUtils.setField(flusher, "helper", new NullMetricsHelper());
+    ReflectionTestUtils.setField(flusher, "consolidation", consolidation);
+    ReflectionTestUtils.setField(flusher, "maxWrites", maxWrites);
+    ReflectionTestUtils.setField(flusher, "delayMicros", 0l);
+
+    flusher.postConstruct();
+
+    return flusher;
+  }
+}
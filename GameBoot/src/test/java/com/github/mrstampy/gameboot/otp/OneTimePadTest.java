@@ -41,11 +41,13 @@
  */
 package com.github.mrstampy.gameboot.otp;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.fail;
 
 import java.lang.invoke.MethodHandles;
+import java.nio.ByteBuffer;
 import java.util.Map.Entry;
 import java.util.Set;
 
@@ -64,6 +66,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.mrstampy.gameboot.TestConfiguration;
 import com.github.mrstampy.gameboot.metrics.MetricsHelper;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
 /**
  * The Class OneTimePadTest.
  */
@@ -105,6 +110,81 @@ public class OneTimePadTest {
     assertEquals(new String(msg), new String(converted));
   }
 
+  /**
+   * Test in place conversion of heap and direct {@link ByteBuf}s.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testByteBufConversion() throws Exception {
+    byte[] shush = pad.generateKey(16);
+    byte[] msg = "Hello".getBytes();
+
+    for (ByteBuf buf : new ByteBuf[] { Unpooled.buffer(), Unpooled.directBuffer() }) {
+      buf.writeBytes("skip".getBytes()).writeBytes(msg);
+      buf.skipBytes(4);
+
+      pad.convert(shush, buf);
+      assertEquals(4, buf.readerIndex());
+      assertArrayEquals(pad.convert(shush, msg), readable(buf));
+
+      pad.convert(shush, buf);
+      assertArrayEquals(msg, readable(buf));
+
+      buf.release();
+    }
+  }
+
+  /**
+   * Test in place conversion of sliced heap and direct {@link ByteBuffer}s.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testByteBufferConversion() throws Exception {
+    byte[] shush = pad.generateKey(16);
+    byte[] msg = "Hello".getBytes();
+
+    for (ByteBuffer bb : new ByteBuffer[] { ByteBuffer.allocate(16), ByteBuffer.allocateDirect(16) }) {
+      bb.put("skip".getBytes()).put(msg).flip();
+      bb.position(2);
+      ByteBuffer buf = bb.slice();
+      buf.position(2);
+
+      pad.convert(shush, buf);
+      assertEquals(2, buf.position());
+      assertArrayEquals(pad.convert(shush, msg), remaining(buf));
+
+      pad.convert(shush, buf);
+      assertArrayEquals(msg, remaining(buf));
+    }
+
+    illegalArgumentRunner(() -> {
+      try {
+        pad.convert(shush, ByteBuffer.wrap(msg).asReadOnlyBuffer());
+      } catch (IllegalArgumentException expected) {
+        throw expected;
+      } catch (Exception e) {
+        e.printStackTrace();
+        fail(e.getMessage());
+      }
+    } , "read only buffer");
+  }
+
+  private byte[] remaining(ByteBuffer buf) {
+    byte[] b = new byte[buf.remaining()];
+    buf.duplicate().get(b);
+    return b;
+  }
+
+  private byte[] readable(ByteBuf buf) {
+    byte[] b = new byte[buf.readableBytes()];
+    buf.getBytes(buf.readerIndex(), b);
+    return b;
+  }
+
   /**
    * Test32 kilo byte messages for metrics.
    *
@@ -56,6 +56,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.ClassPathResource;
 
+import com.github.mrstampy.gameboot.otp.netty.OtpNettyServerConfiguration;
+
 /**
  * The Class OtpTestConfiguration.
  */
@@ -84,7 +86,7 @@ public class OtpTestConfiguration {
    * @throws Exception
    *           the exception
    */
-  @Bean(name = SERVER_SSL_CONTEXT)
+  @Bean(name = { SERVER_SSL_CONTEXT, OtpNettyServerConfiguration.OTP_NETTY_SERVER_SSL_CONTEXT })
   public SSLContext sslContext() throws Exception {
     char[] password = HARDCODED_NSA_APPROVED_PASSWORD.toCharArray();
 
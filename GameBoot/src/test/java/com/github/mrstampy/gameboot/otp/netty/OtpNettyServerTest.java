@@ -0,0 +1,207 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.otp.netty;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.SpringApplicationConfiguration;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.mrstampy.gameboot.TestConfiguration;
+import com.github.mrstampy.gameboot.messages.GameBootMessageConverter;
+import com.github.mrstampy.gameboot.messages.Response;
+import com.github.mrstampy.gameboot.messages.Response.ResponseCode;
+import com.github.mrstampy.gameboot.netty.AbstractFramedChannelInitializer;
+import com.github.mrstampy.gameboot.netty.GameBootNettyServer;
+import com.github.mrstampy.gameboot.otp.OtpConfiguration;
+import com.github.mrstampy.gameboot.systemid.messages.SystemIdMessage;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.handler.codec.LengthFieldPrepender;
+import io.netty.handler.codec.bytes.ByteArrayDecoder;
+import io.netty.handler.codec.bytes.ByteArrayEncoder;
+
+/**
+ * Tests the auto configured clear {@link GameBootNettyServer}, started on an
+ * ephemeral port.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringApplicationConfiguration(TestConfiguration.class)
+@ActiveProfiles(OtpConfiguration.OTP_PROFILE)
+//@formatter:off
+@TestPropertySource(properties = { 
+    "otp.netty.server=true", 
+    "otp.netty.server.clear.port=0", 
+    "otp.netty.server.encrypted.port=0" 
+})
+//@formatter:on
+public class OtpNettyServerTest {
+
+  private static final String HOST = "localhost";
+
+  @Autowired
+  @Qualifier(OtpNettyServerConfiguration.OTP_CLEAR_NETTY_SERVER)
+  private GameBootNettyServer server;
+
+  @Autowired
+  private GameBootMessageConverter converter;
+
+  @Autowired
+  private ObjectMapper mapper;
+
+  private EventLoopGroup group;
+
+  private Channel channel;
+
+  private BlockingQueue<byte[]> received = new LinkedBlockingQueue<>();
+
+  /**
+   * Before.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Before
+  public void before() throws Exception {
+    group = new NioEventLoopGroup(1);
+
+    //@formatter:off
+    Bootstrap client = new Bootstrap()
+        .channel(NioSocketChannel.class)
+        .group(group)
+        .handler(new FramedClientInitializer());
+    //@formatter:on
+
+    channel = client.connect(HOST, server.getLocalPort()).sync().channel();
+  }
+
+  /**
+   * After.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @After
+  public void after() throws Exception {
+    channel.close().sync();
+    group.shutdownGracefully();
+  }
+
+  /**
+   * Test a framed request is answered with a framed response.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testRoundTrip() throws Exception {
+    assertTrue(server.getLocalPort() > 0);
+
+    Response connected = nextResponse();
+    assertEquals(ResponseCode.INFO, connected.getResponseCode());
+
+    SystemIdMessage m = new SystemIdMessage();
+    m.setId(1);
+
+    channel.writeAndFlush(converter.toJsonArray(m));
+
+    Response r = nextResponse();
+
+    assertEquals(ResponseCode.SUCCESS, r.getResponseCode());
+    assertEquals(m.getId(), r.getId());
+    assertNotNull(r.getPayload());
+  }
+
+  private Response nextResponse() throws Exception {
+    byte[] frame = received.poll(5, TimeUnit.SECONDS);
+    assertNotNull(frame);
+
+    return mapper.readValue(frame, Response.class);
+  }
+
+  private class FramedClientInitializer extends ChannelInitializer<NioSocketChannel> {
+
+    @Override
+    protected void initChannel(NioSocketChannel ch) throws Exception {
+      ChannelPipeline pipeline = ch.pipeline();
+
+      int lengthField = AbstractFramedChannelInitializer.LENGTH_FIELD_LENGTH;
+
+      pipeline.addLast(new LengthFieldBasedFrameDecoder(Integer.MAX_VALUE, 0, lengthField, 0, lengthField));
+      pipeline.addLast(new LengthFieldPrepender(lengthField));
+      pipeline.addLast(new ByteArrayDecoder());
+      pipeline.addLast(new ByteArrayEncoder());
+      pipeline.addLast(new SimpleChannelInboundHandler<byte[]>() {
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, byte[] msg) throws Exception {
+          received.add(msg);
+        }
+      });
+    }
+  }
+
+}
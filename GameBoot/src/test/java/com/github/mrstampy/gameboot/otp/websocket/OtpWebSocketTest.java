@@ -48,6 +48,8 @@ import static org.junit.Assert.assertTrue;
 
 import java.lang.invoke.MethodHandles;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
@@ -56,6 +58,7 @@ import javax.websocket.ClientEndpointConfig;
 import javax.websocket.ContainerProvider;
 import javax.websocket.Session;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.tomcat.websocket.WsWebSocketContainer;
 import org.junit.After;
 import org.junit.Before;
@@ -226,6 +229,55 @@ public class OtpWebSocketTest {
     encryptClearChannel();
   }
 
+  /**
+   * Test an unencrypted message longer than the new key, sent while its ack is
+   * awaited, is processed.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testLongMessageAwaitingAck() throws Exception {
+    deleteOtpKey();
+    createEncryptedChannel();
+
+    OtpKeyRequest newKey = new OtpKeyRequest();
+    newKey.setId(1);
+    newKey.setOtpSystemId(endpoint.getSystemId());
+    newKey.setKeyFunction(KeyFunction.NEW);
+
+    sendMessage(newKey, encChannel);
+
+    assertTrue(endpoint.hasKey());
+    assertTrue(endpoint.getLastResponse().isSuccess());
+
+    // fails validation, the failure is not mistaken for a key by the endpoint
+    UserMessage m = new UserMessage();
+    m.setId(4);
+
+    // longer than the 1024 byte default key
+    String padded = converter.toJson(m) + StringUtils.repeat(' ', 2048);
+
+    sendUnencrypted(padded.getBytes(StandardCharsets.UTF_8), clearChannel);
+
+    Response r = endpoint.getLastResponse();
+
+    assertNotNull(r);
+    assertEquals(m.getId(), r.getId());
+    assertTrue(clearChannel.isOpen());
+
+    OtpNewKeyAck ack = new OtpNewKeyAck();
+    ack.setOtpSystemId(endpoint.getSystemId());
+    ack.setId(2);
+
+    sendMessage(ack, clearChannel);
+
+    r = endpoint.getLastResponse();
+
+    assertTrue(r.isSuccess());
+    assertEquals(2, r.getId().intValue());
+  }
+
   /**
    * Delete unencrypted.
    *
@@ -357,4 +409,13 @@ public class OtpWebSocketTest {
     cdl.await(1, TimeUnit.SECONDS);
   }
 
+  private void sendUnencrypted(byte[] message, Session channel) throws Exception {
+    CountDownLatch cdl = new CountDownLatch(1);
+    endpoint.setResponseLatch(cdl);
+
+    channel.getBasicRemote().sendBinary(ByteBuffer.wrap(message));
+
+    cdl.await(1, TimeUnit.SECONDS);
+  }
+
 }
@@ -0,0 +1,235 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.processor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.SpringApplicationConfiguration;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.mrstampy.gameboot.TestConfiguration;
+import com.github.mrstampy.gameboot.messages.Response;
+import com.github.mrstampy.gameboot.messages.Response.ResponseCode;
+import com.github.mrstampy.gameboot.usersession.ActiveSessions;
+import com.github.mrstampy.gameboot.usersession.UserSessionAssist;
+import com.github.mrstampy.gameboot.usersession.UserSessionConfiguration;
+import com.github.mrstampy.gameboot.usersession.data.entity.User;
+import com.github.mrstampy.gameboot.usersession.data.entity.UserSession;
+import com.github.mrstampy.gameboot.usersession.data.repository.UserRepository;
+import com.github.mrstampy.gameboot.usersession.data.repository.UserSessionRepository;
+import com.github.mrstampy.gameboot.usersession.messages.UserMessage;
+import com.github.mrstampy.gameboot.usersession.messages.UserMessage.Function;
+import com.github.mrstampy.gameboot.usersession.processor.UserMessageProcessor;
+
+/**
+ * The Class GroupCommitterTest.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringApplicationConfiguration(TestConfiguration.class)
+@ActiveProfiles(UserSessionConfiguration.USER_SESSION_PROFILE)
+public class GroupCommitterTest {
+
+  private static final int UNITS = 20;
+
+  private static final String TEST_USER = "groupcommituser";
+
+  private static final String PASSWORD = "password";
+
+  @Autowired
+  private GroupCommitter committer;
+
+  @Autowired
+  private UserMessageProcessor processor;
+
+  @Autowired
+  private UserSessionAssist assist;
+
+  @Autowired
+  private ActiveSessions activeSessions;
+
+  @Autowired
+  private UserRepository userRepo;
+
+  @Autowired
+  private UserSessionRepository userSessionRepo;
+
+  /**
+   * Test concurrently submitted units all complete within a transaction.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testGroupCommit() throws Exception {
+    List<CompletableFuture<Response>> futures = new ArrayList<>();
+
+    for (int i = 0; i < UNITS; i++) {
+      futures.add(committer.submit(() -> response()).toCompletableFuture());
+    }
+
+    for (CompletableFuture<Response> f : futures) {
+      assertEquals(ResponseCode.SUCCESS, f.get(5, TimeUnit.SECONDS).getResponseCode());
+    }
+  }
+
+  /**
+   * Test a failing unit fails alone, the remainder of its batch being retried
+   * individually.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testFailureIsolated() throws Exception {
+    List<CompletableFuture<Response>> futures = new ArrayList<>();
+
+    for (int i = 0; i < UNITS; i++) {
+      if (i == UNITS / 2) {
+        futures.add(committer.submit(() -> {
+          throw new IllegalStateException("Expected");
+        }).toCompletableFuture());
+      } else {
+        futures.add(committer.submit(() -> response()).toCompletableFuture());
+      }
+    }
+
+    for (int i = 0; i < UNITS; i++) {
+      if (i == UNITS / 2) {
+        try {
+          futures.get(i).get(5, TimeUnit.SECONDS);
+          fail("Failing unit should have completed exceptionally");
+        } catch (ExecutionException expected) {
+          assertTrue(expected.getCause() instanceof IllegalStateException);
+        }
+      } else {
+        assertEquals(ResponseCode.SUCCESS, futures.get(i).get(5, TimeUnit.SECONDS).getResponseCode());
+      }
+    }
+  }
+
+  /**
+   * Test a login in a batch which rolls back leaves no active session behind,
+   * the login succeeding when retried individually.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testLoginRetriedAfterRollback() throws Exception {
+    UserMessage m = new UserMessage();
+    m.setId(1);
+    m.setFunction(Function.CREATE);
+    m.setUserName(TEST_USER);
+    m.setNewPassword(PASSWORD);
+
+    Long userId = ((User) processor.process(m).getPayload()[0]).getId();
+    Long sessionId = null;
+
+    Object maxBatch = ReflectionTestUtils.getField(committer, "maxBatch");
+    try {
+      // both units in the one batch
+      ReflectionTestUtils.setField(committer, "maxBatch", 2);
+
+      UserMessage login = new UserMessage();
+      login.setId(2);
+      login.setFunction(Function.LOGIN);
+      login.setUserName(TEST_USER);
+      login.setOldPassword(PASSWORD);
+
+      CompletableFuture<Response> loggedIn = committer.submit(() -> process(login)).toCompletableFuture();
+      CompletableFuture<Response> failed = committer.submit(() -> {
+        throw new IllegalStateException("Expected");
+      }).toCompletableFuture();
+
+      try {
+        failed.get(5, TimeUnit.SECONDS);
+        fail("Failing unit should have completed exceptionally");
+      } catch (ExecutionException expected) {
+        assertTrue(expected.getCause() instanceof IllegalStateException);
+      }
+
+      Response r = loggedIn.get(5, TimeUnit.SECONDS);
+      assertEquals(ResponseCode.SUCCESS, r.getResponseCode());
+
+      sessionId = ((UserSession) r.getPayload()[0]).getId();
+      assertTrue(activeSessions.hasSession(TEST_USER));
+      assertTrue(activeSessions.hasSession(sessionId));
+    } finally {
+      ReflectionTestUtils.setField(committer, "maxBatch", maxBatch);
+
+      if (assist.hasSession(TEST_USER)) assist.logout(TEST_USER);
+      if (sessionId != null) userSessionRepo.delete(sessionId);
+      userRepo.delete(userId);
+    }
+
+    assertFalse(activeSessions.hasSession(TEST_USER));
+  }
+
+  private Response process(UserMessage m) {
+    try {
+      return processor.process(m);
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private Response response() {
+    assertTrue(TransactionSynchronizationManager.isActualTransactionActive());
+
+    return new Response(ResponseCode.SUCCESS);
+  }
+}
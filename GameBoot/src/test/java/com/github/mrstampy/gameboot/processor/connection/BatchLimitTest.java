@@ -0,0 +1,210 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.processor.connection;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.SpringApplicationConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.github.mrstampy.gameboot.TestConfiguration;
+import com.github.mrstampy.gameboot.controller.GameBootMessageController;
+import com.github.mrstampy.gameboot.exception.GameBootThrowable;
+import com.github.mrstampy.gameboot.locale.messages.CurrentLocaleMessage;
+import com.github.mrstampy.gameboot.messages.AbstractGameBootMessage;
+import com.github.mrstampy.gameboot.messages.BatchMessage;
+import com.github.mrstampy.gameboot.messages.GameBootMessageConverter;
+import com.github.mrstampy.gameboot.messages.Response;
+import com.github.mrstampy.gameboot.messages.Response.ResponseCode;
+import com.github.mrstampy.gameboot.messages.context.ResponseContext;
+import com.github.mrstampy.gameboot.messages.context.ResponseContextCodes;
+import com.github.mrstampy.gameboot.systemid.SystemIdKey;
+
+/**
+ * Tests the 'batch.max.messages' limit of {@link AbstractConnectionProcessor}.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringApplicationConfiguration(TestConfiguration.class)
+public class BatchLimitTest implements ResponseContextCodes {
+
+  private static final int MAX = 2;
+
+  @Autowired
+  private AutowireCapableBeanFactory factory;
+
+  @Autowired
+  private GameBootMessageConverter converter;
+
+  private TestProcessor processor;
+
+  private SystemIdKey ctx = new SystemIdKey(Long.MAX_VALUE);
+
+  /**
+   * Before.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Before
+  public void before() throws Exception {
+    processor = new TestProcessor();
+    factory.autowireBean(processor);
+
+    ReflectionTestUtils.setField(processor, "batchMaxMessages", MAX);
+  }
+
+  /**
+   * Test a batch at the limit is processed.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testBatchAtLimit() throws Exception {
+    Response r = processor.processAsync(ctx, converter.toJsonArray(batch(MAX))).toCompletableFuture().get();
+
+    assertEquals(ResponseCode.SUCCESS, r.getResponseCode());
+    assertEquals(MAX, r.getPayload().length);
+    assertEquals(MAX, processor.processed.get());
+  }
+
+  /**
+   * Test a batch over the limit is failed without processing any message.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testBatchOverLimit() throws Exception {
+    BatchMessage batch = batch(MAX + 1);
+
+    Response r = processor.processAsync(ctx, converter.toJsonArray(batch)).toCompletableFuture().get();
+
+    assertEquals(ResponseCode.FAILURE, r.getResponseCode());
+    assertEquals(batch.getId(), r.getId());
+    assertEquals(BATCH_TOO_LARGE.intValue(), r.getContext().getCode());
+    assertEquals(0, processor.processed.get());
+  }
+
+  private BatchMessage batch(int size) {
+    List<AbstractGameBootMessage> messages = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      CurrentLocaleMessage m = new CurrentLocaleMessage();
+      m.setId(i);
+      messages.add(m);
+    }
+
+    BatchMessage batch = new BatchMessage();
+    batch.setId(100);
+    batch.setMessages(messages);
+
+    return batch;
+  }
+
+  private static class TestProcessor extends AbstractConnectionProcessor<SystemIdKey> {
+    private AtomicInteger processed = new AtomicInteger();
+
+    @Override
+    public <AGBM extends AbstractGameBootMessage> CompletionStage<Response> processAsync(SystemIdKey ctx,
+        GameBootMessageController controller, AGBM agbm) throws Exception {
+      processed.incrementAndGet();
+
+      return CompletableFuture.completedFuture(new Response(agbm, ResponseCode.SUCCESS));
+    }
+
+    @Override
+    public <AGBM extends AbstractGameBootMessage> Response process(SystemIdKey ctx,
+        GameBootMessageController controller, AGBM agbm) throws Exception {
+      return await(processAsync(ctx, controller, agbm));
+    }
+
+    @Override
+    public void onConnection(SystemIdKey ctx) throws Exception {
+    }
+
+    @Override
+    public void onDisconnection(SystemIdKey ctx) throws Exception {
+    }
+
+    @Override
+    public void onMessage(SystemIdKey ctx, Object msg) throws Exception {
+    }
+
+    @Override
+    public void sendMessage(SystemIdKey ctx, Object msg, Response response) throws Exception {
+    }
+
+    @Override
+    public <AGBM extends AbstractGameBootMessage> boolean preProcess(SystemIdKey ctx, AGBM agbm) throws Exception {
+      return true;
+    }
+
+    @Override
+    public <AGBM extends AbstractGameBootMessage> void postProcess(SystemIdKey ctx, AGBM agbm, Response r) {
+    }
+
+    @Override
+    public void sendError(SystemIdKey ctx, GameBootThrowable e) {
+    }
+
+    @Override
+    public void sendError(ResponseContext rc, SystemIdKey ctx, String message) {
+    }
+
+    @Override
+    public SystemIdKey getSystemId(SystemIdKey ctx) {
+      return ctx;
+    }
+  }
+}
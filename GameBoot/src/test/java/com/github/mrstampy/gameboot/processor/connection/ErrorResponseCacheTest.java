@@ -0,0 +1,163 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.processor.connection;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.SpringApplicationConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.github.mrstampy.gameboot.TestConfiguration;
+import com.github.mrstampy.gameboot.codec.GameBootCodec;
+import com.github.mrstampy.gameboot.codec.processor.CodecRegistry;
+import com.github.mrstampy.gameboot.messages.GameBootMessageConverter;
+import com.github.mrstampy.gameboot.messages.Response;
+import com.github.mrstampy.gameboot.messages.Response.ResponseCode;
+import com.github.mrstampy.gameboot.messages.context.ResponseContext;
+import com.github.mrstampy.gameboot.messages.context.ResponseContextCodes;
+import com.github.mrstampy.gameboot.messages.context.ResponseContextLookup;
+
+/**
+ * The Class ErrorResponseCacheTest.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringApplicationConfiguration(TestConfiguration.class)
+public class ErrorResponseCacheTest implements ResponseContextCodes {
+
+  @Autowired
+  private ErrorResponseCache cache;
+
+  @Autowired
+  private GameBootMessageConverter converter;
+
+  @Autowired
+  private ResponseContextLookup lookup;
+
+  @Autowired
+  private CodecRegistry registry;
+
+  /**
+   * Before.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Before
+  public void before() throws Exception {
+    cache.clear();
+  }
+
+  /**
+   * Test templates match serialization.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testTemplatesMatchSerialization() throws Exception {
+    for (GameBootCodec codec : registry.getCodecs()) {
+      for (Integer id : new Integer[] { null, 1, 42, null, -7, Integer.MAX_VALUE }) {
+        compare(codec, id, UNEXPECTED_ERROR, Locale.getDefault(), "An unexpected error has occurred");
+        compare(codec, id, NO_TYPE, Locale.FRENCH);
+        compare(codec, id, UNKNOWN_MESSAGE, Locale.getDefault(), "Unrecognized message");
+      }
+    }
+  }
+
+  /**
+   * Test failures parameterized per message neither grow the cache nor
+   * displace the template of a repeated failure.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testParameterizedFailures() throws Exception {
+    GameBootCodec codec = registry.getDefaultCodec();
+
+    for (int i = 0; i < 5000; i++) {
+      compare(codec, i, UNEXPECTED_ERROR, Locale.getDefault(), "Unexpected error for system id " + i);
+      compare(codec, i, UNEXPECTED_ERROR, Locale.getDefault(), "An unexpected error has occurred");
+    }
+
+    Map<?, ?> entries = (Map<?, ?>) ReflectionTestUtils.getField(cache, "entries");
+    assertEquals(1, entries.size());
+
+    Object[] templates = (Object[]) ReflectionTestUtils.getField(entries.values().iterator().next(), "templates");
+    assertTrue(templates.length > 0);
+  }
+
+  private void compare(GameBootCodec codec, Integer id, Integer code, Locale locale, Object... payload)
+      throws Exception {
+    ResponseContext rc = lookup.lookup(code, locale);
+
+    Response r = new Response(ResponseCode.FAILURE, rc, payload);
+    r.setId(id);
+
+    byte[] expected = converter.toJsonArray(r, codec);
+    byte[] cached = cache.toJsonArray(r, codec, locale);
+
+    assertArrayEquals(expected, cached);
+
+    ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+    cache.toJsonStream(r, codec, locale, streamed);
+
+    assertArrayEquals(expected, streamed.toByteArray());
+
+    if (codec == registry.getDefaultCodec()) assertEquals(converter.toJson(r), cache.toJson(r, locale));
+
+    Response read = codec.getMapper().readValue(cached, Response.class);
+    assertEquals(id, read.getId());
+    assertEquals(rc.getDescription(), read.getContext().getDescription());
+  }
+}
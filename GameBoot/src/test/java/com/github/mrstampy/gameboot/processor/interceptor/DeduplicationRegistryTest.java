@@ -0,0 +1,130 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.processor.interceptor;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.SpringApplicationConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import com.github.mrstampy.gameboot.TestConfiguration;
+import com.github.mrstampy.gameboot.messages.AbstractGameBootMessage;
+import com.github.mrstampy.gameboot.messages.Response;
+import com.github.mrstampy.gameboot.systemid.SystemIdKey;
+import com.github.mrstampy.gameboot.usersession.messages.UserMessage;
+
+/**
+ * The Class DeduplicationRegistryTest.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringApplicationConfiguration(TestConfiguration.class)
+public class DeduplicationRegistryTest {
+
+  private static final SystemIdKey KEY_1 = new SystemIdKey(1l);
+
+  private static final SystemIdKey KEY_2 = new SystemIdKey(2l);
+
+  @Autowired
+  private DeduplicationRegistry registry;
+
+  /**
+   * After.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @After
+  public void after() throws Exception {
+    registry.remove(KEY_1);
+    registry.remove(KEY_2);
+  }
+
+  /**
+   * Test duplicates of the same system id and message id return the original
+   * response.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testDuplicates() throws Exception {
+    CompletableFuture<Response> original = new CompletableFuture<>();
+
+    assertNull(registry.putIfAbsent(message(KEY_1, 1), original));
+    assertSame(original, registry.putIfAbsent(message(KEY_1, 1), new CompletableFuture<>()));
+
+    assertNull(registry.putIfAbsent(message(KEY_1, 2), new CompletableFuture<>()));
+    assertNull(registry.putIfAbsent(message(KEY_2, 1), new CompletableFuture<>()));
+  }
+
+  /**
+   * Test a removed response is no longer returned.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testRemove() throws Exception {
+    CompletableFuture<Response> original = new CompletableFuture<>();
+
+    assertNull(registry.putIfAbsent(message(KEY_1, 1), original));
+
+    registry.remove(message(KEY_1, 1), original);
+
+    assertNull(registry.putIfAbsent(message(KEY_1, 1), new CompletableFuture<>()));
+  }
+
+  private AbstractGameBootMessage message(SystemIdKey key, Integer id) {
+    UserMessage m = new UserMessage();
+    m.setSystemId(key);
+    m.setId(id);
+
+    return m;
+  }
+}
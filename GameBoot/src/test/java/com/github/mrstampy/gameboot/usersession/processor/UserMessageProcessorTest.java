@@ -52,6 +52,8 @@ import java.util.Date;
 import java.util.Locale;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import javax.transaction.Transactional;
 
@@ -248,6 +250,37 @@ public class UserMessageProcessorTest {
     failExpected(m, "User logged in");
   }
 
+  /**
+   * Test login processed on the transaction executor.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testAsyncLogin() throws Exception {
+    UserMessage m = new UserMessage();
+    m.setId(1);
+
+    m.setFunction(Function.LOGIN);
+    m.setUserName(TEST_USER);
+    m.setOldPassword(PASSWORD);
+
+    CompletableFuture<Response> future = processor.processAsync(m).toCompletableFuture();
+
+    Response r = future.get(5, TimeUnit.SECONDS);
+
+    assertEquals(m.getId(), r.getId());
+    assertEquals(ResponseCode.SUCCESS, r.getResponseCode());
+
+    assertTrue(r.getPayload()[0] instanceof UserSession);
+
+    sessionId = new UserSessionKey((UserSession) r.getPayload()[0]);
+
+    r = processor.processAsync(m).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+    assertEquals(ResponseCode.FAILURE, r.getResponseCode());
+  }
+
   /**
    * Test logout.
    *
@@ -0,0 +1,171 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.util.registry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.github.mrstampy.gameboot.systemid.SystemIdKey;
+
+/**
+ * The Class ExpiringGameBootRegistryTest.
+ */
+public class ExpiringGameBootRegistryTest {
+
+  private static final long EXPIRY = 200;
+
+  private static final SystemIdKey KEY = new SystemIdKey(1l);
+
+  private ScheduledExecutorService svc = Executors.newSingleThreadScheduledExecutor();
+
+  private TestRegistry registry;
+
+  /**
+   * Before.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Before
+  public void before() throws Exception {
+    registry = new TestRegistry();
+    ReflectionTestUtils.setField(registry, "svc", svc);
+
+    registry.startExpiry();
+  }
+
+  /**
+   * After.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @After
+  public void after() throws Exception {
+    registry.stopExpiry();
+    svc.shutdownNow();
+  }
+
+  /**
+   * Test values expire.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testExpiry() throws Exception {
+    registry.put(KEY, "value");
+    assertTrue(registry.contains(KEY));
+
+    Thread.sleep(EXPIRY * 2);
+
+    assertFalse(registry.contains(KEY));
+    assertEquals(1, registry.expired);
+  }
+
+  /**
+   * Test touching a value extends its expiry.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testTouch() throws Exception {
+    registry.put(KEY, "value");
+
+    for (int i = 0; i < 5; i++) {
+      Thread.sleep(EXPIRY / 2);
+      assertTrue(registry.touch(KEY));
+    }
+
+    assertTrue(registry.contains(KEY));
+
+    Thread.sleep(EXPIRY * 2);
+
+    assertFalse(registry.contains(KEY));
+    assertFalse(registry.touch(KEY));
+  }
+
+  /**
+   * Test removed values are not reported as expired.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testRemove() throws Exception {
+    registry.put(KEY, "value");
+    registry.remove(KEY);
+
+    Thread.sleep(EXPIRY * 2);
+
+    assertEquals(0, registry.expired);
+  }
+
+  private static class TestRegistry extends ExpiringGameBootRegistry<String> {
+    private volatile int expired;
+
+    @Override
+    protected long getExpiryMillis() {
+      return EXPIRY;
+    }
+
+    @Override
+    protected long getTickMillis() {
+      return 10;
+    }
+
+    @Override
+    protected void onExpiry(AbstractRegistryKey<?> key, String value) {
+      expired++;
+    }
+  }
+}
@@ -0,0 +1,333 @@
+/*
+ *              ______                        ____              __ 
+ *             / ____/___ _____ ___  ___     / __ )____  ____  / /_
+ *            / / __/ __ `/ __ `__ \/ _ \   / __  / __ \/ __ \/ __/
+ *           / /_/ / /_/ / / / / / /  __/  / /_/ / /_/ / /_/ / /_  
+ *           \____/\__,_/_/ /_/ /_/\___/  /_____/\____/\____/\__/  
+ *                                                 
+ *                                 .-'\
+ *                              .-'  `/\
+ *                           .-'      `/\
+ *                           \         `/\
+ *                            \         `/\
+ *                             \    _-   `/\       _.--.
+ *                              \    _-   `/`-..--\     )
+ *                               \    _-   `,','  /    ,')
+ *                                `-_   -   ` -- ~   ,','
+ *                                 `-              ,','
+ *                                  \,--.    ____==-~
+ *                                   \   \_-~\
+ *                                    `_-~_.-'
+ *                                     \-~
+ * 
+ *                       http://mrstampy.github.io/gameboot/
+ *
+ * Copyright (C) 2015, 2016 Burton Alexander
+ * 
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ * 
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation, Inc., 51
+ * Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ * 
+ */
+package com.github.mrstampy.gameboot.websocket;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.security.Principal;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import com.github.mrstampy.gameboot.metrics.NullMetricsHelper;
+import com.github.mrstampy.gameboot.websocket.WebSocketOutbound.OverflowPolicy;
+
+/**
+ * The Class WebSocketOutboundTest.
+ */
+public class WebSocketOutboundTest {
+
+  private static final int LIMIT = 100;
+
+  private ExecutorService svc = Executors.newCachedThreadPool();
+
+  private ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+  /**
+   * After.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @After
+  public void after() throws Exception {
+    svc.shutdownNow();
+    scheduler.shutdownNow();
+  }
+
+  /**
+   * Test messages are sent in order.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testOrder() throws Exception {
+    WebSocketOutbound outbound = outbound(OverflowPolicy.DROP_OLDEST);
+    TestSession session = new TestSession(new CountDownLatch(0));
+
+    for (int i = 0; i < 10; i++) {
+      outbound.send(session, message(i, 1));
+    }
+
+    session.await(10);
+
+    for (int i = 0; i < 10; i++) {
+      assertEquals(i, session.sent.get(i).getPayload().get(0));
+    }
+  }
+
+  /**
+   * Test the oldest messages of a slow session are evicted.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testDropOldest() throws Exception {
+    WebSocketOutbound outbound = outbound(OverflowPolicy.DROP_OLDEST);
+    CountDownLatch blocked = new CountDownLatch(1);
+    TestSession session = new TestSession(blocked);
+
+    outbound.send(session, message(0, 10));
+    Thread.sleep(100);
+
+    for (int i = 1; i <= 5; i++) {
+      outbound.send(session, message(i, LIMIT / 2));
+    }
+
+    assertEquals(2, outbound.getQueueDepth(session));
+
+    blocked.countDown();
+    session.await(3);
+
+    assertEquals(0, session.sent.get(0).getPayload().get(0));
+    assertEquals(4, session.sent.get(1).getPayload().get(0));
+    assertEquals(5, session.sent.get(2).getPayload().get(0));
+    assertTrue(session.isOpen());
+  }
+
+  /**
+   * Test a slow session is closed.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testDisconnect() throws Exception {
+    WebSocketOutbound outbound = outbound(OverflowPolicy.DISCONNECT);
+    CountDownLatch blocked = new CountDownLatch(1);
+    TestSession session = new TestSession(blocked);
+
+    outbound.send(session, message(0, 10));
+    Thread.sleep(100);
+
+    for (int i = 1; i <= 3; i++) {
+      outbound.send(session, message(i, LIMIT / 2));
+    }
+
+    blocked.countDown();
+    Thread.sleep(100);
+
+    assertFalse(session.isOpen());
+    assertEquals(0, outbound.getQueueDepth(session));
+  }
+
+  /**
+   * Test a session stuck sending is closed without further messages offered.
+   *
+   * @throws Exception
+   *           the exception
+   */
+  @Test
+  public void testSendTimeLimit() throws Exception {
+    WebSocketOutbound outbound = outbound(OverflowPolicy.DROP_OLDEST, 100);
+    TestSession session = new TestSession(new CountDownLatch(1));
+
+    outbound.send(session, message(0, 10));
+
+    long until = System.currentTimeMillis() + 5000;
+    while (session.isOpen() && System.currentTimeMillis() < until) {
+      Thread.sleep(10);
+    }
+
+    assertFalse(session.isOpen());
+    assertEquals(0, outbound.getQueueDepth(session));
+
+    outbound.preDestroy();
+  }
+
+  private WebSocketOutbound outbound(OverflowPolicy policy) throws Exception {
+    return outbound(policy, 10000);
+  }
+
+  private WebSocketOutbound outbound(OverflowPolicy policy, long sendTimeLimit) throws Exception {
+    WebSocketOutbound outbound = new WebSocketOutbound();
+
+    ReflectionTestUtils.setField(outbound, "svc", svc);
+    ReflectionTestUtils.setField(outbound, "scheduler", scheduler);
+    ReflectionTestUtils.setField(outbound, "helper", new NullMetricsHelper());
+    ReflectionTestUtils.setField(outbound, "sendTimeLimit", sendTimeLimit);
+    ReflectionTestUtils.setField(outbound, "bufferSizeLimit", LIMIT);
+    ReflectionTestUtils.setField(outbound, "policy", policy);
+
+    outbound.postConstruct();
+
+    return outbound;
+  }
+
+  private BinaryMessage message(int id, int length) {
+    byte[] b = new byte[length];
+    b[0] = (byte) id;
+
+    return new BinaryMessage(b);
+  }
+
+  private static class TestSession implements WebSocketSession {
+    private final CountDownLatch blocked;
+    private final List<BinaryMessage> sent = new CopyOnWriteArrayList<>();
+    private volatile boolean open = true;
+
+    TestSession(CountDownLatch blocked) {
+      this.blocked = blocked;
+    }
+
+    void await(int count) throws InterruptedException {
+      long until = System.currentTimeMillis() + 5000;
+      while (sent.size() < count && System.currentTimeMillis() < until) {
+        Thread.sleep(10);
+      }
+
+      assertEquals(count, sent.size());
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) {
+      try {
+        blocked.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+
+      sent.add((BinaryMessage) message);
+    }
+
+    @Override
+    public boolean isOpen() {
+      return open;
+    }
+
+    @Override
+    public void close() {
+      open = false;
+    }
+
+    @Override
+    public void close(CloseStatus status) {
+      open = false;
+      blocked.countDown();
+    }
+
+    @Override
+    public String getId() {
+      return "test";
+    }
+
+    @Override
+    public URI getUri() {
+      return null;
+    }
+
+    @Override
+    public HttpHeaders getHandshakeHeaders() {
+      return new HttpHeaders();
+    }
+
+    @Override
+    public Map<String, Object> getAttributes() {
+      return Collections.emptyMap();
+    }
+
+    @Override
+    public Principal getPrincipal() {
+      return null;
+    }
+
+    @Override
+    public InetSocketAddress getLocalAddress() {
+      return null;
+    }
+
+    @Override
+    public InetSocketAddress getRemoteAddress() {
+      return null;
+    }
+
+    @Override
+    public String getAcceptedProtocol() {
+      return null;
+    }
+
+    @Override
+    public void setTextMessageSizeLimit(int messageSizeLimit) {
+    }
+
+    @Override
+    public int getTextMessageSizeLimit() {
+      return 0;
+    }
+
+    @Override
+    public void setBinaryMessageSizeLimit(int messageSizeLimit) {
+    }
+
+    @Override
+    public int getBinaryMessageSizeLimit() {
+      return 0;
+    }
+
+    @Override
+    public List<WebSocketExtension> getExtensions() {
+      return Collections.emptyList();
+    }
+  }
+}